@@ -0,0 +1,93 @@
+package com.booking.api.service;
+
+import com.booking.api.model.Appointment;
+import com.booking.api.model.Business;
+import com.booking.api.model.Customer;
+import com.booking.api.model.Service;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTML rendering of the booking confirmation email, without sending it.
+ * {@code confirmationEmail} is the full body built for every booking (date formatting,
+ * price formatting, concatenation); {@code emailTemplate} isolates the shared layout
+ * wrapped around every email type.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailTemplateBenchmark {
+
+    private EmailService emailService;
+    private Appointment appointment;
+
+    @Setup
+    public void setUp() {
+        // The mail sender, repository and metrics are only used when sending
+        emailService = new EmailService(null, null, null);
+        setField(emailService, "fromEmail", "noreply@booking-platform.com");
+        setField(emailService, "fromName", "Booking Platform");
+        setField(emailService, "baseUrl", "https://app.booking-platform.com");
+
+        Business business = Business.builder()
+                .businessName("Salon Élégance & Beauté")
+                .slug("salon-elegance-beaute")
+                .address("12 rue de la République")
+                .postalCode("69002")
+                .city("Lyon")
+                .build();
+
+        appointment = Appointment.builder()
+                .business(business)
+                .service(Service.builder()
+                        .name("Coupe + brushing cheveux longs")
+                        .durationMinutes(60)
+                        .price(BigDecimal.valueOf(48.5))
+                        .build())
+                .customer(Customer.builder()
+                        .firstName("Marie-Hélène")
+                        .lastName("Durand")
+                        .email("marie-helene.durand@example.com")
+                        .build())
+                .appointmentDatetime(LocalDateTime.of(2026, 11, 24, 14, 30))
+                .durationMinutes(60)
+                .price(BigDecimal.valueOf(48.5))
+                .cancellationToken(UUID.randomUUID().toString())
+                .build();
+    }
+
+    @Benchmark
+    public String confirmationEmail() {
+        return emailService.buildConfirmationEmail(appointment);
+    }
+
+    @Benchmark
+    public String emailTemplate() {
+        return emailService.buildEmailTemplate("Confirmation de votre rendez-vous", "Marie-Hélène",
+                "<p>Votre rendez-vous a été confirmé avec succès !</p>");
+    }
+
+    private static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
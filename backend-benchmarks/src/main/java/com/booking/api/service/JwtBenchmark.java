@@ -0,0 +1,77 @@
+package com.booking.api.service;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.util.ReflectionUtils;
+
+import javax.crypto.SecretKey;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT work done by the authentication filter on every authenticated request.
+ * {@code extractAllClaims} is one parse and HMAC-SHA512 verification of an access token
+ * carrying the claims issued at login; {@code signInKey} isolates the key derivation
+ * from the configured secret, which every parse and every token generation repeats.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    // Same length as the secret of application.yml (512 bits once UTF-8 encoded)
+    private static final String SECRET =
+            "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970"
+            + "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        setField(jwtService, "secret", SECRET);
+        setField(jwtService, "jwtExpiration", 86_400_000L);
+
+        UserDetails user = User.withUsername("marie.durand@salon-elegance.fr")
+                .password("unused")
+                .authorities("ROLE_PRO")
+                .build();
+        token = jwtService.generateToken(new HashMap<>(Map.of(
+                "userId", "3f8a2c1e-9b7d-4e6f-a1c2-5d4e3f2a1b0c",
+                "businessId", "7c6b5a49-3827-4165-9e8d-7c6b5a493827",
+                "role", "PRO")), user);
+    }
+
+    @Benchmark
+    public Claims extractAllClaims() {
+        return jwtService.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public SecretKey signInKey() {
+        return jwtService.getSignInKey();
+    }
+
+    private static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -0,0 +1,95 @@
+package com.booking.api.service;
+
+import com.booking.api.model.Appointment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Check of a single requested slot against the appointments of its day, as done when a
+ * booking is created or a slot is held.
+ * The former per-request loop (isSlotAvailable, and the overlap loop of createAppointment
+ * before the exclusion constraint) is kept in {@code legacyOverlapLoop} as a reference
+ * point; {@code occupancyIndex} is the path of {@link SlotHoldService}: build the day's
+ * {@link DayOccupancy}, then one mask test. The requested slot is in the free afternoon,
+ * so the legacy loop scans every appointment.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SlotCheckBenchmark {
+
+    private static final int[] SERVICE_DURATIONS = {15, 30, 45, 60, 90};
+
+    @Param({"10", "100", "400", "1600"})
+    private int appointmentCount;
+
+    private LocalDate date;
+    private LocalDateTime requestedStart;
+    private int requestedDuration;
+    private List<Appointment> appointments;
+
+    @Setup
+    public void setUp() {
+        date = LocalDate.now().plusDays(7).with(DayOfWeek.MONDAY);
+        requestedStart = LocalDateTime.of(date, LocalTime.of(16, 30));
+        requestedDuration = 30;
+
+        Random random = new Random(42);
+        appointments = new ArrayList<>(appointmentCount);
+        for (int i = 0; i < appointmentCount; i++) {
+            int startMinute = 7 * 60 + 5 * random.nextInt(7 * 12);
+            appointments.add(Appointment.builder()
+                    .appointmentDatetime(LocalDateTime.of(date, LocalTime.of(startMinute / 60, startMinute % 60)))
+                    .durationMinutes(SERVICE_DURATIONS[random.nextInt(SERVICE_DURATIONS.length)])
+                    .status(random.nextInt(10) == 0
+                            ? Appointment.AppointmentStatus.CANCELLED
+                            : Appointment.AppointmentStatus.CONFIRMED)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public boolean occupancyIndex() {
+        DayOccupancy occupancy = new DayOccupancy();
+        occupancy.occupyAll(appointments);
+        int startMinute = DayOccupancy.minuteOfDay(requestedStart.toLocalTime());
+        return occupancy.isFree(startMinute, startMinute + requestedDuration);
+    }
+
+    @Benchmark
+    public boolean legacyOverlapLoop() {
+        LocalDateTime requestedEnd = requestedStart.plusMinutes(requestedDuration);
+        for (Appointment appointment : appointments) {
+            if (appointment.getStatus() == Appointment.AppointmentStatus.CANCELLED) {
+                continue;
+            }
+            LocalDateTime appointmentStart = appointment.getAppointmentDatetime();
+            LocalDateTime appointmentEnd = appointmentStart.plusMinutes(appointment.getDurationMinutes());
+            if (requestedStart.isBefore(appointmentEnd) && appointmentStart.isBefore(requestedEnd)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
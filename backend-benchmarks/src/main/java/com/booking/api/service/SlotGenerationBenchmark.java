@@ -0,0 +1,125 @@
+package com.booking.api.service;
+
+import com.booking.api.dto.response.AvailabilityResponse;
+import com.booking.api.model.Appointment;
+import com.booking.api.model.Schedule;
+import com.booking.api.model.Service;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slot generation for a single busy day.
+ * A salon with several staff members open 07:00-21:00, 5-minute slot step, 30-minute
+ * service, and an increasing number of overlapping appointments of mixed durations
+ * booked in the morning. Afternoon slots stay free, which is the worst case for the
+ * former slots x appointments loop kept in {@code legacyScan} as a reference point.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SlotGenerationBenchmark {
+
+    private static final int[] SERVICE_DURATIONS = {15, 30, 45, 60, 90};
+
+    @Param({"10", "100", "400", "1600"})
+    private int appointmentCount;
+
+    private Schedule schedule;
+    private Service service;
+    private LocalDate date;
+    private List<Appointment> appointments;
+
+    @Setup
+    public void setUp() {
+        date = LocalDate.now().plusDays(7).with(DayOfWeek.MONDAY);
+
+        schedule = Schedule.builder()
+                .dayOfWeek(DayOfWeek.MONDAY)
+                .startTime(LocalTime.of(7, 0))
+                .endTime(LocalTime.of(21, 0))
+                .slotDurationMinutes(5)
+                .isActive(true)
+                .build();
+
+        service = Service.builder()
+                .name("Coupe")
+                .durationMinutes(30)
+                .price(BigDecimal.valueOf(25))
+                .isActive(true)
+                .build();
+
+        Random random = new Random(42);
+        appointments = new ArrayList<>(appointmentCount);
+        for (int i = 0; i < appointmentCount; i++) {
+            int startMinute = 7 * 60 + 5 * random.nextInt(7 * 12);
+            appointments.add(Appointment.builder()
+                    .appointmentDatetime(LocalDateTime.of(date, LocalTime.of(startMinute / 60, startMinute % 60)))
+                    .durationMinutes(SERVICE_DURATIONS[random.nextInt(SERVICE_DURATIONS.length)])
+                    .status(random.nextInt(10) == 0
+                            ? Appointment.AppointmentStatus.CANCELLED
+                            : Appointment.AppointmentStatus.CONFIRMED)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<AvailabilityResponse.TimeSlot> occupancyIndex() {
+        return AvailabilityService.generateTimeSlots(schedule, service, date, appointments);
+    }
+
+    @Benchmark
+    public List<AvailabilityResponse.TimeSlot> legacyScan() {
+        List<AvailabilityResponse.TimeSlot> slots = new ArrayList<>();
+        LocalTime currentTime = schedule.getStartTime();
+        int serviceDuration = service.getDurationMinutes();
+
+        while (!currentTime.plusMinutes(serviceDuration).isAfter(schedule.getEndTime())) {
+            LocalTime slotEnd = currentTime.plusMinutes(serviceDuration);
+            LocalDateTime requestedStart = LocalDateTime.of(date, currentTime);
+            LocalDateTime requestedEnd = LocalDateTime.of(date, slotEnd);
+
+            boolean available = true;
+            for (Appointment appointment : appointments) {
+                if (appointment.getStatus() == Appointment.AppointmentStatus.CANCELLED) {
+                    continue;
+                }
+                LocalDateTime appointmentStart = appointment.getAppointmentDatetime();
+                LocalDateTime appointmentEnd = appointmentStart.plusMinutes(appointment.getDurationMinutes());
+                if (requestedStart.isBefore(appointmentEnd) && appointmentStart.isBefore(requestedEnd)) {
+                    available = false;
+                    break;
+                }
+            }
+
+            slots.add(AvailabilityResponse.TimeSlot.builder()
+                    .startTime(currentTime)
+                    .endTime(slotEnd)
+                    .available(available)
+                    .build());
+            currentTime = currentTime.plusMinutes(schedule.getSlotDurationMinutes());
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,40 @@
+package com.booking.api.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slug generation from a business name at registration (whitespace replacement,
+ * Unicode normalization, removal of non-Latin characters).
+ * Names range from plain ASCII to accented names with punctuation, as entered by users.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SlugBenchmark {
+
+    @Param({
+            "Coiffeur Marie",
+            "Salon Élégance & Beauté",
+            "Institut de Beauté Hélène – Soins du visage, épilation & manucure (Saint-Étienne)"
+    })
+    private String businessName;
+
+    @Benchmark
+    public String generateSlug() {
+        return AuthService.generateSlug(businessName);
+    }
+}
@@ -0,0 +1,64 @@
+package com.booking.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * What one virtual user (or, once merged, the whole run) observed during the measured
+ * window: latency and unexpected responses per step, and the booking outcomes.
+ */
+final class FlowStats {
+
+    enum Step {
+        AVAILABILITY, BOOKING, CANCEL
+    }
+
+    private final Map<Step, LatencyRecorder> latencies = new EnumMap<>(Step.class);
+    private final Map<Step, Integer> errors = new EnumMap<>(Step.class);
+
+    int flows;
+    int bookingsCreated;
+    int bookingConflicts;
+    int noFreeSlot;
+
+    FlowStats() {
+        for (Step step : Step.values()) {
+            latencies.put(step, new LatencyRecorder());
+            errors.put(step, 0);
+        }
+    }
+
+    void record(Step step, BookingApiClient.Response response, boolean expected) {
+        latencies.get(step).record(response.nanos());
+        if (!expected) {
+            errors.merge(step, 1, Integer::sum);
+        }
+    }
+
+    LatencyRecorder latency(Step step) {
+        return latencies.get(step);
+    }
+
+    int errors(Step step) {
+        return errors.get(step);
+    }
+
+    int requests() {
+        return latencies.values().stream().mapToInt(LatencyRecorder::count).sum();
+    }
+
+    int totalErrors() {
+        return errors.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    void addAll(FlowStats other) {
+        for (Step step : Step.values()) {
+            latencies.get(step).addAll(other.latencies.get(step));
+            errors.merge(step, other.errors.get(step), Integer::sum);
+        }
+        flows += other.flows;
+        bookingsCreated += other.bookingsCreated;
+        bookingConflicts += other.bookingConflicts;
+        noFreeSlot += other.noFreeSlot;
+    }
+}
@@ -0,0 +1,70 @@
+package com.booking.loadtest;
+
+import com.booking.api.BookingApiApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+
+/**
+ * The real API started in this JVM on a random port, against an embedded PostgreSQL
+ * migrated by the API's own Flyway scripts. The shared Redis tier is disabled and mail
+ * goes to a closed port, so outbox emails fail fast and are recorded as FAILED
+ * notifications: the database work of the flow is kept, the SMTP wait is not.
+ * The API's log goes to {@code target/loadtest-api.log}.
+ */
+final class InProcessApi implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+
+    private InProcessApi(EmbeddedPostgres postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    /**
+     * @param extraProfiles profiles activated on top of {@code loadtest}, comma-separated, may be empty
+     */
+    static InProcessApi start(String extraProfiles) throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.start();
+        try {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(BookingApiApplication.class)
+                    // Command-line arguments take precedence over the API's application.yml
+                    .run("--spring.profiles.active=loadtest" + (extraProfiles.isBlank() ? "" : "," + extraProfiles),
+                            "--server.port=0",
+                            "--spring.main.banner-mode=off",
+                            "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                            "--spring.datasource.username=postgres",
+                            "--spring.datasource.password=postgres",
+                            "--app.cache.redis.enabled=false",
+                            "--management.health.redis.enabled=false",
+                            "--spring.mail.host=localhost",
+                            "--spring.mail.port=1",
+                            "--app.trace.sample-rate=0",
+                            // Expected conflicts and mail failures are logged as errors by the API:
+                            // keep its log out of the report, in a file for investigation
+                            "--logging.threshold.console=OFF",
+                            "--logging.file.name=target/loadtest-api.log",
+                            "--logging.level.root=WARN");
+            return new InProcessApi(postgres, context);
+        } catch (RuntimeException e) {
+            postgres.close();
+            throw e;
+        }
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            context.close();
+        } finally {
+            postgres.close();
+        }
+    }
+}
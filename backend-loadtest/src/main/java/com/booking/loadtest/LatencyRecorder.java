@@ -0,0 +1,47 @@
+package com.booking.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of one step, kept exactly (a run records at most a few million values).
+ * Not thread-safe: each virtual user owns its recorders, merged once the run is over.
+ */
+final class LatencyRecorder {
+
+    private long[] nanos = new long[1024];
+    private int count;
+    private boolean sorted;
+
+    void record(long value) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = value;
+        sorted = false;
+    }
+
+    void addAll(LatencyRecorder other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.nanos[i]);
+        }
+    }
+
+    int count() {
+        return count;
+    }
+
+    /**
+     * Nearest-rank percentile in milliseconds, 0 when nothing was recorded.
+     */
+    double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        if (!sorted) {
+            Arrays.sort(nanos, 0, count);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * count);
+        return nanos[Math.max(0, Math.min(count, rank) - 1)] / 1_000_000.0;
+    }
+}
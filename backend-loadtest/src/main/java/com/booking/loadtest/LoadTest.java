@@ -0,0 +1,74 @@
+package com.booking.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Load test of the public booking flow: seeds businesses through the API, then runs
+ * {@code concurrency} virtual users through availability, booking and cancellation
+ * (or availability only, {@code --scenario=availability}), and prints p50/p95/p99
+ * latency per step and the booking conflict rate. Exits with
+ * status 1 when a limit ({@code --max-p99-ms}, {@code --max-error-rate}) is exceeded,
+ * so a release pipeline can gate on it.
+ *
+ * <pre>
+ * java -jar target/loadtest.jar --businesses=5 --concurrency=50 --duration=60
+ * java -jar target/loadtest.jar --base-url=http://localhost:8080 --max-p99-ms=500
+ * java -jar target/loadtest.jar --scenario=availability --concurrency=1000 --api-profiles=virtual-threads
+ * </pre>
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+
+        boolean passed;
+        if (config.baseUrl() == null) {
+            System.out.println("Starting the API on an embedded PostgreSQL...");
+            try (InProcessApi api = InProcessApi.start(config.apiProfiles())) {
+                passed = run(config, api.baseUrl());
+            }
+        } else {
+            passed = run(config, config.baseUrl());
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    static boolean run(LoadTestConfig config, String baseUrl) throws InterruptedException, ExecutionException {
+        BookingApiClient client = new BookingApiClient(baseUrl);
+
+        System.out.printf("Seeding %d businesses on %s...%n", config.businesses(), baseUrl);
+        List<Seeder.SeededBusiness> businesses = new Seeder(client).seed(config.businesses());
+
+        System.out.printf("Running %d virtual users...%n", config.concurrency());
+        long measureFrom = System.nanoTime() + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(config.concurrency());
+        try {
+            List<Future<FlowStats>> users = new ArrayList<>(config.concurrency());
+            for (int i = 0; i < config.concurrency(); i++) {
+                users.add(executor.submit(new VirtualUser(client, businesses, config,
+                        config.seed() + i, measureFrom, end)));
+            }
+
+            FlowStats total = new FlowStats();
+            for (Future<FlowStats> user : users) {
+                total.addAll(user.get());
+            }
+
+            Report report = new Report(config, total);
+            report.print(System.out);
+            return report.passed();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
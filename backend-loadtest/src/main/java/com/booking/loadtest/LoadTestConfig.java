@@ -0,0 +1,91 @@
+package com.booking.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Load test parameters, read from {@code --name=value} arguments.
+ *
+ * @param baseUrl      API to load; {@code null} starts the API in-process on an embedded PostgreSQL
+ * @param apiProfiles  extra Spring profiles of the in-process API, comma-separated (e.g. {@code virtual-threads})
+ * @param scenario     what each virtual user runs in a loop
+ * @param businesses   businesses seeded through the API, each with one service open Monday to Saturday
+ * @param concurrency  virtual users, each running the booking flow in a loop
+ * @param warmup       time run before measuring (JIT, caches, connection pools)
+ * @param duration     measured time
+ * @param horizonDays  booking dates are picked between 2 and {@code 2 + horizonDays} days ahead
+ * @param cancelRatio  share of created bookings cancelled right away
+ * @param maxP99Millis fails the run when a step's p99 exceeds it; 0 disables the check
+ * @param maxErrorRate fails the run when the share of unexpected responses exceeds it
+ * @param seed         random seed, for reproducible runs
+ */
+record LoadTestConfig(
+        String baseUrl,
+        String apiProfiles,
+        Scenario scenario,
+        int businesses,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        int horizonDays,
+        double cancelRatio,
+        long maxP99Millis,
+        double maxErrorRate,
+        long seed) {
+
+    private static final Set<String> OPTIONS = Set.of("base-url", "api-profiles", "scenario", "businesses",
+            "concurrency", "warmup", "duration", "horizon-days", "cancel-ratio", "max-p99-ms", "max-error-rate",
+            "seed");
+
+    enum Scenario {
+        /** Availability, booking, then cancellation of a share of the bookings */
+        FLOW,
+        /** Availability of a random day only, as the public booking page polls it */
+        AVAILABILITY
+    }
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            String name = arg.substring(2, separator);
+            if (!OPTIONS.contains(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name + ", expected one of " + OPTIONS);
+            }
+            values.put(name, arg.substring(separator + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                values.get("base-url"),
+                values.getOrDefault("api-profiles", ""),
+                Scenario.valueOf(values.getOrDefault("scenario", "flow").toUpperCase(Locale.ROOT)),
+                Integer.parseInt(values.getOrDefault("businesses", "5")),
+                Integer.parseInt(values.getOrDefault("concurrency", "50")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "10"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60"))),
+                Integer.parseInt(values.getOrDefault("horizon-days", "30")),
+                Double.parseDouble(values.getOrDefault("cancel-ratio", "0.5")),
+                Long.parseLong(values.getOrDefault("max-p99-ms", "0")),
+                Double.parseDouble(values.getOrDefault("max-error-rate", "0.01")),
+                Long.parseLong(values.getOrDefault("seed", "42")));
+
+        if (config.businesses < 1 || config.concurrency < 1 || config.horizonDays < 1) {
+            throw new IllegalArgumentException("businesses, concurrency and horizon-days must be positive");
+        }
+        // Spring Boot silently falls back to platform threads below Java 21: do not
+        // report such a run as a virtual-thread one
+        if (Arrays.asList(config.apiProfiles.split(",")).contains("virtual-threads")
+                && Runtime.version().feature() < 21) {
+            throw new IllegalArgumentException("The virtual-threads profile needs Java 21+, running on Java "
+                    + Runtime.version().feature());
+        }
+        return config;
+    }
+}
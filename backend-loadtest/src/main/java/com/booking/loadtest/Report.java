@@ -0,0 +1,89 @@
+package com.booking.loadtest;
+
+import com.booking.loadtest.FlowStats.Step;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Prints the merged results of a run and checks them against the configured limits.
+ */
+final class Report {
+
+    private final LoadTestConfig config;
+    private final FlowStats stats;
+
+    Report(LoadTestConfig config, FlowStats stats) {
+        this.config = config;
+        this.stats = stats;
+    }
+
+    void print(PrintStream out) {
+        double seconds = config.duration().toMillis() / 1000.0;
+        out.printf(Locale.ROOT, "%nLoad test (%s%s): %d businesses, %d virtual users, %ds measured after %ds warmup%n",
+                config.scenario().name().toLowerCase(Locale.ROOT),
+                config.apiProfiles().isBlank() ? "" : ", API profiles " + config.apiProfiles(),
+                config.businesses(), config.concurrency(), config.duration().toSeconds(), config.warmup().toSeconds());
+        out.printf(Locale.ROOT, "%-13s %9s %9s %9s %9s %9s %8s%n",
+                "step", "requests", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors");
+        for (Step step : Step.values()) {
+            LatencyRecorder latency = stats.latency(step);
+            out.printf(Locale.ROOT, "%-13s %9d %9.1f %9.1f %9.1f %9.1f %8d%n",
+                    step.name().toLowerCase(Locale.ROOT), latency.count(),
+                    latency.percentileMillis(50), latency.percentileMillis(95),
+                    latency.percentileMillis(99), latency.percentileMillis(100), stats.errors(step));
+        }
+        out.printf(Locale.ROOT, "Throughput: %.1f flows/s, %.1f requests/s%n",
+                stats.flows / seconds, stats.requests() / seconds);
+        out.printf(Locale.ROOT, "Bookings: %d created, %d conflicts (conflict rate %.2f%%), %d days without free slot%n",
+                stats.bookingsCreated, stats.bookingConflicts, conflictRate() * 100, stats.noFreeSlot);
+        out.printf(Locale.ROOT, "Error rate: %.2f%%%n", errorRate() * 100);
+
+        List<String> violations = violations();
+        if (violations.isEmpty()) {
+            out.println("PASSED");
+        } else {
+            violations.forEach(violation -> out.println("FAILED: " + violation));
+        }
+    }
+
+    boolean passed() {
+        return violations().isEmpty();
+    }
+
+    /**
+     * Share of booking attempts rejected because the slot was taken meanwhile.
+     */
+    double conflictRate() {
+        int attempts = stats.bookingsCreated + stats.bookingConflicts;
+        return attempts == 0 ? 0 : (double) stats.bookingConflicts / attempts;
+    }
+
+    double errorRate() {
+        int requests = stats.requests();
+        return requests == 0 ? 0 : (double) stats.totalErrors() / requests;
+    }
+
+    private List<String> violations() {
+        List<String> violations = new ArrayList<>();
+        if (stats.flows == 0) {
+            violations.add("no flow completed in the measured window");
+        }
+        if (errorRate() > config.maxErrorRate()) {
+            violations.add(String.format(Locale.ROOT, "error rate %.2f%% above %.2f%%",
+                    errorRate() * 100, config.maxErrorRate() * 100));
+        }
+        if (config.maxP99Millis() > 0) {
+            for (Step step : Step.values()) {
+                double p99 = stats.latency(step).percentileMillis(99);
+                if (p99 > config.maxP99Millis()) {
+                    violations.add(String.format(Locale.ROOT, "%s p99 %.1f ms above %d ms",
+                            step.name().toLowerCase(Locale.ROOT), p99, config.maxP99Millis()));
+                }
+            }
+        }
+        return violations;
+    }
+}
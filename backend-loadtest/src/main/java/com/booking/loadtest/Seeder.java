@@ -0,0 +1,82 @@
+package com.booking.loadtest;
+
+import com.booking.api.dto.request.RegisterRequest;
+import com.booking.api.dto.request.ScheduleRequest;
+import com.booking.api.dto.request.ServiceRequest;
+import com.booking.api.dto.response.AuthResponse;
+import com.booking.api.dto.response.ServiceResponse;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Creates the load test businesses through the public API, as a business owner would:
+ * register, add one 30-minute service, open Monday to Saturday from 9:00 to 18:00.
+ */
+final class Seeder {
+
+    static final int SERVICE_DURATION_MINUTES = 30;
+
+    private final BookingApiClient client;
+
+    Seeder(BookingApiClient client) {
+        this.client = client;
+    }
+
+    List<SeededBusiness> seed(int count) {
+        // Unique per run, so a shared database can be seeded again
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        List<SeededBusiness> businesses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            businesses.add(seedBusiness(runId, i));
+        }
+        return businesses;
+    }
+
+    private SeededBusiness seedBusiness(String runId, int index) {
+        AuthResponse auth = expect(client.post("/api/auth/register", RegisterRequest.builder()
+                .email("loadtest-" + runId + "-" + index + "@example.com")
+                .password("LoadTest123")
+                .firstName("Load")
+                .lastName("Test " + index)
+                .phone("+33612345678")
+                .businessName("Load Test " + runId + " " + index)
+                .build()), "register business " + index).as(AuthResponse.class);
+        String accessToken = auth.getAccessToken();
+
+        ServiceResponse service = expect(client.post("/api/services", ServiceRequest.builder()
+                .name("Coupe")
+                .durationMinutes(SERVICE_DURATION_MINUTES)
+                .price(BigDecimal.valueOf(25))
+                .build(), accessToken), "create service").as(ServiceResponse.class);
+
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (day == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            expect(client.post("/api/schedules", ScheduleRequest.builder()
+                    .dayOfWeek(day.name())
+                    .startTime(LocalTime.of(9, 0))
+                    .endTime(LocalTime.of(18, 0))
+                    .slotDurationMinutes(SERVICE_DURATION_MINUTES)
+                    .build(), accessToken), "create schedule " + day);
+        }
+
+        return new SeededBusiness(auth.getUser().getBusiness().getSlug(), service.getId());
+    }
+
+    private static BookingApiClient.Response expect(BookingApiClient.Response response, String action) {
+        if (!response.is2xx()) {
+            throw new IllegalStateException("Seeding failed to " + action + ": HTTP "
+                    + response.status() + " " + response.text());
+        }
+        return response;
+    }
+
+    record SeededBusiness(String slug, UUID serviceId) {
+    }
+}
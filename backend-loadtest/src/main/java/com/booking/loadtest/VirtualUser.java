@@ -0,0 +1,108 @@
+package com.booking.loadtest;
+
+import com.booking.api.dto.request.AppointmentRequest;
+import com.booking.api.dto.request.CustomerRequest;
+import com.booking.api.dto.response.AppointmentResponse;
+import com.booking.api.dto.response.AvailabilityResponse;
+import com.booking.loadtest.FlowStats.Step;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+/**
+ * One customer running the public booking flow in a loop until the end of the run:
+ * availability of a random day, booking of a random free slot, then cancellation of a
+ * share of the created bookings; with {@link LoadTestConfig.Scenario#AVAILABILITY},
+ * the availability request only. Responses before {@code measureFromNanos} are not
+ * recorded. A 409 on booking (slot taken meanwhile) is an expected outcome, counted as
+ * a conflict; any other non-2xx response or transport failure is an error.
+ */
+final class VirtualUser implements Callable<FlowStats> {
+
+    // Customers reused across bookings, as returning customers of each business
+    private static final int CUSTOMERS_PER_BUSINESS = 200;
+
+    private final BookingApiClient client;
+    private final List<Seeder.SeededBusiness> businesses;
+    private final LoadTestConfig config;
+    private final Random random;
+    private final long measureFromNanos;
+    private final long endNanos;
+
+    private final FlowStats stats = new FlowStats();
+
+    VirtualUser(BookingApiClient client, List<Seeder.SeededBusiness> businesses, LoadTestConfig config,
+                long seed, long measureFromNanos, long endNanos) {
+        this.client = client;
+        this.businesses = businesses;
+        this.config = config;
+        this.random = new Random(seed);
+        this.measureFromNanos = measureFromNanos;
+        this.endNanos = endNanos;
+    }
+
+    @Override
+    public FlowStats call() {
+        while (System.nanoTime() < endNanos && !Thread.currentThread().isInterrupted()) {
+            boolean measured = System.nanoTime() >= measureFromNanos;
+            runFlow(measured ? stats : new FlowStats());
+        }
+        return stats;
+    }
+
+    private void runFlow(FlowStats flowStats) {
+        flowStats.flows++;
+        Seeder.SeededBusiness business = businesses.get(random.nextInt(businesses.size()));
+        LocalDate date = LocalDate.now().plusDays(2 + random.nextInt(config.horizonDays()));
+
+        BookingApiClient.Response availability = client.get("/api/availability/" + business.slug()
+                + "?serviceId=" + business.serviceId() + "&date=" + date);
+        flowStats.record(Step.AVAILABILITY, availability, availability.status() == 200);
+        if (availability.status() != 200 || config.scenario() == LoadTestConfig.Scenario.AVAILABILITY) {
+            return;
+        }
+
+        List<AvailabilityResponse.TimeSlot> free = availability.as(AvailabilityResponse.class)
+                .getAvailableSlots().stream()
+                .filter(AvailabilityResponse.TimeSlot::isAvailable)
+                .toList();
+        if (free.isEmpty()) {
+            flowStats.noFreeSlot++;
+            return;
+        }
+        LocalTime start = free.get(random.nextInt(free.size())).getStartTime();
+
+        int customer = random.nextInt(CUSTOMERS_PER_BUSINESS);
+        BookingApiClient.Response booking = client.post("/api/booking/" + business.slug(),
+                AppointmentRequest.builder()
+                        .serviceId(business.serviceId())
+                        .appointmentDatetime(date.atTime(start))
+                        .customer(CustomerRequest.builder()
+                                .firstName("Client")
+                                .lastName("N" + customer)
+                                .email("client-" + customer + "@example.com")
+                                // Unique per business, like the email
+                                .phone(String.format("06%08d", customer))
+                                .build())
+                        .build());
+        if (booking.status() == 409) {
+            flowStats.record(Step.BOOKING, booking, true);
+            flowStats.bookingConflicts++;
+            return;
+        }
+        flowStats.record(Step.BOOKING, booking, booking.status() == 201);
+        if (booking.status() != 201) {
+            return;
+        }
+        flowStats.bookingsCreated++;
+
+        if (random.nextDouble() < config.cancelRatio()) {
+            String token = booking.as(AppointmentResponse.class).getCancellationToken();
+            BookingApiClient.Response cancel = client.post("/api/booking/cancel/" + token, null);
+            flowStats.record(Step.CANCEL, cancel, cancel.is2xx());
+        }
+    }
+}
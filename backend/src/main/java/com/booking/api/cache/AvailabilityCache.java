@@ -0,0 +1,90 @@
+package com.booking.api.cache;
+
+import com.booking.api.dto.response.AvailabilityResponse;
+import com.booking.api.event.AvailabilityChangedEvent;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache of computed availability, keyed by (business, service, date),
+ * in front of the shared {@link DistributedCache}. Entries are dropped when an
+ * {@link AvailabilityChangedEvent} is committed locally or broadcast by another node;
+ * the TTL only bounds staleness for changes made outside the services.
+ * Hit/miss/eviction counters are published as the "availability" cache metrics.
+ */
+@Component
+@Slf4j
+public class AvailabilityCache {
+
+    public static final String CACHE_NAME = "availability";
+
+    private final AsyncCache<Key, AvailabilityResponse> cache;
+    private final DistributedCache distributedCache;
+
+    public AvailabilityCache(
+            @Value("${app.cache.availability.max-size:10000}") long maxSize,
+            @Value("${app.cache.availability.ttl:10m}") Duration ttl,
+            MeterRegistry meterRegistry,
+            DistributedCache distributedCache) {
+        this.distributedCache = distributedCache;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached availability, falling back to the shared tier and then to
+     * {@code loader}, on the calling thread (see {@link CallerThreadLoader}). Concurrent
+     * callers for the same key wait for the same computation. Failed computations are
+     * not cached.
+     */
+    public AvailabilityResponse get(UUID businessId, UUID serviceId, LocalDate date,
+                                    Supplier<AvailabilityResponse> loader) {
+        return CallerThreadLoader.get(cache, new Key(businessId, serviceId, date), key -> {
+            String sharedKey = CacheKeys.availability(businessId);
+            String field = CacheKeys.availabilityField(serviceId, date);
+            return distributedCache.getField(sharedKey, field, AvailabilityResponse.class)
+                    .orElseGet(() -> {
+                        // Read before loading: an invalidation committed during the load
+                        // bumps it, and the value computed from the old state is not shared
+                        long version = distributedCache.version(sharedKey);
+                        AvailabilityResponse computed = loader.get();
+                        distributedCache.putField(sharedKey, field, computed, version);
+                        return computed;
+                    });
+        });
+    }
+
+    /**
+     * Runs after the publishing transaction commits so a reader cannot re-cache the
+     * state that is being replaced. An invalidation racing with an in-flight load
+     * removes its pending entry, so the result is never stored.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        cache.asMap().keySet().removeIf(key -> event.affects(key.businessId(), key.date()));
+        log.debug("Availability cache invalidated for business {} (date: {})",
+                event.getBusinessId(), event.getDate() != null ? event.getDate() : "all");
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    private record Key(UUID businessId, UUID serviceId, LocalDate date) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.booking.api.cache;
+
+import com.booking.api.event.BusinessChangedEvent;
+import com.booking.api.repository.BusinessRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves public slugs to a {@link BusinessSnapshot} without a database round trip.
+ * Snapshots are loaded on first use and dropped when a {@link BusinessChangedEvent}
+ * is committed locally or broadcast by another node; the next lookup reloads them.
+ * Unknown slugs are not remembered.
+ */
+@Component
+@Slf4j
+public class BusinessDirectory {
+
+    private final BusinessRepository businessRepository;
+    private final Map<String, BusinessSnapshot> bySlug = new ConcurrentHashMap<>();
+
+    // Bumped by every invalidation, before it sweeps the map, so a load that started
+    // before it is not stored
+    private final AtomicLong generation = new AtomicLong();
+
+    public BusinessDirectory(BusinessRepository businessRepository, MeterRegistry meterRegistry) {
+        this.businessRepository = businessRepository;
+        Gauge.builder("business.directory.size", bySlug, Map::size)
+                .description("Business snapshots held by the slug directory")
+                .register(meterRegistry);
+    }
+
+    public Optional<BusinessSnapshot> findBySlug(String slug) {
+        BusinessSnapshot snapshot = bySlug.get(slug);
+        if (snapshot != null) {
+            return Optional.of(snapshot);
+        }
+
+        long loadGeneration = generation.get();
+        Optional<BusinessSnapshot> loaded = businessRepository.findBySlug(slug).map(BusinessSnapshot::of);
+        loaded.ifPresent(business -> {
+            // Checked again after the put: an invalidation landing between the check and the
+            // put may already have swept the map, so the stale snapshot is taken back here
+            if (generation.get() == loadGeneration
+                    && bySlug.putIfAbsent(slug, business) == null
+                    && generation.get() != loadGeneration) {
+                bySlug.remove(slug, business);
+            }
+        });
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBusinessChanged(BusinessChangedEvent event) {
+        generation.incrementAndGet();
+        bySlug.remove(event.getSlug());
+        bySlug.values().removeIf(snapshot -> snapshot.id().equals(event.getBusinessId()));
+        log.debug("Business directory refreshed for {} ({})", event.getSlug(), event.getBusinessId());
+    }
+
+    public int size() {
+        return bySlug.size();
+    }
+}
@@ -0,0 +1,20 @@
+package com.booking.api.cache;
+
+import com.booking.api.model.Business;
+
+import java.util.UUID;
+
+/**
+ * Immutable view of the business fields needed to serve public endpoints by slug.
+ */
+public record BusinessSnapshot(UUID id, String slug, boolean active, String name, String address) {
+
+    public static BusinessSnapshot of(Business business) {
+        return new BusinessSnapshot(
+                business.getId(),
+                business.getSlug(),
+                Boolean.TRUE.equals(business.getIsActive()),
+                business.getBusinessName(),
+                business.getAddress());
+    }
+}
@@ -0,0 +1,45 @@
+package com.booking.api.cache;
+
+import com.booking.api.event.AvailabilityChangedEvent;
+import com.booking.api.event.BusinessChangedEvent;
+import com.booking.api.event.ScheduleChangedEvent;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Payload broadcast on {@link CacheKeys#INVALIDATION_CHANNEL} so other nodes drop
+ * their in-process copies. For availability, a null date covers every date of the business.
+ */
+public record CacheInvalidationMessage(Type type, UUID businessId, LocalDate date, String slug) {
+
+    public enum Type {
+        AVAILABILITY,
+        BUSINESS,
+        SCHEDULE
+    }
+
+    public static CacheInvalidationMessage of(AvailabilityChangedEvent event) {
+        return new CacheInvalidationMessage(Type.AVAILABILITY, event.getBusinessId(), event.getDate(), null);
+    }
+
+    public static CacheInvalidationMessage of(BusinessChangedEvent event) {
+        return new CacheInvalidationMessage(Type.BUSINESS, event.getBusinessId(), null, event.getSlug());
+    }
+
+    public static CacheInvalidationMessage of(ScheduleChangedEvent event) {
+        return new CacheInvalidationMessage(Type.SCHEDULE, event.getBusinessId(), null, null);
+    }
+
+    public AvailabilityChangedEvent toAvailabilityEvent() {
+        return new AvailabilityChangedEvent(businessId, date);
+    }
+
+    public BusinessChangedEvent toBusinessEvent() {
+        return new BusinessChangedEvent(businessId, slug);
+    }
+
+    public ScheduleChangedEvent toScheduleEvent() {
+        return new ScheduleChangedEvent(businessId);
+    }
+}
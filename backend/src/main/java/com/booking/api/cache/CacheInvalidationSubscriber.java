@@ -0,0 +1,42 @@
+package com.booking.api.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Applies invalidations broadcast by any node (this one included) to the local
+ * in-process caches.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.redis.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidationSubscriber implements MessageListener {
+
+    private final AvailabilityCache availabilityCache;
+    private final BusinessDirectory businessDirectory;
+    private final WeeklyTemplateCache weeklyTemplateCache;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            CacheInvalidationMessage invalidation =
+                    objectMapper.readValue(message.getBody(), CacheInvalidationMessage.class);
+            switch (invalidation.type()) {
+                case AVAILABILITY -> availabilityCache.onAvailabilityChanged(invalidation.toAvailabilityEvent());
+                case BUSINESS -> businessDirectory.onBusinessChanged(invalidation.toBusinessEvent());
+                case SCHEDULE -> weeklyTemplateCache.onScheduleChanged(invalidation.toScheduleEvent());
+            }
+        } catch (IOException e) {
+            log.warn("Ignoring malformed cache invalidation message: {}", e.getMessage());
+        }
+    }
+}
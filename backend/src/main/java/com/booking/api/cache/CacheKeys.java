@@ -0,0 +1,53 @@
+package com.booking.api.cache;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Key layout shared by every node using the distributed cache.
+ */
+public final class CacheKeys {
+
+    public static final String INVALIDATION_CHANNEL = "booking:cache:invalidation";
+
+    private static final String PREFIX = "booking:";
+
+    private static final String SLOT_HOLDS_PREFIX = PREFIX + "holds:";
+
+    private CacheKeys() {
+    }
+
+    public static String businessBySlug(String slug) {
+        return PREFIX + "business:" + slug;
+    }
+
+    public static String activeServices(String slug) {
+        return PREFIX + "services:" + slug;
+    }
+
+    /**
+     * One hash entry per business so a schedule change drops all of its days at once.
+     */
+    public static String availability(UUID businessId) {
+        return PREFIX + "availability:" + businessId;
+    }
+
+    public static String availabilityField(UUID serviceId, LocalDate date) {
+        return date + ":" + serviceId;
+    }
+
+    /**
+     * One hash per business of live slot holds, field = hold token.
+     */
+    public static String slotHolds(UUID businessId) {
+        return SLOT_HOLDS_PREFIX + businessId;
+    }
+
+    public static String slotHoldsPattern() {
+        return SLOT_HOLDS_PREFIX + "*";
+    }
+
+    public static boolean isAvailabilityFieldFor(String field, LocalDate date) {
+        return field.startsWith(date + ":");
+    }
+}
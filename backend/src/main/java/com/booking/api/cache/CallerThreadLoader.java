@@ -0,0 +1,46 @@
+package com.booking.api.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Loads a missing entry of an {@link AsyncCache} on the calling thread, outside the map
+ * lock. A synchronous Caffeine {@code get(key, loader)} runs the loader inside
+ * {@code ConcurrentHashMap.compute}, i.e. in a {@code synchronized} block, which pins a
+ * virtual thread for the whole JDBC / Redis round trip. Here only an empty future is
+ * installed under the lock; concurrent callers for the same key still wait for the same
+ * load, parked on the future. The loader keeps the caller's transaction and trace context.
+ */
+final class CallerThreadLoader {
+
+    private CallerThreadLoader() {
+    }
+
+    static <K, V> V get(AsyncCache<K, V> cache, K key, Function<K, V> loader) {
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> future = cache.get(key, (k, executor) -> loading);
+        if (future == loading) {
+            try {
+                V value = loader.apply(key);
+                loading.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                // Failed loads are dropped from the cache by Caffeine
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
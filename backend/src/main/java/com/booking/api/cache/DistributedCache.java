@@ -0,0 +1,51 @@
+package com.booking.api.cache;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Cache tier shared by all API nodes. Implementations never throw: an unreachable
+ * backend behaves like an empty cache so requests fall back to the database.
+ */
+public interface DistributedCache {
+
+    <T> Optional<T> get(String key, Class<T> type);
+
+    <T> Optional<List<T>> getList(String key, Class<T> elementType);
+
+    /**
+     * Stores a value unless the key was evicted since {@code version} was read, see
+     * {@link #version}.
+     */
+    void put(String key, Object value, long version);
+
+    /**
+     * Removes an entry and increments its version.
+     */
+    void evict(String key);
+
+    /**
+     * Reads one field of a hash entry, see {@link CacheKeys#availability}. Each field
+     * expires on its own.
+     */
+    <T> Optional<T> getField(String key, String field, Class<T> type);
+
+    /**
+     * Version of an entry, incremented by every {@link #evict} and {@link #evictFields}.
+     * Read it before computing a value and pass it to {@link #put} or {@link #putField}.
+     */
+    long version(String key);
+
+    /**
+     * Stores a field unless the entry was evicted since {@code version} was read, so a
+     * value computed from the state an invalidation replaced is not shared.
+     */
+    void putField(String key, String field, Object value, long version);
+
+    /**
+     * Removes the fields matching {@code fieldFilter}, or the whole hash when it is null,
+     * and increments the version of the entry.
+     */
+    void evictFields(String key, Predicate<String> fieldFilter);
+}
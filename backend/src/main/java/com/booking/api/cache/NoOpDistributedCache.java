@@ -0,0 +1,52 @@
+package com.booking.api.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Used when {@code app.cache.redis.enabled} is off: every lookup is a miss.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.redis.enabled", havingValue = "false", matchIfMissing = true)
+public class NoOpDistributedCache implements DistributedCache {
+
+    @Override
+    public <T> Optional<T> get(String key, Class<T> type) {
+        return Optional.empty();
+    }
+
+    @Override
+    public <T> Optional<List<T>> getList(String key, Class<T> elementType) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(String key, Object value, long version) {
+    }
+
+    @Override
+    public void evict(String key) {
+    }
+
+    @Override
+    public <T> Optional<T> getField(String key, String field, Class<T> type) {
+        return Optional.empty();
+    }
+
+    @Override
+    public long version(String key) {
+        return 0;
+    }
+
+    @Override
+    public void putField(String key, String field, Object value, long version) {
+    }
+
+    @Override
+    public void evictFields(String key, Predicate<String> fieldFilter) {
+    }
+}
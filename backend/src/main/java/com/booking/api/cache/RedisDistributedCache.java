@@ -0,0 +1,238 @@
+package com.booking.api.cache;
+
+import com.booking.api.event.AvailabilityChangedEvent;
+import com.booking.api.event.BusinessChangedEvent;
+import com.booking.api.event.ScheduleChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Redis implementation of the shared cache tier. Values are stored as JSON with a TTL;
+ * committed {@link AvailabilityChangedEvent}s and {@link BusinessChangedEvent}s delete
+ * the shared entries, and those plus {@link ScheduleChangedEvent}s are broadcast so
+ * other nodes drop their local copies. Every entry has a version counter, bumped by
+ * evictions, so a value loaded before an eviction is not written back. A hash entry is
+ * stored as one key per field, each with its own TTL, and a set listing the fields.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.redis.enabled", havingValue = "true")
+@Slf4j
+public class RedisDistributedCache implements DistributedCache {
+
+    // Version returned when it cannot be read: no put matches it
+    private static final long UNKNOWN_VERSION = -1;
+
+    private static final RedisScript<Long> PUT = new DefaultRedisScript<>("""
+            if tonumber(redis.call('GET', KEYS[1]) or '0') ~= tonumber(ARGV[1]) then
+              return 0
+            end
+            redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> PUT_FIELD = new DefaultRedisScript<>("""
+            if tonumber(redis.call('GET', KEYS[1]) or '0') ~= tonumber(ARGV[1]) then
+              return 0
+            end
+            redis.call('SET', KEYS[2], ARGV[3], 'PX', ARGV[4])
+            redis.call('SADD', KEYS[3], ARGV[2])
+            if redis.call('PTTL', KEYS[3]) < tonumber(ARGV[4]) then
+              redis.call('PEXPIRE', KEYS[3], ARGV[4])
+            end
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter errors;
+
+    public RedisDistributedCache(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            @Value("${app.cache.redis.ttl:10m}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.hits = meterRegistry.counter("cache.redis.requests", "result", "hit");
+        this.misses = meterRegistry.counter("cache.redis.requests", "result", "miss");
+        this.errors = meterRegistry.counter("cache.redis.errors");
+    }
+
+    @Override
+    public <T> Optional<T> get(String key, Class<T> type) {
+        return read(() -> redisTemplate.opsForValue().get(key),
+                objectMapper.constructType(type), key);
+    }
+
+    @Override
+    public <T> Optional<List<T>> getList(String key, Class<T> elementType) {
+        return read(() -> redisTemplate.opsForValue().get(key),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, elementType), key);
+    }
+
+    @Override
+    public void put(String key, Object value, long version) {
+        if (version == UNKNOWN_VERSION) {
+            return;
+        }
+        write(key, () -> redisTemplate.execute(PUT, List.of(versionKey(key), key),
+                String.valueOf(version), toJson(value), String.valueOf(ttl.toMillis())));
+    }
+
+    @Override
+    public void evict(String key) {
+        write(key, () -> {
+            // Bumped first, as in evictFields
+            redisTemplate.opsForValue().increment(versionKey(key));
+            redisTemplate.delete(key);
+        });
+    }
+
+    @Override
+    public <T> Optional<T> getField(String key, String field, Class<T> type) {
+        return read(() -> redisTemplate.opsForValue().get(fieldKey(key, field)),
+                objectMapper.constructType(type), key);
+    }
+
+    @Override
+    public long version(String key) {
+        try {
+            String version = redisTemplate.opsForValue().get(versionKey(key));
+            return version == null ? 0 : Long.parseLong(version);
+        } catch (RuntimeException e) {
+            errors.increment();
+            log.warn("Redis cache read failed for {}: {}", key, e.getMessage());
+            return UNKNOWN_VERSION;
+        }
+    }
+
+    @Override
+    public void putField(String key, String field, Object value, long version) {
+        if (version == UNKNOWN_VERSION) {
+            return;
+        }
+        write(key, () -> redisTemplate.execute(PUT_FIELD,
+                List.of(versionKey(key), fieldKey(key, field), fieldsKey(key)),
+                String.valueOf(version), field, toJson(value), String.valueOf(ttl.toMillis())));
+    }
+
+    @Override
+    public void evictFields(String key, Predicate<String> fieldFilter) {
+        write(key, () -> {
+            // Bumped first, so a load that read the previous version cannot write back
+            // after the fields are listed
+            redisTemplate.opsForValue().increment(versionKey(key));
+            Set<String> fields = redisTemplate.opsForSet().members(fieldsKey(key));
+            if (fields == null || fields.isEmpty()) {
+                return;
+            }
+            List<String> evicted = fields.stream()
+                    .filter(field -> fieldFilter == null || fieldFilter.test(field))
+                    .toList();
+            if (evicted.isEmpty()) {
+                return;
+            }
+            redisTemplate.delete(evicted.stream().map(field -> fieldKey(key, field)).toList());
+            if (fieldFilter == null) {
+                redisTemplate.delete(fieldsKey(key));
+            } else {
+                redisTemplate.opsForSet().remove(fieldsKey(key), evicted.toArray());
+            }
+        });
+    }
+
+    static String fieldKey(String key, String field) {
+        return key + ":" + field;
+    }
+
+    private static String fieldsKey(String key) {
+        return key + ":fields";
+    }
+
+    // No TTL: one counter per evicted entry, and an expired one could come back to a
+    // value an in-flight load already read
+    private static String versionKey(String key) {
+        return key + ":version";
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        LocalDate date = event.getDate();
+        evictFields(CacheKeys.availability(event.getBusinessId()),
+                date == null ? null : field -> CacheKeys.isAvailabilityFieldFor(field, date));
+        broadcast(CacheInvalidationMessage.of(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBusinessChanged(BusinessChangedEvent event) {
+        evict(CacheKeys.businessBySlug(event.getSlug()));
+        evict(CacheKeys.activeServices(event.getSlug()));
+        broadcast(CacheInvalidationMessage.of(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        broadcast(CacheInvalidationMessage.of(event));
+    }
+
+    private void broadcast(CacheInvalidationMessage message) {
+        write(CacheKeys.INVALIDATION_CHANNEL, () -> redisTemplate.convertAndSend(
+                CacheKeys.INVALIDATION_CHANNEL, toJson(message)));
+    }
+
+    private <T> Optional<T> read(Supplier<String> command, JavaType type, String key) {
+        try {
+            String json = command.get();
+            if (json == null) {
+                misses.increment();
+                return Optional.empty();
+            }
+            hits.increment();
+            return Optional.of(objectMapper.readValue(json, type));
+        } catch (JsonProcessingException | RuntimeException e) {
+            errors.increment();
+            log.warn("Redis cache read failed for {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void write(String key, Runnable command) {
+        try {
+            command.run();
+        } catch (RuntimeException e) {
+            errors.increment();
+            log.warn("Redis cache write failed for {}: {}", key, e.getMessage());
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize cache value", e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.booking.api.cache;
+
+import com.booking.api.event.ScheduleChangedEvent;
+import com.booking.api.repository.ScheduleExceptionRepository;
+import com.booking.api.repository.ScheduleRepository;
+import com.booking.api.service.WeeklyTemplate;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One {@link WeeklyTemplate} per business, built from its schedules and upcoming
+ * schedule exceptions on first use and rebuilt after a {@link ScheduleChangedEvent}.
+ * The TTL bounds staleness for exceptions edited outside the services and keeps the
+ * exception window starting close to today.
+ */
+@Component
+@Slf4j
+public class WeeklyTemplateCache {
+
+    public static final String CACHE_NAME = "weeklyTemplate";
+
+    private final ScheduleRepository scheduleRepository;
+    private final ScheduleExceptionRepository scheduleExceptionRepository;
+    private final AsyncCache<UUID, WeeklyTemplate> cache;
+
+    public WeeklyTemplateCache(
+            ScheduleRepository scheduleRepository,
+            ScheduleExceptionRepository scheduleExceptionRepository,
+            @Value("${app.cache.weekly-template.max-size:10000}") long maxSize,
+            @Value("${app.cache.weekly-template.ttl:1h}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.scheduleRepository = scheduleRepository;
+        this.scheduleExceptionRepository = scheduleExceptionRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public WeeklyTemplate get(UUID businessId) {
+        return CallerThreadLoader.get(cache, businessId, this::load);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        cache.synchronous().invalidate(event.getBusinessId());
+        log.debug("Weekly template invalidated for business {}", event.getBusinessId());
+    }
+
+    private WeeklyTemplate load(UUID businessId) {
+        return WeeklyTemplate.build(
+                scheduleRepository.findByBusinessId(businessId),
+                scheduleExceptionRepository.findByBusinessIdAndExceptionDateGreaterThanEqual(
+                        businessId, LocalDate.now()));
+    }
+}
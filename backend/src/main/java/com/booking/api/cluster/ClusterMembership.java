@@ -0,0 +1,99 @@
+package com.booking.api.cluster;
+
+import com.booking.api.model.SchedulerNode;
+import com.booking.api.repository.SchedulerNodeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Live API instances, tracked in the scheduler_nodes table. Each instance refreshes its
+ * heartbeat every {@code app.cluster.heartbeat-interval}; an instance silent for
+ * {@code app.cluster.node-ttl} is considered gone and removed. Scheduled jobs call
+ * {@link #currentPartition()} to take their share of the work: the partitions follow
+ * the live instances, so a node joining or leaving rebalances the next run.
+ */
+@Component
+@Slf4j
+public class ClusterMembership {
+
+    private final SchedulerNodeRepository schedulerNodeRepository;
+    private final String nodeId;
+    private final Duration nodeTtl;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    public ClusterMembership(SchedulerNodeRepository schedulerNodeRepository,
+                             @Value("${app.cluster.node-id:}") String nodeId,
+                             @Value("${app.cluster.node-ttl:PT90S}") Duration nodeTtl) {
+        this.schedulerNodeRepository = schedulerNodeRepository;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.nodeTtl = nodeTtl;
+    }
+
+    /**
+     * The share of this instance: index among the live instances ordered by id, and
+     * their count.
+     */
+    public record Partition(int index, int count) {
+
+        public static final Partition ALL = new Partition(0, 1);
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Refreshes this instance's heartbeat and removes instances that stopped beating.
+     */
+    @Scheduled(fixedDelayString = "${app.cluster.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        LocalDateTime now = LocalDateTime.now();
+        schedulerNodeRepository.save(SchedulerNode.builder()
+                .nodeId(nodeId)
+                .startedAt(startedAt)
+                .heartbeatAt(now)
+                .build());
+        int removed = schedulerNodeRepository.deleteHeartbeatBefore(now.minus(nodeTtl));
+        if (removed > 0) {
+            log.info("Removed {} scheduler nodes without heartbeat for {}", removed, nodeTtl);
+        }
+    }
+
+    /**
+     * This instance's partition, computed from the live instances right now. Falls back
+     * to the whole work when the membership cannot be read: callers claim their work
+     * exclusively, so this only loses the spreading, not correctness.
+     */
+    public Partition currentPartition() {
+        try {
+            heartbeat();
+            List<String> live = schedulerNodeRepository.findLiveNodeIds(LocalDateTime.now().minus(nodeTtl));
+            int index = live.indexOf(nodeId);
+            if (index < 0) {
+                return Partition.ALL;
+            }
+            return new Partition(index, live.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to read scheduler nodes, taking the whole work", e);
+            return Partition.ALL;
+        }
+    }
+
+    // Leaves the cluster on shutdown, so the others take over without waiting for the TTL
+    @PreDestroy
+    public void leave() {
+        try {
+            schedulerNodeRepository.deleteById(nodeId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to remove scheduler node {}", nodeId, e);
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package com.booking.api.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
@@ -10,4 +17,49 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 public class AsyncConfig {
     // Enables async processing for @Async methods
     // Enables scheduling for @Scheduled methods (for reminder emails)
+
+    public static final String REMINDER_EXECUTOR = "reminderEmailExecutor";
+
+    /**
+     * Bounded pool for reminder emails, so a slow SMTP server during a burst of reminders
+     * cannot pile up tasks in memory. Once the queue is full, submissions fail with
+     * {@link org.springframework.core.task.TaskRejectedException} and
+     * {@link com.booking.api.service.ReminderService} defers the reminder to the
+     * notifications table. Queue depth and active threads are published by Actuator as
+     * {@code executor.queued} / {@code executor.active} tagged {@code name=reminderEmailExecutor}.
+     */
+    @Bean(name = REMINDER_EXECUTOR)
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "false", matchIfMissing = true)
+    public ThreadPoolTaskExecutor reminderEmailExecutor(
+            @Value("${app.async.reminder.core-size:2}") int coreSize,
+            @Value("${app.async.reminder.max-size:4}") int maxSize,
+            @Value("${app.async.reminder.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("reminder-email-");
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        // Let queued reminders go out on shutdown rather than dropping them
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Virtual-thread variant, active with the {@code virtual-threads} profile: one virtual
+     * thread per reminder, at most {@code concurrency-limit} at a time to spare the SMTP
+     * server. There is no queue to bound; past the limit the submitting thread (the
+     * reminder job, itself virtual) parks until a send completes.
+     */
+    @Bean(name = REMINDER_EXECUTOR)
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+    public SimpleAsyncTaskExecutor virtualReminderEmailExecutor(
+            @Value("${app.async.reminder.concurrency-limit:20}") int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("reminder-email-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        executor.setTaskTerminationTimeout(30_000);
+        return executor;
+    }
 }
@@ -0,0 +1,49 @@
+package com.booking.api.config;
+
+import com.booking.api.mail.PooledMailSender;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Properties;
+
+@Configuration
+@EnableConfigurationProperties(MailProperties.class)
+@ConditionalOnProperty(name = "app.mail.pool.enabled", havingValue = "true", matchIfMissing = true)
+public class MailConfig {
+
+    /**
+     * Replaces the mail sender auto-configured from {@code spring.mail.*} with one keeping
+     * its SMTP connections open between emails (see {@link PooledMailSender}). Set
+     * {@code app.mail.pool.enabled=false} to go back to one connection per email.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.mail", name = "host")
+    public PooledMailSender mailSender(
+            MailProperties properties,
+            @Value("${app.mail.pool.max-connections:4}") int maxConnections,
+            @Value("${app.mail.pool.borrow-timeout:10s}") Duration borrowTimeout,
+            @Value("${app.mail.pool.max-idle:PT30S}") Duration maxIdle) {
+        PooledMailSender sender = new PooledMailSender(maxConnections, borrowTimeout, maxIdle);
+        sender.setHost(properties.getHost());
+        if (properties.getPort() != null) {
+            sender.setPort(properties.getPort());
+        }
+        sender.setUsername(properties.getUsername());
+        sender.setPassword(properties.getPassword());
+        sender.setProtocol(properties.getProtocol());
+        if (properties.getDefaultEncoding() != null) {
+            sender.setDefaultEncoding(properties.getDefaultEncoding().name());
+        }
+        if (!properties.getProperties().isEmpty()) {
+            Properties javaMailProperties = new Properties();
+            javaMailProperties.putAll(properties.getProperties());
+            sender.setJavaMailProperties(javaMailProperties);
+        }
+        return sender;
+    }
+}
@@ -1,6 +1,7 @@
 package com.booking.api.controller;
 
 import com.booking.api.dto.response.AvailabilityResponse;
+import com.booking.api.dto.response.NextSlotResponse;
 import com.booking.api.service.AvailabilityService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -8,6 +9,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -28,4 +31,30 @@ public class AvailabilityController {
 
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/{businessSlug}/calendar")
+    public ResponseEntity<List<AvailabilityResponse>> getAvailabilityCalendar(
+            @PathVariable String businessSlug,
+            @RequestParam UUID serviceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        List<AvailabilityResponse> response = availabilityService.getAvailabilityCalendar(
+                businessSlug, serviceId, from, to);
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{businessSlug}/next")
+    public ResponseEntity<List<NextSlotResponse>> getNextAvailableSlots(
+            @PathVariable String businessSlug,
+            @RequestParam UUID serviceId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime after,
+            @RequestParam(defaultValue = "1") int limit) {
+
+        List<NextSlotResponse> response = availabilityService.findNextAvailableSlots(
+                businessSlug, serviceId, after, limit);
+
+        return ResponseEntity.ok(response);
+    }
 }
@@ -1,27 +1,62 @@
 package com.booking.api.controller;
 
 import com.booking.api.dto.request.AppointmentRequest;
+import com.booking.api.dto.request.BatchAppointmentRequest;
+import com.booking.api.dto.request.SlotHoldRequest;
 import com.booking.api.dto.response.AppointmentResponse;
+import com.booking.api.dto.response.SlotHoldResponse;
 import com.booking.api.service.AppointmentService;
+import com.booking.api.service.SlotHoldService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/booking")
 @RequiredArgsConstructor
 public class BookingController {
 
     private final AppointmentService appointmentService;
+    private final SlotHoldService slotHoldService;
 
     @PostMapping("/{businessSlug}")
     public ResponseEntity<AppointmentResponse> createAppointment(
             @PathVariable String businessSlug,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody AppointmentRequest request) {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(appointmentService.createAppointment(businessSlug, request));
+                .body(appointmentService.createAppointment(businessSlug, request, idempotencyKey));
+    }
+
+    @PostMapping("/{businessSlug}/batch")
+    public ResponseEntity<List<AppointmentResponse>> createAppointments(
+            @PathVariable String businessSlug,
+            @Valid @RequestBody BatchAppointmentRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(appointmentService.createAppointments(businessSlug, request));
+    }
+
+    // Holds are capped per client IP (see app.booking.hold.max-per-client)
+    @PostMapping("/{businessSlug}/hold")
+    public ResponseEntity<SlotHoldResponse> holdSlot(
+            @PathVariable String businessSlug,
+            @Valid @RequestBody SlotHoldRequest request,
+            HttpServletRequest httpRequest) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(slotHoldService.holdSlot(businessSlug, request, httpRequest.getRemoteAddr()));
+    }
+
+    @DeleteMapping("/{businessSlug}/hold/{holdToken}")
+    public ResponseEntity<Void> releaseHold(
+            @PathVariable String businessSlug,
+            @PathVariable String holdToken) {
+        slotHoldService.releaseHold(businessSlug, holdToken);
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/appointment/{cancellationToken}")
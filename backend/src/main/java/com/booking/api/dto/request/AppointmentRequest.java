@@ -25,4 +25,7 @@ public class AppointmentRequest {
     private CustomerRequest customer;
 
     private String notes;
+
+    // Token returned by POST /api/booking/{slug}/hold, optional
+    private String holdToken;
 }
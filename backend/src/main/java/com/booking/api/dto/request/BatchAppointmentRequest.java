@@ -0,0 +1,37 @@
+package com.booking.api.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchAppointmentRequest {
+
+    // Services of the visit, in the order they are performed, back to back
+    @NotEmpty(message = "At least one service is required")
+    @Size(max = 10, message = "A visit cannot include more than 10 services")
+    private List<@NotNull(message = "Service ID is required") UUID> serviceIds;
+
+    // Start of the first service
+    @NotNull(message = "Appointment date and time is required")
+    private LocalDateTime appointmentDatetime;
+
+    @NotNull(message = "Customer information is required")
+    private CustomerRequest customer;
+
+    private String notes;
+
+    // Token returned by POST /api/booking/{slug}/hold for the first service, optional
+    private String holdToken;
+}
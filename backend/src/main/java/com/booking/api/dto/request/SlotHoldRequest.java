@@ -0,0 +1,23 @@
+package com.booking.api.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlotHoldRequest {
+
+    @NotNull(message = "Service ID is required")
+    private UUID serviceId;
+
+    @NotNull(message = "Appointment date and time is required")
+    private LocalDateTime appointmentDatetime;
+}
@@ -0,0 +1,20 @@
+package com.booking.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class NextSlotResponse {
+
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+}
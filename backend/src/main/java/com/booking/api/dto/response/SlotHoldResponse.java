@@ -0,0 +1,22 @@
+package com.booking.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlotHoldResponse {
+
+    private String holdToken;
+    private UUID serviceId;
+    private LocalDateTime appointmentDatetime;
+    private Integer durationMinutes;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,23 @@
+package com.booking.api.event;
+
+import com.booking.api.model.Appointment;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published when an appointment is booked or its status changes.
+ */
+@Value
+public class AppointmentChangedEvent {
+
+    UUID appointmentId;
+    LocalDateTime appointmentDatetime;
+    Appointment.AppointmentStatus status;
+
+    public static AppointmentChangedEvent of(Appointment appointment) {
+        return new AppointmentChangedEvent(
+                appointment.getId(), appointment.getAppointmentDatetime(), appointment.getStatus());
+    }
+}
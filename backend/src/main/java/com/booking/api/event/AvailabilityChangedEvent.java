@@ -0,0 +1,29 @@
+package com.booking.api.event;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Published when the bookable time of a business changes.
+ * A null date means every date of the business is affected (schedule change).
+ */
+@Value
+public class AvailabilityChangedEvent {
+
+    UUID businessId;
+    LocalDate date;
+
+    public static AvailabilityChangedEvent forDate(UUID businessId, LocalDate date) {
+        return new AvailabilityChangedEvent(businessId, date);
+    }
+
+    public static AvailabilityChangedEvent forBusiness(UUID businessId) {
+        return new AvailabilityChangedEvent(businessId, null);
+    }
+
+    public boolean affects(UUID otherBusinessId, LocalDate otherDate) {
+        return businessId.equals(otherBusinessId) && (date == null || date.equals(otherDate));
+    }
+}
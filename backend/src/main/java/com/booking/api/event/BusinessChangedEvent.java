@@ -0,0 +1,15 @@
+package com.booking.api.event;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Published when the public profile or the service catalogue of a business changes.
+ */
+@Value
+public class BusinessChangedEvent {
+
+    UUID businessId;
+    String slug;
+}
@@ -0,0 +1,14 @@
+package com.booking.api.event;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Published when the weekly schedule or the schedule exceptions of a business change.
+ */
+@Value
+public class ScheduleChangedEvent {
+
+    UUID businessId;
+}
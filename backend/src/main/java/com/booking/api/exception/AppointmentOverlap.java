@@ -0,0 +1,41 @@
+package com.booking.api.exception;
+
+import java.sql.SQLException;
+
+/**
+ * Recognises a violation of the {@code appointments_no_overlap} exclusion constraint
+ * (migration V5): two active appointments of one business overlapping in time.
+ * The driver error of a batched insert is looked up in the chain of next exceptions.
+ */
+public final class AppointmentOverlap {
+
+    public static final String CONSTRAINT = "appointments_no_overlap";
+
+    // PostgreSQL SQLSTATE for exclusion_violation
+    static final String EXCLUSION_VIOLATION = "23P01";
+
+    private AppointmentOverlap() {
+    }
+
+    public static boolean isCause(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                for (SQLException next = sqlException; next != null; next = next.getNextException()) {
+                    if (isExclusionViolation(next)) {
+                        return true;
+                    }
+                }
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isExclusionViolation(SQLException exception) {
+        return EXCLUSION_VIOLATION.equals(exception.getSQLState())
+                && exception.getMessage() != null
+                && exception.getMessage().contains(CONSTRAINT);
+    }
+}
@@ -1,6 +1,7 @@
 package com.booking.api.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -76,6 +77,30 @@ public class GlobalExceptionHandler {
         return buildErrorResponse("Conflict", ex.getMessage(), HttpStatus.CONFLICT);
     }
 
+    // Limit reached (e.g., too many live slot holds)
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequests(TooManyRequestsException ex) {
+        log.warn("Too many requests: {}", ex.getMessage());
+        return buildErrorResponse("Too Many Requests", ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    // Optional backend down (e.g., slot hold store)
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailable(ServiceUnavailableException ex) {
+        log.warn("Service unavailable: {}", ex.getMessage());
+        return buildErrorResponse("Service Unavailable", ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    // Double booking rejected by the appointments_no_overlap constraint → 409
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        if (AppointmentOverlap.isCause(ex)) {
+            log.warn("Appointment overlap rejected by the database: {}", ex.getMostSpecificCause().getMessage());
+            return buildErrorResponse("Conflict", "This time slot is no longer available", HttpStatus.CONFLICT);
+        }
+        return handleRuntimeException(ex);
+    }
+
     // Handle IllegalArgumentException → 400
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
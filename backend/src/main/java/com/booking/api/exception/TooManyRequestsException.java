@@ -0,0 +1,5 @@
+package com.booking.api.exception;
+
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) { super(message); }
+}
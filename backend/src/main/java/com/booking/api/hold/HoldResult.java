@@ -0,0 +1,14 @@
+package com.booking.api.hold;
+
+/**
+ * Outcome of {@link SlotHoldStore#tryHold}.
+ */
+public enum HoldResult {
+    HELD,
+    // A live hold of the same business overlaps the slot
+    SLOT_TAKEN,
+    // The business or the client already has the maximum number of live holds
+    LIMIT_REACHED,
+    // The store cannot be reached
+    UNAVAILABLE
+}
@@ -0,0 +1,113 @@
+package com.booking.api.hold;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-node hold store used when {@code app.cache.redis.enabled} is off. Each
+ * business owns an immutable token map replaced under {@link ConcurrentHashMap#compute},
+ * so overlap check and insert are atomic per business.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.redis.enabled", havingValue = "false", matchIfMissing = true)
+public class InMemorySlotHoldStore implements SlotHoldStore {
+
+    private final ConcurrentHashMap<UUID, Map<String, SlotHold>> holdsByBusiness = new ConcurrentHashMap<>();
+
+    @Override
+    public HoldResult tryHold(SlotHold hold, int maxPerBusiness, int maxPerClient) {
+        Instant now = Instant.now();
+        HoldResult[] result = new HoldResult[1];
+        holdsByBusiness.compute(hold.businessId(), (businessId, holds) -> {
+            Map<String, SlotHold> live = new HashMap<>();
+            int byClient = 0;
+            if (holds != null) {
+                for (SlotHold existing : holds.values()) {
+                    if (existing.isExpired(now)) {
+                        continue;
+                    }
+                    if (existing.overlaps(hold)) {
+                        result[0] = HoldResult.SLOT_TAKEN;
+                        return holds;
+                    }
+                    if (existing.isTakenBy(hold.clientId())) {
+                        byClient++;
+                    }
+                    live.put(existing.token(), existing);
+                }
+            }
+            if (live.size() >= maxPerBusiness || byClient >= maxPerClient) {
+                result[0] = HoldResult.LIMIT_REACHED;
+                return holds;
+            }
+            live.put(hold.token(), hold);
+            result[0] = HoldResult.HELD;
+            return Map.copyOf(live);
+        });
+        return result[0];
+    }
+
+    @Override
+    public Optional<SlotHold> find(UUID businessId, String token) {
+        Map<String, SlotHold> holds = holdsByBusiness.get(businessId);
+        if (holds == null) {
+            return Optional.empty();
+        }
+        Instant now = Instant.now();
+        return Optional.ofNullable(holds.get(token)).filter(hold -> !hold.isExpired(now));
+    }
+
+    @Override
+    public List<SlotHold> findActive(UUID businessId) {
+        Map<String, SlotHold> holds = holdsByBusiness.get(businessId);
+        if (holds == null) {
+            return List.of();
+        }
+        Instant now = Instant.now();
+        return holds.values().stream()
+                .filter(hold -> !hold.isExpired(now))
+                .toList();
+    }
+
+    @Override
+    public void release(SlotHold hold) {
+        holdsByBusiness.computeIfPresent(hold.businessId(), (businessId, holds) -> {
+            if (!holds.containsKey(hold.token())) {
+                return holds;
+            }
+            Map<String, SlotHold> remaining = new HashMap<>(holds);
+            remaining.remove(hold.token());
+            return remaining.isEmpty() ? null : Map.copyOf(remaining);
+        });
+    }
+
+    @Override
+    public int purgeExpired(Instant now) {
+        int[] purged = new int[1];
+        for (UUID businessId : holdsByBusiness.keySet()) {
+            holdsByBusiness.computeIfPresent(businessId, (id, holds) -> {
+                Map<String, SlotHold> live = new HashMap<>();
+                for (SlotHold hold : holds.values()) {
+                    if (hold.isExpired(now)) {
+                        purged[0]++;
+                    } else {
+                        live.put(hold.token(), hold);
+                    }
+                }
+                if (live.size() == holds.size()) {
+                    return holds;
+                }
+                return live.isEmpty() ? null : Map.copyOf(live);
+            });
+        }
+        return purged[0];
+    }
+}
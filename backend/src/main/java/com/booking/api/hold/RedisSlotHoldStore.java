@@ -0,0 +1,186 @@
+package com.booking.api.hold;
+
+import com.booking.api.cache.CacheKeys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Hold store shared by every node through Redis: one hash per business, field = token,
+ * value = {@code epochDay:startMinute:duration:expiresAtMillis:serviceId[:clientId]}.
+ * The overlap check, the hold caps and the insert run in a single Lua script; the hash
+ * expires with its last hold. When Redis cannot be reached, reads behave as "no hold",
+ * releases and purges are skipped and new holds are reported {@link HoldResult#UNAVAILABLE},
+ * so availability and bookings keep working without Redis.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.redis.enabled", havingValue = "true")
+@Slf4j
+public class RedisSlotHoldStore implements SlotHoldStore {
+
+    private static final RedisScript<Long> TRY_HOLD = new DefaultRedisScript<>("""
+            local entries = redis.call('HGETALL', KEYS[1])
+            local now = tonumber(ARGV[5])
+            local live, byClient = 0, 0
+            for i = 1, #entries, 2 do
+              local day, s, d, exp, client =
+                  string.match(entries[i + 1], '^(%d+):(%d+):(%d+):(%d+):[^:]+:?(.*)$')
+              if tonumber(exp) <= now then
+                redis.call('HDEL', KEYS[1], entries[i])
+              elseif day == ARGV[2] and tonumber(s) < tonumber(ARGV[4])
+                  and tonumber(ARGV[3]) < tonumber(s) + tonumber(d) then
+                return 0
+              else
+                live = live + 1
+                if ARGV[10] ~= '' and client == ARGV[10] then
+                  byClient = byClient + 1
+                end
+              end
+            end
+            if live >= tonumber(ARGV[8]) or byClient >= tonumber(ARGV[9]) then
+              return -1
+            end
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[6])
+            local ttl = tonumber(ARGV[7]) - now
+            if redis.call('PTTL', KEYS[1]) < ttl then
+              redis.call('PEXPIRE', KEYS[1], ttl)
+            end
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisSlotHoldStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public HoldResult tryHold(SlotHold hold, int maxPerBusiness, int maxPerClient) {
+        Long stored;
+        try {
+            stored = redisTemplate.execute(TRY_HOLD,
+                    List.of(CacheKeys.slotHolds(hold.businessId())),
+                    hold.token(),
+                    String.valueOf(hold.date().toEpochDay()),
+                    String.valueOf(hold.startMinute()),
+                    String.valueOf(hold.endMinute()),
+                    String.valueOf(Instant.now().toEpochMilli()),
+                    encode(hold),
+                    String.valueOf(hold.expiresAt().toEpochMilli()),
+                    String.valueOf(maxPerBusiness),
+                    String.valueOf(maxPerClient),
+                    hold.clientId() != null ? hold.clientId() : "");
+        } catch (RuntimeException e) {
+            log.warn("Redis slot hold write failed for business {}: {}", hold.businessId(), e.getMessage());
+            return HoldResult.UNAVAILABLE;
+        }
+        if (stored == null || stored == 0L) {
+            return HoldResult.SLOT_TAKEN;
+        }
+        return stored == 1L ? HoldResult.HELD : HoldResult.LIMIT_REACHED;
+    }
+
+    @Override
+    public Optional<SlotHold> find(UUID businessId, String token) {
+        try {
+            String value = redisTemplate.<String, String>opsForHash()
+                    .get(CacheKeys.slotHolds(businessId), token);
+            Instant now = Instant.now();
+            return Optional.ofNullable(value)
+                    .map(v -> decode(businessId, token, v))
+                    .filter(hold -> !hold.isExpired(now));
+        } catch (RuntimeException e) {
+            log.warn("Redis slot hold read failed for business {}: {}", businessId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public List<SlotHold> findActive(UUID businessId) {
+        try {
+            Map<String, String> entries = redisTemplate.<String, String>opsForHash()
+                    .entries(CacheKeys.slotHolds(businessId));
+            Instant now = Instant.now();
+            List<SlotHold> holds = new ArrayList<>(entries.size());
+            entries.forEach((token, value) -> {
+                SlotHold hold = decode(businessId, token, value);
+                if (!hold.isExpired(now)) {
+                    holds.add(hold);
+                }
+            });
+            return holds;
+        } catch (RuntimeException e) {
+            log.warn("Redis slot hold read failed for business {}: {}", businessId, e.getMessage());
+            return List.of();
+        }
+    }
+
+    @Override
+    public void release(SlotHold hold) {
+        try {
+            redisTemplate.opsForHash().delete(CacheKeys.slotHolds(hold.businessId()), hold.token());
+        } catch (RuntimeException e) {
+            log.warn("Redis slot hold release failed for business {}, left to expire: {}",
+                    hold.businessId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public int purgeExpired(Instant now) {
+        int purged = 0;
+        ScanOptions options = ScanOptions.scanOptions().match(CacheKeys.slotHoldsPattern()).count(100).build();
+        try (Cursor<String> keys = redisTemplate.scan(options)) {
+            while (keys.hasNext()) {
+                String key = keys.next();
+                Object[] expired = redisTemplate.<String, String>opsForHash().entries(key).entrySet().stream()
+                        .filter(entry -> expiresAt(entry.getValue()) <= now.toEpochMilli())
+                        .map(Map.Entry::getKey)
+                        .toArray();
+                if (expired.length > 0) {
+                    purged += redisTemplate.opsForHash().delete(key, expired).intValue();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Redis slot hold purge failed: {}", e.getMessage());
+        }
+        return purged;
+    }
+
+    private static String encode(SlotHold hold) {
+        String value = hold.date().toEpochDay() + ":" + hold.startMinute() + ":" + hold.durationMinutes() + ":"
+                + hold.expiresAt().toEpochMilli() + ":" + hold.serviceId();
+        return hold.clientId() != null ? value + ":" + hold.clientId() : value;
+    }
+
+    private static SlotHold decode(UUID businessId, String token, String value) {
+        String[] parts = value.split(":", 6);
+        int startMinute = Integer.parseInt(parts[1]);
+        return new SlotHold(
+                token,
+                businessId,
+                UUID.fromString(parts[4]),
+                LocalDate.ofEpochDay(Long.parseLong(parts[0]))
+                        .atTime(LocalTime.of(startMinute / 60, startMinute % 60)),
+                Integer.parseInt(parts[2]),
+                Instant.ofEpochMilli(Long.parseLong(parts[3])),
+                parts.length > 5 ? parts[5] : null);
+    }
+
+    private static long expiresAt(String value) {
+        return Long.parseLong(value.split(":", 5)[3]);
+    }
+}
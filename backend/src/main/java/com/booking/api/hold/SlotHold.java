@@ -0,0 +1,60 @@
+package com.booking.api.hold;
+
+import com.booking.api.service.DayOccupancy;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A short-lived reservation of one slot, taken while the customer fills in the
+ * booking form and turned into an appointment when the booking carries its token.
+ * {@code clientId} identifies who took it (client IP) for the per-client hold cap,
+ * null when unknown.
+ */
+public record SlotHold(
+        String token,
+        UUID businessId,
+        UUID serviceId,
+        LocalDateTime start,
+        int durationMinutes,
+        Instant expiresAt,
+        String clientId) {
+
+    public SlotHold(String token, UUID businessId, UUID serviceId, LocalDateTime start,
+                    int durationMinutes, Instant expiresAt) {
+        this(token, businessId, serviceId, start, durationMinutes, expiresAt, null);
+    }
+
+    public LocalDate date() {
+        return start.toLocalDate();
+    }
+
+    public int startMinute() {
+        return DayOccupancy.minuteOfDay(start.toLocalTime());
+    }
+
+    public int endMinute() {
+        return startMinute() + durationMinutes;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    /**
+     * Whether this hold covers part of {@code [fromMinute, toMinute)} on {@code date}.
+     */
+    public boolean overlaps(LocalDate date, int fromMinute, int toMinute) {
+        return date().equals(date) && startMinute() < toMinute && fromMinute < endMinute();
+    }
+
+    public boolean isTakenBy(String client) {
+        return clientId != null && clientId.equals(client);
+    }
+
+    public boolean overlaps(SlotHold other) {
+        return overlaps(other.date(), other.startMinute(), other.endMinute());
+    }
+}
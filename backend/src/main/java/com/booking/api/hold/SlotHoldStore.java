@@ -0,0 +1,44 @@
+package com.booking.api.hold;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Live slot holds, grouped per business. Expired holds are never returned even
+ * before they are purged. Holds are advisory: when the store cannot be reached, reads
+ * see no hold and releases are dropped (holds expire on their own), so bookings never
+ * fail because of it; only new holds are refused.
+ */
+public interface SlotHoldStore {
+
+    /**
+     * Stores {@code hold} unless a live hold of the same business overlaps it, or the
+     * business already has {@code maxPerBusiness} live holds, or the hold's client
+     * {@code maxPerClient} of them; atomically with respect to concurrent calls.
+     */
+    HoldResult tryHold(SlotHold hold, int maxPerBusiness, int maxPerClient);
+
+    /**
+     * {@link #tryHold(SlotHold, int, int)} without limits.
+     *
+     * @return false when the slot is already held
+     */
+    default boolean tryHold(SlotHold hold) {
+        return tryHold(hold, Integer.MAX_VALUE, Integer.MAX_VALUE) == HoldResult.HELD;
+    }
+
+    Optional<SlotHold> find(UUID businessId, String token);
+
+    List<SlotHold> findActive(UUID businessId);
+
+    void release(SlotHold hold);
+
+    /**
+     * Drops holds expired at {@code now}.
+     *
+     * @return number of holds removed
+     */
+    int purgeExpired(Instant now);
+}
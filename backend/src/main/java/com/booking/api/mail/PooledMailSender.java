@@ -0,0 +1,287 @@
+package com.booking.api.mail;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link JavaMailSenderImpl} keeping up to {@code maxConnections} authenticated SMTP
+ * connections open between sends, instead of connecting, negotiating STARTTLS and
+ * logging in for every email. Emails are sent one per call, so each keeps its own
+ * outcome; consecutive calls reuse the open connections, which is where the handshakes
+ * are saved. A connection idle for longer than {@code maxIdle} is closed rather than
+ * reused, as servers drop idle clients; one dropped anyway is found by a NOOP when
+ * borrowed and replaced before anything is sent. A send that fails once the message
+ * may have reached the server is not retried, so a timeout after DATA cannot deliver
+ * the email twice. Pool usage is published as {@code mail.pool.*} meters.
+ */
+@Slf4j
+public class PooledMailSender extends JavaMailSenderImpl implements MeterBinder, AutoCloseable {
+
+    public static final String POOL_CONNECTIONS = "mail.pool.connections";
+    public static final String POOL_OPENED = "mail.pool.connections.opened";
+    public static final String POOL_RECONNECTS = "mail.pool.reconnects";
+    public static final String POOL_WAIT = "mail.pool.wait";
+
+    private static final String HEADER_MESSAGE_ID = "Message-ID";
+
+    private final int maxConnections;
+    private final Duration borrowTimeout;
+    private final Duration maxIdle;
+
+    private final Semaphore permits;
+    // Most recently used first, so the stalest connections age out at the tail
+    private final Deque<PooledTransport> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicLong opened = new AtomicLong();
+    private final AtomicLong reconnects = new AtomicLong();
+
+    @Nullable
+    private Timer waitTimer;
+
+    public PooledMailSender(int maxConnections, Duration borrowTimeout, Duration maxIdle) {
+        this.maxConnections = maxConnections;
+        this.borrowTimeout = borrowTimeout;
+        this.maxIdle = maxIdle;
+        this.permits = new Semaphore(maxConnections, true);
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, @Nullable Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+
+        PooledTransport connection;
+        try {
+            connection = borrow();
+        } catch (MessagingException | InterruptedException ex) {
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            for (int i = 0; i < mimeMessages.length; i++) {
+                failedMessages.put(original(mimeMessages, originalMessages, i), ex);
+            }
+            throw new MailSendException("Mail server connection failed", ex, failedMessages);
+        }
+
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                try {
+                    send(connection, mimeMessages[i]);
+                } catch (Exception ex) {
+                    failedMessages.put(original(mimeMessages, originalMessages, i), ex);
+                }
+            }
+        } finally {
+            release(connection);
+        }
+
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    /**
+     * Closes the connections idle for longer than {@code maxIdle}, so they are not
+     * kept open on the server side until the next burst.
+     */
+    @Scheduled(fixedDelayString = "${app.mail.pool.max-idle:PT30S}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (Iterator<PooledTransport> it = idle.descendingIterator(); it.hasNext(); ) {
+            PooledTransport connection = it.next();
+            if (!connection.idleFor(now, maxIdle) || !idle.removeLastOccurrence(connection)) {
+                break;
+            }
+            closeQuietly(connection.transport);
+        }
+    }
+
+    @Override
+    public void close() {
+        PooledTransport connection;
+        while ((connection = idle.pollFirst()) != null) {
+            closeQuietly(connection.transport);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(POOL_CONNECTIONS, this, PooledMailSender::activeConnections)
+                .tag("state", "active")
+                .description("SMTP connections in use by a send")
+                .register(registry);
+        Gauge.builder(POOL_CONNECTIONS, idle, Deque::size)
+                .tag("state", "idle")
+                .description("SMTP connections open and waiting for a send")
+                .register(registry);
+        Gauge.builder(POOL_CONNECTIONS, this, sender -> sender.maxConnections)
+                .tag("state", "max")
+                .register(registry);
+        FunctionCounter.builder(POOL_OPENED, opened, AtomicLong::get)
+                .description("SMTP connections opened, including reconnects")
+                .register(registry);
+        FunctionCounter.builder(POOL_RECONNECTS, reconnects, AtomicLong::get)
+                .description("Connections found dropped by the server before a send")
+                .register(registry);
+        waitTimer = Timer.builder(POOL_WAIT)
+                .description("Time waiting for a free SMTP connection")
+                .register(registry);
+    }
+
+    public int activeConnections() {
+        return maxConnections - permits.availablePermits();
+    }
+
+    public int idleConnections() {
+        return idle.size();
+    }
+
+    private PooledTransport borrow() throws MessagingException, InterruptedException {
+        long start = System.nanoTime();
+        boolean acquired = permits.tryAcquire(borrowTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        if (waitTimer != null) {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            throw new MessagingException("No SMTP connection available after " + borrowTimeout);
+        }
+
+        try {
+            PooledTransport connection;
+            while ((connection = idle.pollFirst()) != null) {
+                if (connection.idleFor(System.nanoTime(), maxIdle)) {
+                    closeQuietly(connection.transport);
+                } else if (connection.transport.isConnected()) {
+                    return connection;
+                } else {
+                    // Dropped by the server (idle timeout, restart) while in the pool
+                    log.debug("Pooled SMTP connection lost, reconnecting");
+                    closeQuietly(connection.transport);
+                    reconnects.incrementAndGet();
+                }
+            }
+            return new PooledTransport(open());
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void release(PooledTransport connection) {
+        try {
+            if (connection.transport != null) {
+                connection.lastUsedNanos = System.nanoTime();
+                idle.offerFirst(connection);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void send(PooledTransport connection, MimeMessage message) throws MessagingException {
+        prepare(message);
+        Address[] addresses = message.getAllRecipients();
+        Address[] recipients = addresses != null ? addresses : new Address[0];
+        Transport transport = ensureOpen(connection);
+        try {
+            transport.sendMessage(message, recipients);
+        } catch (SendFailedException e) {
+            // Recipients rejected by the server: the connection itself is fine
+            throw e;
+        } catch (IllegalStateException e) {
+            // Closed before anything was written: safe to send on a new connection
+            log.debug("SMTP connection closed, reconnecting: {}", e.getMessage());
+            discard(connection);
+            reconnects.incrementAndGet();
+            ensureOpen(connection).sendMessage(message, recipients);
+        } catch (MessagingException e) {
+            // The server may have accepted the message (timeout after DATA): never resent,
+            // and the connection is left in an unknown state
+            discard(connection);
+            throw e;
+        }
+    }
+
+    private void discard(PooledTransport connection) {
+        closeQuietly(connection.transport);
+        connection.transport = null;
+    }
+
+    private Transport ensureOpen(PooledTransport connection) throws MessagingException {
+        if (connection.transport == null) {
+            connection.transport = open();
+        }
+        return connection.transport;
+    }
+
+    private Transport open() throws MessagingException {
+        Transport transport = connectTransport();
+        opened.incrementAndGet();
+        return transport;
+    }
+
+    // Same header handling as JavaMailSenderImpl#doSend
+    private static void prepare(MimeMessage message) throws MessagingException {
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        String messageId = message.getMessageID();
+        message.saveChanges();
+        if (messageId != null) {
+            message.setHeader(HEADER_MESSAGE_ID, messageId);
+        }
+    }
+
+    private static Object original(MimeMessage[] mimeMessages, @Nullable Object[] originalMessages, int i) {
+        return originalMessages != null ? originalMessages[i] : mimeMessages[i];
+    }
+
+    private static void closeQuietly(@Nullable Transport transport) {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Failed to close SMTP connection", e);
+        }
+    }
+
+    private static final class PooledTransport {
+
+        @Nullable
+        private Transport transport;
+        private long lastUsedNanos = System.nanoTime();
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        private boolean idleFor(long now, Duration duration) {
+            return now - lastUsedNanos >= duration.toNanos();
+        }
+    }
+}
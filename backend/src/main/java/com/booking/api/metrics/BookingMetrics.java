@@ -0,0 +1,98 @@
+package com.booking.api.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Domain metrics of the booking and availability pipelines. Entry point latencies
+ * are recorded by {@code @Timed} (see {@link com.booking.api.config.MetricsConfig}); this class covers what
+ * an annotation cannot see: slot counts, slot holds, outbox lag, email sends and
+ * reminder runs.
+ * Percentile histograms are enabled per meter prefix in application.yml.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingMetrics {
+
+    public static final String AVAILABILITY_SLOTS = "availability.slots";
+    public static final String AVAILABILITY_DAYS_SCANNED = "availability.next.days.scanned";
+    public static final String EMAIL_SEND = "email.send";
+    public static final String REMINDERS = "reminders";
+    public static final String SLOT_HOLDS = "slot.holds";
+    public static final String OUTBOX_EVENTS = "outbox.events";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Slots returned by one availability call ({@code endpoint}: day, calendar or next).
+     */
+    public void recordSlots(String endpoint, int total, int available) {
+        slotSummary(endpoint, "total").record(total);
+        slotSummary(endpoint, "available").record(available);
+    }
+
+    /**
+     * Open days walked by one next-available search before it stopped.
+     */
+    public void recordDaysScanned(int days) {
+        DistributionSummary.builder(AVAILABILITY_DAYS_SCANNED)
+                .baseUnit("days")
+                .register(meterRegistry)
+                .record(days);
+    }
+
+    public void recordEmail(String type, boolean sent, long nanos) {
+        Timer.builder(EMAIL_SEND)
+                .tag("type", type)
+                .tag("outcome", sent ? "sent" : "failed")
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Reminders handed to the email service, {@code outcome}: queued, failed, deferred
+     * (reminder executor saturated) or requeued (deferred reminder handed over again).
+     */
+    public void recordReminders(String outcome, int count) {
+        Counter.builder(REMINDERS)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    /**
+     * Slot hold lifecycle, {@code outcome}: created, rejected, limited, converted, released or expired.
+     */
+    public void recordSlotHolds(String outcome, int count) {
+        Counter.builder(SLOT_HOLDS)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    /**
+     * One outbox event handled by the dispatcher, timed from its creation (booking commit)
+     * to dispatch; {@code outcome}: processed, retried or failed.
+     */
+    public void recordOutboxEvent(String outcome, Duration lag) {
+        Timer.builder(OUTBOX_EVENTS)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(lag);
+    }
+
+    private DistributionSummary slotSummary(String endpoint, String kind) {
+        return DistributionSummary.builder(AVAILABILITY_SLOTS)
+                .baseUnit("slots")
+                .tag("endpoint", endpoint)
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+}
@@ -22,7 +22,8 @@ import java.util.UUID;
     @Index(name = "idx_appointments_datetime", columnList = "appointment_datetime"),
     @Index(name = "idx_appointments_status", columnList = "status"),
     @Index(name = "idx_appointments_business_datetime", columnList = "business_id, appointment_datetime"),
-    @Index(name = "idx_appointments_cancellation_token", columnList = "cancellation_token")
+    @Index(name = "idx_appointments_cancellation_token", columnList = "cancellation_token"),
+    @Index(name = "idx_appointments_booking_group_id", columnList = "booking_group_id")
 })
 @Data
 @NoArgsConstructor
@@ -69,6 +70,14 @@ public class Appointment {
     @Column(name = "cancellation_token", unique = true, length = 64)
     private String cancellationToken;
 
+    // Shared by the appointments of a multi-service visit booked in one request
+    @Column(name = "booking_group_id")
+    private UUID bookingGroupId;
+
+    // Set when the reminder job claims the appointment, so it is reminded once
+    @Column(name = "reminder_sent_at")
+    private LocalDateTime reminderSentAt;
+
     @Column(name = "confirmed_at")
     private LocalDateTime confirmedAt;
 
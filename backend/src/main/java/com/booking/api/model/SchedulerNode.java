@@ -0,0 +1,33 @@
+package com.booking.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A running API instance, kept alive by its heartbeat. Scheduled jobs split their work
+ * between the instances seen alive.
+ */
+@Entity
+@Table(name = "scheduler_nodes",
+    indexes = @Index(name = "idx_scheduler_nodes_heartbeat_at", columnList = "heartbeat_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchedulerNode {
+
+    @Id
+    @Column(name = "node_id", length = 100)
+    private String nodeId;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    private LocalDateTime heartbeatAt;
+}
@@ -3,13 +3,14 @@ package com.booking.api.repository;
 import com.booking.api.model.Appointment;
 import com.booking.api.model.Appointment.AppointmentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import jakarta.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,6 +20,93 @@ public interface AppointmentRepository extends JpaRepository<Appointment, UUID>
 
     Optional<Appointment> findByCancellationToken(String cancellationToken);
 
+    // Everything the notification emails read, in one query
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.business JOIN FETCH a.service JOIN FETCH a.customer " +
+           "WHERE a.id = :id")
+    Optional<Appointment> findByIdWithDetails(@Param("id") UUID id);
+
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.business JOIN FETCH a.service JOIN FETCH a.customer " +
+           "WHERE a.bookingGroupId = :bookingGroupId ORDER BY a.appointmentDatetime")
+    List<Appointment> findByBookingGroupIdWithDetails(@Param("bookingGroupId") UUID bookingGroupId);
+
+    // The batch is selected once in a materialized CTE: as an IN subquery, the planner may
+    // run it again for the join and claim more than :limit rows. Businesses are spread over
+    // :partitions by a hash of their id, masked to stay positive
+    String CLAIM_REMINDERS = "WITH due AS MATERIALIZED (" +
+                             "SELECT id FROM appointments WHERE status IN ('PENDING', 'CONFIRMED') " +
+                             "AND reminder_sent_at IS NULL AND appointment_datetime BETWEEN :start AND :end " +
+                             "AND mod(hashtext(business_id::text) & 2147483647, :partitions) = :partition " +
+                             "ORDER BY appointment_datetime, id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+                             "UPDATE appointments a SET reminder_sent_at = :now FROM due " +
+                             "WHERE a.id = due.id RETURNING a.id";
+
+    /**
+     * Marks up to {@code limit} active appointments starting in [start, end] as reminded,
+     * and returns their ids. Only businesses of {@code partition} (out of
+     * {@code partitions}) are considered; 0 of 1 covers every business. Each row is
+     * claimed once: claimed rows no longer match, and rows being claimed by another
+     * instance are skipped rather than waited for. Commits on return, before the
+     * reminders are sent.
+     */
+    @Transactional
+    @Query(value = CLAIM_REMINDERS, nativeQuery = true)
+    List<UUID> claimReminders(
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end,
+        @Param("now") LocalDateTime now,
+        @Param("partition") int partition,
+        @Param("partitions") int partitions,
+        @Param("limit") int limit
+    );
+
+    /**
+     * Marks one appointment as reminded if it is still active, not reminded yet and
+     * starts in [start, end]; returns 0 when another instance claimed it first or it was
+     * cancelled or moved meanwhile.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Appointment a SET a.reminderSentAt = :now WHERE a.id = :id AND a.reminderSentAt IS NULL " +
+           "AND a.status IN :statuses AND a.appointmentDatetime BETWEEN :start AND :end")
+    int claimReminder(
+        @Param("id") UUID id,
+        @Param("now") LocalDateTime now,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end,
+        @Param("statuses") Collection<AppointmentStatus> statuses
+    );
+
+    String FIND_REMINDERS_DUE = "SELECT id, appointment_datetime AS appointmentDatetime FROM appointments " +
+                                "WHERE status IN ('PENDING', 'CONFIRMED') AND reminder_sent_at IS NULL " +
+                                "AND appointment_datetime BETWEEN :start AND :end " +
+                                "AND mod(hashtext(business_id::text) & 2147483647, :partitions) = :partition";
+
+    // Start time of an appointment still to be reminded
+    interface ReminderDue {
+        UUID getId();
+
+        LocalDateTime getAppointmentDatetime();
+    }
+
+    // Appointments of one business partition still to be reminded, same partitioning as CLAIM_REMINDERS
+    @Query(value = FIND_REMINDERS_DUE, nativeQuery = true)
+    List<ReminderDue> findRemindersDue(
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end,
+        @Param("partition") int partition,
+        @Param("partitions") int partitions
+    );
+
+    // Gives a reminder back to the next run when it could not be handed to the email service
+    @Transactional
+    @Modifying
+    @Query("UPDATE Appointment a SET a.reminderSentAt = NULL WHERE a.id = :id")
+    int releaseReminderClaim(@Param("id") UUID id);
+
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.business JOIN FETCH a.service JOIN FETCH a.customer " +
+           "WHERE a.id IN :ids ORDER BY a.appointmentDatetime, a.id")
+    List<Appointment> findAllWithDetailsByIdIn(@Param("ids") Collection<UUID> ids);
+
     @Query("SELECT a FROM Appointment a WHERE a.business.id = :businessId " +
            "AND a.appointmentDatetime >= :start " +
            "AND a.appointmentDatetime <= :end")
@@ -41,17 +129,6 @@ public interface AppointmentRepository extends JpaRepository<Appointment, UUID>
         LocalDateTime end
     );
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT a FROM Appointment a WHERE a.business.id = :businessId " +
-           "AND a.status IN ('PENDING', 'CONFIRMED') " +
-           "AND a.appointmentDatetime >= :start " +
-           "AND a.appointmentDatetime < :end")
-    List<Appointment> findActiveAppointmentsForLocking(
-        @Param("businessId") UUID businessId,
-        @Param("start") LocalDateTime start,
-        @Param("end") LocalDateTime end
-    );
-
     List<Appointment> findByCustomerId(UUID customerId);
 
     @Query("SELECT COUNT(a) FROM Appointment a WHERE a.business.id = :businessId " +
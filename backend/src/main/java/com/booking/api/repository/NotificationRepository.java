@@ -2,8 +2,14 @@ package com.booking.api.repository;
 
 import com.booking.api.model.Notification;
 import com.booking.api.model.Notification.NotificationStatus;
+import com.booking.api.model.Notification.NotificationType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
@@ -16,4 +22,29 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     List<Notification> findByStatus(NotificationStatus status);
 
     List<Notification> findByStatusOrderByCreatedAtAsc(NotificationStatus status);
+
+    /**
+     * Oldest notifications of a type and status, with the appointment and everything
+     * the email templates read fetched in the same query.
+     */
+    @Query("SELECT n FROM Notification n " +
+           "JOIN FETCH n.appointment a " +
+           "JOIN FETCH a.business " +
+           "JOIN FETCH a.service " +
+           "JOIN FETCH a.customer " +
+           "WHERE n.type = :type AND n.status = :status " +
+           "ORDER BY n.createdAt ASC")
+    List<Notification> findWithAppointmentByTypeAndStatus(
+            @Param("type") NotificationType type,
+            @Param("status") NotificationStatus status,
+            Pageable pageable);
+
+    /**
+     * Deletes a notification if it still has the given status; returns 0 when another
+     * instance deleted or changed it first.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id = :id AND n.status = :status")
+    int deleteByIdAndStatus(@Param("id") UUID id, @Param("status") NotificationStatus status);
 }
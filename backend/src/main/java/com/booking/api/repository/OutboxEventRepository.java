@@ -0,0 +1,30 @@
+package com.booking.api.repository;
+
+import com.booking.api.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    String LOCK_NEXT_BATCH = "SELECT * FROM outbox_events WHERE status = 'PENDING' AND available_at <= :now " +
+                             "ORDER BY available_at LIMIT :limit FOR UPDATE SKIP LOCKED";
+
+    /**
+     * Locks the next due events; rows locked by another dispatcher are skipped rather
+     * than waited for, so instances share the backlog. Must run in a transaction.
+     */
+    @Query(value = LOCK_NEXT_BATCH, nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = 'PROCESSED' AND e.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
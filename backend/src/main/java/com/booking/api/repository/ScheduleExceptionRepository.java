@@ -24,4 +24,9 @@ public interface ScheduleExceptionRepository extends JpaRepository<ScheduleExcep
     );
 
     boolean existsByBusinessIdAndExceptionDate(UUID businessId, LocalDate exceptionDate);
+
+    List<ScheduleException> findByBusinessIdAndExceptionDateGreaterThanEqual(
+        UUID businessId,
+        LocalDate fromDate
+    );
 }
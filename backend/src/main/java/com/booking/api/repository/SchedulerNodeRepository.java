@@ -0,0 +1,25 @@
+package com.booking.api.repository;
+
+import com.booking.api.model.SchedulerNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SchedulerNodeRepository extends JpaRepository<SchedulerNode, String> {
+
+    // Ordered, so that every instance derives the same partition index for each node
+    @Query("SELECT n.nodeId FROM SchedulerNode n WHERE n.heartbeatAt >= :cutoff ORDER BY n.nodeId")
+    List<String> findLiveNodeIds(@Param("cutoff") LocalDateTime cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SchedulerNode n WHERE n.heartbeatAt < :cutoff")
+    int deleteHeartbeatBefore(@Param("cutoff") LocalDateTime cutoff);
+}
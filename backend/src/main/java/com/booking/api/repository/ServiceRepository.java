@@ -2,8 +2,11 @@ package com.booking.api.repository;
 
 import com.booking.api.model.Service;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,6 +16,20 @@ public interface ServiceRepository extends JpaRepository<Service, UUID> {
 
     Optional<Service> findByIdAndBusinessId(UUID id, UUID businessId);
 
+    @Query("SELECT s FROM Service s JOIN FETCH s.business b " +
+           "WHERE s.id = :id AND b.id = :businessId")
+    Optional<Service> findByIdAndBusinessIdWithBusiness(
+        @Param("id") UUID id,
+        @Param("businessId") UUID businessId
+    );
+
+    @Query("SELECT s FROM Service s JOIN FETCH s.business b " +
+           "WHERE s.id IN :ids AND b.id = :businessId")
+    List<Service> findByIdInAndBusinessIdWithBusiness(
+        @Param("ids") Collection<UUID> ids,
+        @Param("businessId") UUID businessId
+    );
+
     List<Service> findByBusinessIdAndIsActiveTrue(UUID businessId);
 
     List<Service> findByBusinessIdOrderByDisplayOrderAsc(UUID businessId);
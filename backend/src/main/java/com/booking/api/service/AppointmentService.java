@@ -1,25 +1,43 @@
 package com.booking.api.service;
 
+import com.booking.api.cache.BusinessDirectory;
+import com.booking.api.cache.BusinessSnapshot;
 import com.booking.api.dto.request.AppointmentRequest;
+import com.booking.api.dto.request.BatchAppointmentRequest;
 import com.booking.api.dto.response.AppointmentResponse;
+import com.booking.api.event.AppointmentChangedEvent;
+import com.booking.api.event.AvailabilityChangedEvent;
+import com.booking.api.exception.AppointmentOverlap;
 import com.booking.api.exception.BadRequestException;
 import com.booking.api.exception.ConflictException;
 import com.booking.api.exception.NotFoundException;
+import com.booking.api.hold.SlotHold;
 import com.booking.api.model.Appointment;
 import com.booking.api.model.Business;
 import com.booking.api.model.Customer;
+import com.booking.api.model.OutboxEvent;
 import com.booking.api.repository.AppointmentRepository;
-import com.booking.api.repository.BusinessRepository;
+import com.booking.api.repository.OutboxEventRepository;
 import com.booking.api.repository.ServiceRepository;
+import com.booking.api.trace.Traced;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,24 +46,46 @@ import java.util.stream.Collectors;
 public class AppointmentService {
 
     private final AppointmentRepository appointmentRepository;
-    private final BusinessRepository businessRepository;
+    private final BusinessDirectory businessDirectory;
     private final ServiceRepository serviceRepository;
     private final CustomerService customerService;
-    private final EmailService emailService;
+    private final OutboxEventRepository outboxEventRepository;
+    private final SlotHoldService slotHoldService;
+    private final IdempotencyService idempotencyService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new appointment (public booking)
-     * Uses pessimistic locking to prevent double-booking
+     * Inserted optimistically: double-booking is rejected by the appointments_no_overlap
+     * exclusion constraint, reported as a {@link ConflictException}. A slot held by
+     * another customer is rejected up front; the caller's own hold is consumed.
+     * With an {@code idempotencyKey}, a retry of an already stored booking replays its
+     * response without touching the appointments or sending a second email.
+     * The confirmation email and customer stats are handled by the {@link OutboxDispatcher}
+     * once the booking has committed.
      */
+    @Traced("booking.create")
+    @Timed("booking.create")
     @Transactional
-    public AppointmentResponse createAppointment(String businessSlug, AppointmentRequest request) {        // Get business
-        Business business = businessRepository.findBySlug(businessSlug)
+    public AppointmentResponse createAppointment(String businessSlug, AppointmentRequest request,
+                                                 String idempotencyKey) {
+        // Get business
+        BusinessSnapshot snapshot = businessDirectory.findBySlug(businessSlug)
                 .orElseThrow(() -> new NotFoundException("Business not found"));
 
-        // Get service
+        // Retry of a booking that was already stored
+        if (idempotencyKey != null) {
+            Optional<AppointmentResponse> replay = idempotencyService.findReplay(snapshot.id(), idempotencyKey, request);
+            if (replay.isPresent()) {
+                return replay.get();
+            }
+        }
+
+        // Get service, with the business entity needed by the appointment and the confirmation email
         com.booking.api.model.Service service = serviceRepository
-                .findByIdAndBusinessId(request.getServiceId(), business.getId())
+                .findByIdAndBusinessIdWithBusiness(request.getServiceId(), snapshot.id())
                 .orElseThrow(() -> new NotFoundException("Service not found"));
+        Business business = service.getBusiness();
 
         if (!service.getIsActive()) {
             throw new RuntimeException("Service is not active");
@@ -56,30 +96,13 @@ public class AppointmentService {
             throw new RuntimeException("Cannot book appointment in the past");
         }
 
-        // Calculate appointment end time
         LocalDateTime appointmentStart = request.getAppointmentDatetime();
-        LocalDateTime appointmentEnd = appointmentStart.plusMinutes(service.getDurationMinutes());
-
-        // Check for conflicts using pessimistic locking
-        // This ensures no concurrent booking can create a conflict
-        List<Appointment> existingAppointments = appointmentRepository
-                .findActiveAppointmentsForLocking(
-                        business.getId(),
-                        appointmentStart.minusMinutes(service.getDurationMinutes()),
-                        appointmentEnd
-                );
-
-        // Check for any overlap with existing appointments
-        for (Appointment existing : existingAppointments) {
-            LocalDateTime existingStart = existing.getAppointmentDatetime();
-            LocalDateTime existingEnd = existingStart.plusMinutes(existing.getDurationMinutes());
-
-            // Check for overlap: start1 < end2 AND start2 < end1
-            if (appointmentStart.isBefore(existingEnd) &&
-                    existingStart.isBefore(appointmentEnd)) {
-                throw new ConflictException("This time slot is no longer available");
-            }
-        }
+        LocalDate appointmentDay = appointmentStart.toLocalDate();
+
+        // Slot holds taken through POST /api/booking/{slug}/hold
+        Optional<SlotHold> hold = slotHoldService.claim(
+                business.getId(), service.getId(), appointmentStart,
+                service.getDurationMinutes(), request.getHoldToken());
 
         // Find or create customer
         Customer customer = customerService.findOrCreateCustomer(business, request.getCustomer());
@@ -100,16 +123,126 @@ public class AppointmentService {
                 .cancellationToken(cancellationToken)
                 .build();
 
-        appointment = appointmentRepository.save(appointment);
+        try {
+            appointment = appointmentRepository.saveAndFlush(appointment);
+        } catch (DataIntegrityViolationException e) {
+            if (AppointmentOverlap.isCause(e)) {
+                // A concurrent retry with the same key may have booked this slot first
+                if (idempotencyKey != null) {
+                    Optional<AppointmentResponse> replay =
+                            idempotencyService.findCommittedReplay(snapshot.id(), idempotencyKey, request);
+                    if (replay.isPresent()) {
+                        return replay.get();
+                    }
+                }
+                throw new ConflictException("This time slot is no longer available");
+            }
+            throw e;
+        }
+        hold.ifPresent(slotHoldService::consume);
+        eventPublisher.publishEvent(AvailabilityChangedEvent.forDate(business.getId(), appointmentDay));
+        eventPublisher.publishEvent(AppointmentChangedEvent.of(appointment));
 
-        // Update customer stats
-        customer.setTotalAppointments(customer.getTotalAppointments() + 1);
-        customer.setLastAppointmentAt(LocalDateTime.now());
+        AppointmentResponse response = toAppointmentResponse(appointment);
+        if (idempotencyKey != null) {
+            idempotencyService.record(snapshot.id(), idempotencyKey, request, response);
+        }
 
-        // Send confirmation email
-        emailService.sendBookingConfirmation(appointment);
+        // Confirmation email and customer stats, dispatched after commit
+        outboxEventRepository.save(OutboxEvent.of(OutboxEvent.EventType.BOOKING_CREATED, appointment.getId()));
 
-        return toAppointmentResponse(appointment);
+        return response;
+    }
+
+    /**
+     * Create the appointments of a multi-service visit (public booking)
+     * The services are booked back to back from the requested start, in request order.
+     * The business, services and customer are resolved once, the whole visit is checked
+     * against holds in one pass and all appointments are inserted in one JDBC batch, so
+     * the visit is booked entirely or not at all. The caller's own hold on the first
+     * service is consumed. One combined confirmation email is sent
+     * through the {@link OutboxDispatcher} for the booking group.
+     */
+    @Traced("booking.create-batch")
+    @Timed("booking.create-batch")
+    @Transactional
+    public List<AppointmentResponse> createAppointments(String businessSlug, BatchAppointmentRequest request) {
+        BusinessSnapshot snapshot = businessDirectory.findBySlug(businessSlug)
+                .orElseThrow(() -> new NotFoundException("Business not found"));
+
+        // All services of the visit in one query, with the business entity
+        Map<UUID, com.booking.api.model.Service> services = serviceRepository
+                .findByIdInAndBusinessIdWithBusiness(new HashSet<>(request.getServiceIds()), snapshot.id())
+                .stream()
+                .collect(Collectors.toMap(com.booking.api.model.Service::getId, Function.identity()));
+
+        List<com.booking.api.model.Service> visit = new ArrayList<>(request.getServiceIds().size());
+        for (UUID serviceId : request.getServiceIds()) {
+            com.booking.api.model.Service service = services.get(serviceId);
+            if (service == null) {
+                throw new NotFoundException("Service not found");
+            }
+            if (!service.getIsActive()) {
+                throw new RuntimeException("Service is not active");
+            }
+            visit.add(service);
+        }
+        Business business = visit.get(0).getBusiness();
+
+        // Validate appointment datetime is in the future
+        if (request.getAppointmentDatetime().isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("Cannot book appointment in the past");
+        }
+
+        // One hold check over the whole visit
+        LocalDateTime visitStart = request.getAppointmentDatetime();
+        int visitDuration = visit.stream().mapToInt(com.booking.api.model.Service::getDurationMinutes).sum();
+        Optional<SlotHold> hold = slotHoldService.claim(
+                business.getId(), visit.get(0).getId(), visitStart, visitDuration, request.getHoldToken());
+
+        Customer customer = customerService.findOrCreateCustomer(business, request.getCustomer());
+
+        UUID bookingGroupId = UUID.randomUUID();
+        List<Appointment> appointments = new ArrayList<>(visit.size());
+        LocalDateTime start = visitStart;
+        for (com.booking.api.model.Service service : visit) {
+            appointments.add(Appointment.builder()
+                    .business(business)
+                    .service(service)
+                    .customer(customer)
+                    .appointmentDatetime(start)
+                    .durationMinutes(service.getDurationMinutes())
+                    .price(service.getPrice())
+                    .status(Appointment.AppointmentStatus.PENDING)
+                    .notes(request.getNotes())
+                    .cancellationToken(UUID.randomUUID().toString())
+                    .bookingGroupId(bookingGroupId)
+                    .build());
+            start = start.plusMinutes(service.getDurationMinutes());
+        }
+
+        try {
+            appointments = appointmentRepository.saveAllAndFlush(appointments);
+        } catch (DataIntegrityViolationException e) {
+            if (AppointmentOverlap.isCause(e)) {
+                throw new ConflictException("This time slot is no longer available");
+            }
+            throw e;
+        }
+        hold.ifPresent(slotHoldService::consume);
+
+        appointments.stream()
+                .map(appointment -> appointment.getAppointmentDatetime().toLocalDate())
+                .distinct()
+                .forEach(day -> eventPublisher.publishEvent(AvailabilityChangedEvent.forDate(business.getId(), day)));
+        appointments.forEach(appointment -> eventPublisher.publishEvent(AppointmentChangedEvent.of(appointment)));
+
+        // Combined confirmation email and customer stats, dispatched after commit
+        outboxEventRepository.save(OutboxEvent.of(OutboxEvent.EventType.BOOKING_GROUP_CREATED, bookingGroupId));
+
+        return appointments.stream()
+                .map(this::toAppointmentResponse)
+                .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
@@ -135,10 +268,14 @@ public class AppointmentService {
 
         appointment.setStatus(newStatus);
         appointment = appointmentRepository.save(appointment);
+        publishAvailabilityChanged(appointment);
+        eventPublisher.publishEvent(AppointmentChangedEvent.of(appointment));
 
         return toAppointmentResponse(appointment);
     }
 
+    @Traced("booking.cancel")
+    @Timed("booking.cancel")
     @Transactional
     public void cancelAppointment(String cancellationToken) {
         Appointment appointment = appointmentRepository.findByCancellationToken(cancellationToken)
@@ -159,9 +296,11 @@ public class AppointmentService {
 
         appointment.setStatus(Appointment.AppointmentStatus.CANCELLED);
         appointmentRepository.save(appointment);
+        publishAvailabilityChanged(appointment);
+        eventPublisher.publishEvent(AppointmentChangedEvent.of(appointment));
 
-        // Send cancellation email
-        emailService.sendCancellationEmail(appointment);
+        // Cancellation email, dispatched after commit
+        outboxEventRepository.save(OutboxEvent.of(OutboxEvent.EventType.APPOINTMENT_CANCELLED, appointment.getId()));
     }
 
     @Transactional(readOnly = true)
@@ -171,6 +310,12 @@ public class AppointmentService {
         return toAppointmentResponse(appointment);
     }
 
+    private void publishAvailabilityChanged(Appointment appointment) {
+        eventPublisher.publishEvent(AvailabilityChangedEvent.forDate(
+                appointment.getBusiness().getId(),
+                appointment.getAppointmentDatetime().toLocalDate()));
+    }
+
     private AppointmentResponse toAppointmentResponse(Appointment appointment) {
         AppointmentResponse.ServiceInfo serviceInfo = AppointmentResponse.ServiceInfo.builder()
                 .id(appointment.getService().getId())
@@ -3,6 +3,7 @@ package com.booking.api.service;
 import com.booking.api.dto.request.LoginRequest;
 import com.booking.api.dto.request.RegisterRequest;
 import com.booking.api.dto.response.AuthResponse;
+import com.booking.api.event.BusinessChangedEvent;
 import com.booking.api.model.Business;
 import com.booking.api.model.Subscription;
 import com.booking.api.model.User;
@@ -11,6 +12,7 @@ import com.booking.api.repository.SubscriptionRepository;
 import com.booking.api.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -36,6 +38,7 @@ public class AuthService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final CustomUserDetailsService userDetailsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final Pattern NONLATIN = Pattern.compile("[^\\w-]");
     private static final Pattern WHITESPACE = Pattern.compile("[\\s]");
@@ -78,6 +81,7 @@ public class AuthService {
                 .build();
 
         business = businessRepository.save(business);
+        eventPublisher.publishEvent(new BusinessChangedEvent(business.getId(), business.getSlug()));
         log.info("Business created with ID: {} and slug: {}", business.getId(), business.getSlug());
 
         // Créer la subscription FREE par défaut
@@ -177,7 +181,7 @@ public class AuthService {
      * Génère un slug SEO-friendly à partir du nom du business
      * Exemple: "Coiffeur Marie" -> "coiffeur-marie"
      */
-    private String generateSlug(String input) {
+    static String generateSlug(String input) {
         String nowhitespace = WHITESPACE.matcher(input).replaceAll("-");
         String normalized = Normalizer.normalize(nowhitespace, Normalizer.Form.NFD);
         String slug = NONLATIN.matcher(normalized).replaceAll("");
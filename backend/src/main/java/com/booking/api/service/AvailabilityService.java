@@ -1,50 +1,90 @@
 package com.booking.api.service;
 
+import com.booking.api.cache.AvailabilityCache;
+import com.booking.api.cache.BusinessDirectory;
+import com.booking.api.cache.BusinessSnapshot;
+import com.booking.api.cache.WeeklyTemplateCache;
 import com.booking.api.dto.response.AvailabilityResponse;
+import com.booking.api.dto.response.NextSlotResponse;
+import com.booking.api.exception.BadRequestException;
+import com.booking.api.hold.SlotHold;
+import com.booking.api.hold.SlotHoldStore;
+import com.booking.api.metrics.BookingMetrics;
 import com.booking.api.model.Appointment;
-import com.booking.api.model.Business;
 import com.booking.api.model.Schedule;
 import com.booking.api.repository.AppointmentRepository;
-import com.booking.api.repository.BusinessRepository;
-import com.booking.api.repository.ScheduleExceptionRepository;
-import com.booking.api.repository.ScheduleRepository;
 import com.booking.api.repository.ServiceRepository;
+import com.booking.api.trace.Traced;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AvailabilityService {
 
-    private final BusinessRepository businessRepository;
+    /**
+     * Upper bound on the number of days a single calendar request may cover
+     */
+    static final int MAX_CALENDAR_DAYS = 62;
+
+    /**
+     * Upper bound on the number of slots a single next-available request may return
+     */
+    static final int MAX_NEXT_SLOTS = 50;
+
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+
+    private final BusinessDirectory businessDirectory;
     private final ServiceRepository serviceRepository;
-    private final ScheduleRepository scheduleRepository;
-    private final ScheduleExceptionRepository scheduleExceptionRepository;
     private final AppointmentRepository appointmentRepository;
+    private final AvailabilityCache availabilityCache;
+    private final WeeklyTemplateCache weeklyTemplateCache;
+    private final SlotHoldStore slotHoldStore;
+    private final BookingMetrics bookingMetrics;
 
+    @Value("${app.availability.next-slots.horizon-days:90}")
+    private int nextSlotsHorizonDays;
+
+    @Traced("availability.day")
+    @Timed(value = "availability.requests", extraTags = {"endpoint", "day"})
     @Transactional(readOnly = true)
     public AvailabilityResponse getAvailability(String businessSlug, UUID serviceId, LocalDate date) {
-        log.info("Getting availability for business: {}, service: {}, date: {}",
-                businessSlug, serviceId, date);
-
         // Get business
-        Business business = businessRepository.findBySlug(businessSlug)
+        BusinessSnapshot business = businessDirectory.findBySlug(businessSlug)
                 .orElseThrow(() -> new RuntimeException("Business not found"));
 
+        // Today's slots expire minute by minute and past days are trivial, only cache future days
+        AvailabilityResponse availability = date.isAfter(LocalDate.now())
+                ? availabilityCache.get(business.id(), serviceId, date,
+                        () -> computeAvailability(business, serviceId, date))
+                : computeAvailability(business, serviceId, date);
+        availability = applyHolds(slotHoldStore.findActive(business.id()), availability);
+
+        recordSlots("day", availability.getAvailableSlots());
+        return availability;
+    }
+
+    private AvailabilityResponse computeAvailability(BusinessSnapshot business, UUID serviceId, LocalDate date) {
         // Get service
         com.booking.api.model.Service service = serviceRepository
-                .findByIdAndBusinessId(serviceId, business.getId())
+                .findByIdAndBusinessId(serviceId, business.id())
                 .orElseThrow(() -> new RuntimeException("Service not found"));
 
         if (!service.getIsActive()) {
@@ -59,130 +99,297 @@ public class AvailabilityService {
                     .build();
         }
 
-        // Check for schedule exception (closed day)
-        if (scheduleExceptionRepository.existsByBusinessIdAndExceptionDate(business.getId(), date)) {
-            log.info("Business is closed on {} due to exception", date);
+        // Opening hours for that date, schedule exceptions included
+        WeeklyTemplate template = weeklyTemplateCache.get(business.id());
+        if (!template.isOpen(date)) {
+            log.debug("{} is closed on {}", business.name(), date);
             return AvailabilityResponse.builder()
                     .date(date)
                     .availableSlots(new ArrayList<>())
                     .build();
         }
 
-        // Get schedule for the day of week
-        DayOfWeek dayOfWeek = date.getDayOfWeek();
-        log.info("Looking for schedule on {} for business {}", dayOfWeek, business.getId());
+        return computeOpenDay(business, template, service, date);
+    }
 
-        Schedule schedule = scheduleRepository
-                .findByBusinessIdAndDayOfWeek(business.getId(), dayOfWeek)
-                .orElse(null);
+    /**
+     * Availability for every day between {@code from} and {@code to} (inclusive).
+     * Opening hours come from the cached weekly template, appointments are loaded
+     * once for the whole window and each day is computed in memory.
+     */
+    @Traced("availability.calendar")
+    @Timed(value = "availability.requests", extraTags = {"endpoint", "calendar"})
+    @Transactional(readOnly = true)
+    public List<AvailabilityResponse> getAvailabilityCalendar(
+            String businessSlug, UUID serviceId, LocalDate from, LocalDate to) {
 
-        if (schedule == null || !schedule.getIsActive()) {
-            log.warn("No active schedule found for {} on {} (schedule: {}, isActive: {})",
-                    business.getBusinessName(), dayOfWeek,
-                    schedule != null ? schedule.getId() : "null",
-                    schedule != null ? schedule.getIsActive() : "N/A");
-            return AvailabilityResponse.builder()
-                    .date(date)
-                    .availableSlots(new ArrayList<>())
-                    .build();
+        if (to.isBefore(from)) {
+            throw new BadRequestException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_CALENDAR_DAYS) {
+            throw new BadRequestException(
+                    "Calendar range cannot exceed " + MAX_CALENDAR_DAYS + " days");
         }
 
-        log.info("Found schedule: {} - {} to {} (slot duration: {}min)",
-                schedule.getId(), schedule.getStartTime(), schedule.getEndTime(),
-                schedule.getSlotDurationMinutes());
+        BusinessSnapshot business = businessDirectory.findBySlug(businessSlug)
+                .orElseThrow(() -> new RuntimeException("Business not found"));
 
-        // Generate time slots
-        List<AvailabilityResponse.TimeSlot> slots = generateTimeSlots(
-                schedule, service, date, business.getId());
+        com.booking.api.model.Service service = serviceRepository
+                .findByIdAndBusinessId(serviceId, business.id())
+                .orElseThrow(() -> new RuntimeException("Service not found"));
 
-        long availableCount = slots.stream().filter(AvailabilityResponse.TimeSlot::isAvailable).count();
-        log.info("Generated {} total slots, {} available for date {}",
-                slots.size(), availableCount, date);
+        if (!service.getIsActive()) {
+            throw new RuntimeException("Service is not active");
+        }
 
-        return AvailabilityResponse.builder()
-                .date(date)
-                .availableSlots(slots)
-                .build();
+        // Past days never have slots, only load data for the remaining window
+        LocalDate today = LocalDate.now();
+        LocalDate windowStart = from.isBefore(today) ? today : from;
+
+        WeeklyTemplate template = null;
+        Map<LocalDate, List<Appointment>> appointmentsByDate = new HashMap<>();
+        List<SlotHold> holds = Collections.emptyList();
+
+        if (!windowStart.isAfter(to)) {
+            template = weeklyTemplateCache.get(business.id());
+            holds = slotHoldStore.findActive(business.id());
+
+            appointmentsByDate = appointmentRepository
+                    .findByBusinessIdAndDateRange(
+                            business.id(),
+                            LocalDateTime.of(windowStart, LocalTime.MIN),
+                            LocalDateTime.of(to, LocalTime.MAX))
+                    .stream()
+                    .collect(Collectors.groupingBy(a -> a.getAppointmentDatetime().toLocalDate()));
+        }
+
+        List<AvailabilityResponse> days = new ArrayList<>();
+        List<AvailabilityResponse.TimeSlot> allSlots = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            List<AvailabilityResponse.TimeSlot> slots;
+            if (date.isBefore(today) || !template.isOpen(date)) {
+                slots = new ArrayList<>();
+            } else {
+                slots = generateTimeSlots(template, service, date,
+                        appointmentsByDate.getOrDefault(date, Collections.emptyList()));
+            }
+            AvailabilityResponse day = applyHolds(holds, AvailabilityResponse.builder()
+                    .date(date)
+                    .availableSlots(slots)
+                    .build());
+            allSlots.addAll(day.getAvailableSlots());
+            days.add(day);
+        }
+
+        recordSlots("calendar", allSlots);
+        log.debug("Computed availability calendar for business {} from {} to {}",
+                business.id(), from, to);
+
+        return days;
     }
 
-    private List<AvailabilityResponse.TimeSlot> generateTimeSlots(
-            Schedule schedule,
-            com.booking.api.model.Service service,
-            LocalDate date,
-            UUID businessId) {
+    /**
+     * First {@code limit} free slots starting at or after {@code after} (now when null).
+     * Days are scanned forward one at a time: closed days are skipped from the weekly
+     * template without touching the database, open future days go through the
+     * availability cache, and the scan stops as soon as enough slots are found or the
+     * configured horizon is reached.
+     */
+    @Traced("availability.next")
+    @Timed(value = "availability.requests", extraTags = {"endpoint", "next"})
+    @Transactional(readOnly = true)
+    public List<NextSlotResponse> findNextAvailableSlots(
+            String businessSlug, UUID serviceId, LocalDateTime after, int limit) {
 
-        List<AvailabilityResponse.TimeSlot> slots = new ArrayList<>();
+        if (limit < 1 || limit > MAX_NEXT_SLOTS) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_NEXT_SLOTS);
+        }
 
-        LocalTime currentTime = schedule.getStartTime();
-        LocalTime endTime = schedule.getEndTime();
-        int serviceDuration = service.getDurationMinutes();
-        int slotDuration = schedule.getSlotDurationMinutes() != null
-                ? schedule.getSlotDurationMinutes()
-                : 30;
+        BusinessSnapshot business = businessDirectory.findBySlug(businessSlug)
+                .orElseThrow(() -> new RuntimeException("Business not found"));
 
-        // Get existing appointments for this date
-        LocalDateTime dayStart = LocalDateTime.of(date, LocalTime.MIN);
-        LocalDateTime dayEnd = LocalDateTime.of(date, LocalTime.MAX);
+        com.booking.api.model.Service service = serviceRepository
+                .findByIdAndBusinessId(serviceId, business.id())
+                .orElseThrow(() -> new RuntimeException("Service not found"));
 
-        List<Appointment> existingAppointments = appointmentRepository
-                .findByBusinessIdAndDateRange(businessId, dayStart, dayEnd);
+        if (!service.getIsActive()) {
+            throw new RuntimeException("Service is not active");
+        }
 
-        // Generate slots
-        while (currentTime.plusMinutes(serviceDuration).isBefore(endTime) ||
-                currentTime.plusMinutes(serviceDuration).equals(endTime)) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = after == null || after.isBefore(now) ? now : after;
+        LocalDate today = now.toLocalDate();
+        LocalDate horizon = today.plusDays(nextSlotsHorizonDays);
 
-            LocalTime slotStart = currentTime;
-            LocalTime slotEnd = currentTime.plusMinutes(serviceDuration);
+        WeeklyTemplate template = weeklyTemplateCache.get(business.id());
+        List<SlotHold> holds = slotHoldStore.findActive(business.id());
+        List<NextSlotResponse> found = new ArrayList<>(limit);
+        int daysScanned = 0;
 
-            // Check if slot is in the past
-            boolean isPast = false;
-            if (date.equals(LocalDate.now())) {
-                isPast = slotStart.isBefore(LocalTime.now());
+        for (LocalDate date = start.toLocalDate(); !date.isAfter(horizon) && found.size() < limit;
+             date = date.plusDays(1)) {
+            if (!template.isOpen(date)) {
+                continue;
+            }
+            daysScanned++;
+
+            LocalDate day = date;
+            AvailabilityResponse availability = day.isAfter(today)
+                    ? availabilityCache.get(business.id(), serviceId, day,
+                            () -> computeOpenDay(business, template, service, day))
+                    : computeOpenDay(business, template, service, day);
+            availability = applyHolds(holds, availability);
+
+            for (AvailabilityResponse.TimeSlot slot : availability.getAvailableSlots()) {
+                if (!slot.isAvailable() || LocalDateTime.of(day, slot.getStartTime()).isBefore(start)) {
+                    continue;
+                }
+                found.add(NextSlotResponse.builder()
+                        .date(day)
+                        .startTime(slot.getStartTime())
+                        .endTime(slot.getEndTime())
+                        .build());
+                if (found.size() == limit) {
+                    break;
+                }
             }
+        }
 
-            // Check if slot conflicts with existing appointments
-            boolean isAvailable = !isPast && isSlotAvailable(
-                    slotStart, slotEnd, date, existingAppointments);
+        bookingMetrics.recordSlots("next", found.size(), found.size());
+        bookingMetrics.recordDaysScanned(daysScanned);
+        log.debug("Found {} next slots for business {} after scanning {} open days",
+                found.size(), business.id(), daysScanned);
 
-            slots.add(AvailabilityResponse.TimeSlot.builder()
-                    .startTime(slotStart)
-                    .endTime(slotEnd)
-                    .available(isAvailable)
-                    .build());
+        return found;
+    }
 
-            currentTime = currentTime.plusMinutes(slotDuration);
+    private void recordSlots(String endpoint, List<AvailabilityResponse.TimeSlot> slots) {
+        int available = 0;
+        for (AvailabilityResponse.TimeSlot slot : slots) {
+            if (slot.isAvailable()) {
+                available++;
+            }
         }
+        bookingMetrics.recordSlots(endpoint, slots.size(), available);
+    }
 
-        return slots;
+    /**
+     * Marks slots overlapping a live hold as unavailable. Holds are short-lived, so they
+     * are overlaid on every read rather than invalidating the cache; the (possibly
+     * cached) {@code availability} is left untouched and a copy is returned.
+     */
+    private static AvailabilityResponse applyHolds(List<SlotHold> holds, AvailabilityResponse availability) {
+        LocalDate date = availability.getDate();
+        List<SlotHold> dayHolds = holds.stream()
+                .filter(hold -> hold.date().equals(date))
+                .toList();
+        if (dayHolds.isEmpty()) {
+            return availability;
+        }
+
+        List<AvailabilityResponse.TimeSlot> slots = new ArrayList<>(availability.getAvailableSlots().size());
+        for (AvailabilityResponse.TimeSlot slot : availability.getAvailableSlots()) {
+            int start = DayOccupancy.minuteOfDay(slot.getStartTime());
+            int end = DayOccupancy.minuteOfDay(slot.getEndTime());
+            boolean held = slot.isAvailable()
+                    && dayHolds.stream().anyMatch(hold -> hold.overlaps(date, start, end));
+            slots.add(held
+                    ? AvailabilityResponse.TimeSlot.builder()
+                            .startTime(slot.getStartTime())
+                            .endTime(slot.getEndTime())
+                            .available(false)
+                            .build()
+                    : slot);
+        }
+
+        return AvailabilityResponse.builder()
+                .date(date)
+                .availableSlots(slots)
+                .build();
+    }
+
+    /**
+     * Loads the day's appointments and builds its slots, {@code date} must be open.
+     */
+    private AvailabilityResponse computeOpenDay(BusinessSnapshot business, WeeklyTemplate template,
+                                                com.booking.api.model.Service service, LocalDate date) {
+        List<Appointment> existingAppointments = appointmentRepository.findByBusinessIdAndDateRange(
+                business.id(),
+                LocalDateTime.of(date, LocalTime.MIN),
+                LocalDateTime.of(date, LocalTime.MAX));
+
+        return AvailabilityResponse.builder()
+                .date(date)
+                .availableSlots(generateTimeSlots(template, service, date, existingAppointments))
+                .build();
     }
 
-    private boolean isSlotAvailable(
-            LocalTime slotStart,
-            LocalTime slotEnd,
+    /**
+     * Builds the slot list for one open day of {@code template}.
+     */
+    static List<AvailabilityResponse.TimeSlot> generateTimeSlots(
+            WeeklyTemplate template,
+            com.booking.api.model.Service service,
             LocalDate date,
             List<Appointment> existingAppointments) {
+        return generateTimeSlots(
+                template.openMinute(date),
+                template.closeMinute(date),
+                template.slotDurationMinutes(date),
+                service, date, existingAppointments);
+    }
 
-        LocalDateTime requestedStart = LocalDateTime.of(date, slotStart);
-        LocalDateTime requestedEnd = LocalDateTime.of(date, slotEnd);
+    static List<AvailabilityResponse.TimeSlot> generateTimeSlots(
+            Schedule schedule,
+            com.booking.api.model.Service service,
+            LocalDate date,
+            List<Appointment> existingAppointments) {
+        return generateTimeSlots(
+                DayOccupancy.minuteOfDay(schedule.getStartTime()),
+                DayOccupancy.minuteOfDay(schedule.getEndTime()),
+                schedule.getSlotDurationMinutes() != null
+                        ? schedule.getSlotDurationMinutes()
+                        : WeeklyTemplate.DEFAULT_SLOT_DURATION_MINUTES,
+                service, date, existingAppointments);
+    }
 
-        for (Appointment appointment : existingAppointments) {
-            // Skip cancelled appointments
-            if (appointment.getStatus() == Appointment.AppointmentStatus.CANCELLED) {
-                continue;
-            }
+    /**
+     * Builds the slot list for one day. Opening hours, appointments and (today) the
+     * elapsed part of the day are folded into a {@link DayOccupancy} once, then each
+     * slot is a constant-time mask test.
+     */
+    static List<AvailabilityResponse.TimeSlot> generateTimeSlots(
+            int openMinute,
+            int closeMinute,
+            int slotDuration,
+            com.booking.api.model.Service service,
+            LocalDate date,
+            List<Appointment> existingAppointments) {
 
-            LocalDateTime appointmentStart = appointment.getAppointmentDatetime();
-            LocalDateTime appointmentEnd = appointmentStart.plusMinutes(
-                    appointment.getDurationMinutes());
+        List<AvailabilityResponse.TimeSlot> slots = new ArrayList<>();
 
-            // Check for overlap
-            // Two time ranges overlap if: start1 < end2 AND start2 < end1
-            if (requestedStart.isBefore(appointmentEnd) &&
-                    appointmentStart.isBefore(requestedEnd)) {
-                return false; // Slot is not available
-            }
+        int serviceDuration = service.getDurationMinutes();
+
+        DayOccupancy occupancy = new DayOccupancy();
+        occupancy.restrictTo(openMinute, closeMinute);
+        occupancy.occupyAll(existingAppointments);
+
+        // Slots starting before now are in the past (today only)
+        if (date.equals(LocalDate.now())) {
+            long nowNanos = LocalTime.now().toNanoOfDay();
+            occupancy.occupy(0, (int) ((nowNanos + NANOS_PER_MINUTE - 1) / NANOS_PER_MINUTE));
         }
 
-        return true; // Slot is available
+        for (int start = openMinute; start + serviceDuration <= closeMinute; start += slotDuration) {
+            int end = start + serviceDuration;
+
+            slots.add(AvailabilityResponse.TimeSlot.builder()
+                    .startTime(LocalTime.of(start / 60, start % 60))
+                    .endTime(LocalTime.of(end / 60, end % 60))
+                    .available(occupancy.isFree(start, end))
+                    .build());
+        }
+
+        return slots;
     }
 }
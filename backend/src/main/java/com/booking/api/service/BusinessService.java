@@ -1,8 +1,13 @@
 package com.booking.api.service;
 
+import com.booking.api.cache.BusinessDirectory;
+import com.booking.api.cache.BusinessSnapshot;
+import com.booking.api.cache.CacheKeys;
+import com.booking.api.cache.DistributedCache;
 import com.booking.api.dto.request.UpdateBusinessRequest;
 import com.booking.api.dto.response.BusinessResponse;
 import com.booking.api.dto.response.ServiceResponse;
+import com.booking.api.event.BusinessChangedEvent;
 import com.booking.api.exception.BadRequestException;
 import com.booking.api.exception.NotFoundException;
 import com.booking.api.model.Business;
@@ -12,11 +17,13 @@ import com.booking.api.repository.ServiceRepository;
 import com.booking.api.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,6 +34,9 @@ public class BusinessService {
     private final BusinessRepository businessRepository;
     private final UserRepository userRepository;
     private final ServiceRepository serviceRepository;
+    private final BusinessDirectory businessDirectory;
+    private final DistributedCache distributedCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Récupère le business de l'utilisateur connecté
@@ -50,14 +60,21 @@ public class BusinessService {
     public BusinessResponse getBusinessBySlug(String slug) {
         log.info("Getting public business with slug: {}", slug);
 
-        Business business = businessRepository.findBySlug(slug)
-                .orElseThrow(() -> new NotFoundException("Business not found with slug: " + slug));
+        BusinessSnapshot snapshot = findActiveBusiness(slug);
 
-        if (!business.getIsActive()) {
-            throw new BadRequestException("Business is not active");
+        String cacheKey = CacheKeys.businessBySlug(slug);
+        Optional<BusinessResponse> cached = distributedCache.get(cacheKey, BusinessResponse.class);
+        if (cached.isPresent()) {
+            return cached.get();
         }
 
-        return mapToResponse(business);
+        long version = distributedCache.version(cacheKey);
+        Business business = businessRepository.findById(snapshot.id())
+                .orElseThrow(() -> new NotFoundException("Business not found with slug: " + slug));
+
+        BusinessResponse response = mapToResponse(business);
+        distributedCache.put(cacheKey, response, version);
+        return response;
     }
 
     /**
@@ -108,6 +125,7 @@ public class BusinessService {
         }
 
         business = businessRepository.save(business);
+        eventPublisher.publishEvent(new BusinessChangedEvent(business.getId(), business.getSlug()));
         log.info("Business updated successfully: {}", business.getId());
 
         return mapToResponse(business);
@@ -119,18 +137,35 @@ public class BusinessService {
     public List<ServiceResponse> getBusinessServices(String slug) {
         log.info("Getting services for business with slug: {}", slug);
 
-        Business business = businessRepository.findBySlug(slug)
-                .orElseThrow(() -> new NotFoundException("Business not found with slug: " + slug));
+        BusinessSnapshot business = findActiveBusiness(slug);
 
-        if (!business.getIsActive()) {
-            throw new BadRequestException("Business is not active");
+        String cacheKey = CacheKeys.activeServices(slug);
+        Optional<List<ServiceResponse>> cached = distributedCache.getList(cacheKey, ServiceResponse.class);
+        if (cached.isPresent()) {
+            return cached.get();
         }
 
-        List<com.booking.api.model.Service> services = serviceRepository.findByBusinessIdAndIsActiveTrue(business.getId());
+        long version = distributedCache.version(cacheKey);
+        List<com.booking.api.model.Service> services = serviceRepository.findByBusinessIdAndIsActiveTrue(business.id());
 
-        return services.stream()
+        List<ServiceResponse> responses = services.stream()
                 .map(this::mapServiceToResponse)
                 .collect(Collectors.toList());
+        distributedCache.put(cacheKey, responses, version);
+        return responses;
+    }
+
+    /**
+     * Résout un slug public via l'annuaire en mémoire, sans requête en base
+     */
+    private BusinessSnapshot findActiveBusiness(String slug) {
+        BusinessSnapshot business = businessDirectory.findBySlug(slug)
+                .orElseThrow(() -> new NotFoundException("Business not found with slug: " + slug));
+
+        if (!business.active()) {
+            throw new BadRequestException("Business is not active");
+        }
+        return business;
     }
 
     private ServiceResponse mapServiceToResponse(com.booking.api.model.Service service) {
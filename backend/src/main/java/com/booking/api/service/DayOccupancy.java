@@ -0,0 +1,136 @@
+package com.booking.api.service;
+
+import com.booking.api.model.Appointment;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Minute-granularity occupancy map of a single day (1440 bits packed in 23 longs).
+ * A set bit means the minute cannot be booked: outside opening hours, already
+ * taken by a non-cancelled appointment, or in the past.
+ * Checking whether a slot is free is a word-level mask test and never allocates.
+ * Instances are not thread-safe; build one per request (or {@link #clear()} and reuse).
+ */
+public final class DayOccupancy {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private static final int WORD_COUNT = (MINUTES_PER_DAY + 63) >>> 6;
+
+    private final long[] words = new long[WORD_COUNT];
+
+    /**
+     * Occupancy of a day open from midnight to midnight with nothing booked
+     */
+    public DayOccupancy() {
+    }
+
+    /**
+     * Occupancy of a day only open between {@code open} and {@code close}
+     */
+    public static DayOccupancy forOpeningHours(LocalTime open, LocalTime close) {
+        DayOccupancy occupancy = new DayOccupancy();
+        occupancy.restrictTo(minuteOfDay(open), minuteOfDay(close));
+        return occupancy;
+    }
+
+    /**
+     * Marks every minute outside [openMinute, closeMinute) as occupied
+     */
+    public void restrictTo(int openMinute, int closeMinute) {
+        occupy(0, openMinute);
+        occupy(closeMinute, MINUTES_PER_DAY);
+    }
+
+    /**
+     * Marks [fromMinute, toMinute) as occupied, clamped to the day
+     */
+    public void occupy(int fromMinute, int toMinute) {
+        int from = Math.max(fromMinute, 0);
+        int to = Math.min(toMinute, MINUTES_PER_DAY);
+        if (from >= to) {
+            return;
+        }
+
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> (63 - ((to - 1) & 63));
+
+        if (first == last) {
+            words[first] |= firstMask & lastMask;
+            return;
+        }
+
+        words[first] |= firstMask;
+        for (int i = first + 1; i < last; i++) {
+            words[i] = -1L;
+        }
+        words[last] |= lastMask;
+    }
+
+    /**
+     * Marks the time taken by an appointment, cancelled appointments are ignored.
+     * The appointment is expected to start on the day this occupancy describes.
+     */
+    public void occupy(Appointment appointment) {
+        if (appointment.getStatus() == Appointment.AppointmentStatus.CANCELLED) {
+            return;
+        }
+        int start = minuteOfDay(appointment.getAppointmentDatetime().toLocalTime());
+        occupy(start, start + appointment.getDurationMinutes());
+    }
+
+    public void occupyAll(Collection<Appointment> appointments) {
+        for (Appointment appointment : appointments) {
+            occupy(appointment);
+        }
+    }
+
+    /**
+     * True if no minute of [fromMinute, toMinute) is occupied, clamped to the day
+     */
+    public boolean isFree(int fromMinute, int toMinute) {
+        int from = Math.max(fromMinute, 0);
+        int to = Math.min(toMinute, MINUTES_PER_DAY);
+        if (from >= to) {
+            return true;
+        }
+
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> (63 - ((to - 1) & 63));
+
+        if (first == last) {
+            return (words[first] & firstMask & lastMask) == 0;
+        }
+
+        if ((words[first] & firstMask) != 0) {
+            return false;
+        }
+        for (int i = first + 1; i < last; i++) {
+            if (words[i] != 0) {
+                return false;
+            }
+        }
+        return (words[last] & lastMask) == 0;
+    }
+
+    public boolean isOccupied(int minute) {
+        return (words[minute >>> 6] & (1L << minute)) != 0;
+    }
+
+    /**
+     * Resets to a fully open day so the instance can be reused
+     */
+    public void clear() {
+        Arrays.fill(words, 0L);
+    }
+
+    public static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
@@ -1,5 +1,7 @@
 package com.booking.api.service;
 
+import com.booking.api.config.AsyncConfig;
+import com.booking.api.metrics.BookingMetrics;
 import com.booking.api.model.Appointment;
 import com.booking.api.model.Notification;
 import com.booking.api.repository.NotificationRepository;
@@ -8,14 +10,17 @@ import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.io.UnsupportedEncodingException;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +29,7 @@ public class EmailService {
 
     private final JavaMailSender mailSender;
     private final NotificationRepository notificationRepository;
+    private final BookingMetrics bookingMetrics;
 
     @Value("${app.mail.from:noreply@booking-platform.com}")
     private String fromEmail;
@@ -41,14 +47,16 @@ public class EmailService {
 
     /**
      * Send booking confirmation email to customer
+     * Called by the outbox dispatcher once the booking has committed, with the
+     * appointment's business, service and customer already loaded. A failed send is
+     * recorded and rethrown, so the dispatcher retries the event
      */
-    @Async
     public void sendBookingConfirmation(Appointment appointment) {
         try {
             String subject = "Confirmation de votre rendez-vous";
             String content = buildConfirmationEmail(appointment);
 
-            sendEmail(appointment.getCustomer().getEmail(), subject, content);
+            sendEmail("confirmation", appointment.getCustomer().getEmail(), subject, content);
 
             // Save notification
             saveNotification(appointment, Notification.NotificationType.CONFIRMATION,
@@ -61,19 +69,56 @@ public class EmailService {
                 appointment.getId(), e);
             saveNotification(appointment, Notification.NotificationType.CONFIRMATION,
                 "Confirmation email", "", Notification.NotificationStatus.FAILED);
+            throw sendFailure(e);
+        }
+    }
+
+    /**
+     * Send one confirmation email for the appointments of a multi-service visit
+     * Called by the outbox dispatcher once the booking has committed, with the
+     * appointments ordered by time and their business, service and customer loaded.
+     * A notification is recorded for each appointment. A failed send is rethrown,
+     * so the dispatcher retries the event.
+     */
+    public void sendGroupBookingConfirmation(List<Appointment> appointments) {
+        Appointment first = appointments.get(0);
+        try {
+            String subject = "Confirmation de votre rendez-vous";
+            String content = buildGroupConfirmationEmail(appointments);
+
+            sendEmail("confirmation", first.getCustomer().getEmail(), subject, content);
+
+            for (Appointment appointment : appointments) {
+                saveNotification(appointment, Notification.NotificationType.CONFIRMATION,
+                    subject, content, Notification.NotificationStatus.SENT);
+            }
+
+            log.info("Confirmation email sent for booking group {} ({} appointments)",
+                first.getBookingGroupId(), appointments.size());
+
+        } catch (Exception e) {
+            log.error("Failed to send confirmation email for booking group {}",
+                first.getBookingGroupId(), e);
+            for (Appointment appointment : appointments) {
+                saveNotification(appointment, Notification.NotificationType.CONFIRMATION,
+                    "Confirmation email", "", Notification.NotificationStatus.FAILED);
+            }
+            throw sendFailure(e);
         }
     }
 
     /**
      * Send appointment reminder email (24h before)
+     * Runs on the bounded reminder executor; throws TaskRejectedException to the
+     * caller when its queue is full
      */
-    @Async
+    @Async(AsyncConfig.REMINDER_EXECUTOR)
     public void sendAppointmentReminder(Appointment appointment) {
         try {
             String subject = "Rappel : Votre rendez-vous demain";
             String content = buildReminderEmail(appointment);
 
-            sendEmail(appointment.getCustomer().getEmail(), subject, content);
+            sendEmail("reminder", appointment.getCustomer().getEmail(), subject, content);
 
             saveNotification(appointment, Notification.NotificationType.REMINDER,
                 subject, content, Notification.NotificationStatus.SENT);
@@ -90,14 +135,15 @@ public class EmailService {
 
     /**
      * Send cancellation email to customer
+     * Called by the outbox dispatcher once the cancellation has committed. A failed
+     * send is recorded and rethrown, so the dispatcher retries the event
      */
-    @Async
     public void sendCancellationEmail(Appointment appointment) {
         try {
             String subject = "Annulation de votre rendez-vous";
             String content = buildCancellationEmail(appointment);
 
-            sendEmail(appointment.getCustomer().getEmail(), subject, content);
+            sendEmail("cancellation", appointment.getCustomer().getEmail(), subject, content);
 
             saveNotification(appointment, Notification.NotificationType.CANCELLATION,
                 subject, content, Notification.NotificationStatus.SENT);
@@ -109,23 +155,38 @@ public class EmailService {
                 appointment.getId(), e);
             saveNotification(appointment, Notification.NotificationType.CANCELLATION,
                 "Cancellation email", "", Notification.NotificationStatus.FAILED);
+            throw sendFailure(e);
         }
     }
 
     /**
-     * Send email with HTML content
+     * Send email with HTML content, timed as "email.send" tagged by type and outcome
      * @throws UnsupportedEncodingException 
      */
-    private void sendEmail(String to, String subject, String htmlContent) throws MessagingException, UnsupportedEncodingException {
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-        helper.setFrom(fromEmail, fromName);
-        helper.setTo(to);
-        helper.setSubject(subject);
-        helper.setText(htmlContent, true);
+    private void sendEmail(String type, String to, String subject, String htmlContent) throws MessagingException, UnsupportedEncodingException {
+        long start = System.nanoTime();
+        boolean sent = false;
+        try {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+            helper.setFrom(fromEmail, fromName);
+            helper.setTo(to);
+            helper.setSubject(subject);
+            helper.setText(htmlContent, true);
+
+            mailSender.send(message);
+            sent = true;
+        } finally {
+            bookingMetrics.recordEmail(type, sent, System.nanoTime() - start);
+        }
+    }
 
-        mailSender.send(message);
+    /**
+     * Unchecked exception for the outbox dispatcher, which retries on RuntimeException
+     */
+    private static RuntimeException sendFailure(Exception e) {
+        return e instanceof RuntimeException runtime ? runtime : new MailSendException(e.getMessage(), e);
     }
 
     /**
@@ -150,7 +211,7 @@ public class EmailService {
     /**
      * Build confirmation email HTML content
      */
-    private String buildConfirmationEmail(Appointment appointment) {
+    String buildConfirmationEmail(Appointment appointment) {
         String businessName = appointment.getBusiness().getBusinessName();
         String serviceName = appointment.getService().getName();
         String dateStr = appointment.getAppointmentDatetime().format(DATE_FORMATTER);
@@ -179,6 +240,48 @@ public class EmailService {
         );
     }
 
+    /**
+     * Build confirmation email HTML content for a multi-service visit, one line per
+     * service with its own cancellation link
+     */
+    String buildGroupConfirmationEmail(List<Appointment> appointments) {
+        Appointment first = appointments.get(0);
+        Appointment last = appointments.get(appointments.size() - 1);
+        String dateStr = first.getAppointmentDatetime().format(DATE_FORMATTER);
+        String timeStr = first.getAppointmentDatetime().format(TIME_FORMATTER);
+        String endStr = last.getAppointmentDatetime().plusMinutes(last.getDurationMinutes()).format(TIME_FORMATTER);
+        BigDecimal total = appointments.stream()
+            .map(Appointment::getPrice)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        StringBuilder services = new StringBuilder();
+        for (Appointment appointment : appointments) {
+            String cancelUrl = baseUrl + "/booking/cancel/" + appointment.getCancellationToken();
+            services.append("  <p style='margin: 5px 0;'><strong>")
+                .append(appointment.getAppointmentDatetime().format(TIME_FORMATTER))
+                .append(" :</strong> ").append(appointment.getService().getName())
+                .append(" (").append(appointment.getDurationMinutes()).append(" minutes, ")
+                .append(String.format("%.2f €", appointment.getPrice())).append(") - ")
+                .append("<a href='").append(cancelUrl).append("' style='color: #ef4444;'>Annuler</a></p>");
+        }
+
+        return buildEmailTemplate(
+            "Confirmation de votre rendez-vous",
+            first.getCustomer().getFirstName(),
+            "<p>Votre rendez-vous a été confirmé avec succès !</p>" +
+            "<div style='background-color: #f3f4f6; border-left: 4px solid #3b82f6; padding: 15px; margin: 20px 0;'>" +
+            "  <p style='margin: 5px 0;'><strong>Date :</strong> " + dateStr + "</p>" +
+            "  <p style='margin: 5px 0;'><strong>Horaire :</strong> " + timeStr + " - " + endStr + "</p>" +
+            services +
+            "  <p style='margin: 5px 0;'><strong>Prix total :</strong> " + String.format("%.2f €", total) + "</p>" +
+            "</div>" +
+            "<p><strong>Adresse :</strong><br>" +
+            first.getBusiness().getAddress() + "<br>" +
+            first.getBusiness().getPostalCode() + " " + first.getBusiness().getCity() + "</p>" +
+            "<p>Si vous devez annuler une prestation, utilisez le lien « Annuler » correspondant ci-dessus.</p>"
+        );
+    }
+
     /**
      * Build reminder email HTML content
      */
@@ -234,7 +337,7 @@ public class EmailService {
     /**
      * Build email template with consistent design
      */
-    private String buildEmailTemplate(String title, String customerName, String content) {
+    String buildEmailTemplate(String title, String customerName, String content) {
         return "<!DOCTYPE html>" +
             "<html>" +
             "<head>" +
@@ -3,11 +3,14 @@ package com.booking.api.service;
 import com.booking.api.dto.gdpr.AccountDeletionRequest;
 import com.booking.api.dto.gdpr.AccountDeletionResponse;
 import com.booking.api.dto.gdpr.DataExportResponse;
+import com.booking.api.event.AvailabilityChangedEvent;
+import com.booking.api.event.BusinessChangedEvent;
 import com.booking.api.exception.BadRequestException;
 import com.booking.api.model.*;
 import com.booking.api.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,6 +32,7 @@ public class GdprService {
     private final ServiceRepository serviceRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
 
@@ -128,10 +132,12 @@ public class GdprService {
             apt.setStatus(Appointment.AppointmentStatus.CANCELLED);
             appointmentRepository.save(apt);
         }
+        eventPublisher.publishEvent(AvailabilityChangedEvent.forBusiness(business.getId()));
 
         business.setDeletedAt(now);
         business.setEmail(business.getEmail() + ".deleted." + System.currentTimeMillis());
         businessRepository.save(business);
+        eventPublisher.publishEvent(new BusinessChangedEvent(business.getId(), business.getSlug()));
 
         user.setEmail(user.getEmail() + ".deleted." + System.currentTimeMillis());
         userRepository.save(user);
@@ -156,6 +162,8 @@ public class GdprService {
         for (Appointment apt : futureAppointments) {
             apt.setStatus(Appointment.AppointmentStatus.CANCELLED);
             appointmentRepository.save(apt);
+            eventPublisher.publishEvent(AvailabilityChangedEvent.forDate(
+                    apt.getBusiness().getId(), apt.getAppointmentDatetime().toLocalDate()));
         }
 
         customer.setDeletedAt(now);
@@ -0,0 +1,183 @@
+package com.booking.api.service;
+
+import com.booking.api.dto.request.AppointmentRequest;
+import com.booking.api.dto.response.AppointmentResponse;
+import com.booking.api.exception.BadRequestException;
+import com.booking.api.exception.ConflictException;
+import com.booking.api.model.IdempotencyKey;
+import com.booking.api.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Replays the stored response of a booking retried with the same {@code Idempotency-Key}.
+ * Keys are scoped per business and persisted in the booking transaction, so a key is
+ * recorded exactly when its appointment is; a bounded in-process LRU in front of the
+ * table answers the common case of a retry hitting the same node. Rows are purged after
+ * {@code app.booking.idempotency.retention}.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String CACHE_NAME = "idempotency";
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+    private final Cache<Key, Entry> cache;
+
+    public IdempotencyService(
+            IdempotencyKeyRepository idempotencyKeyRepository,
+            ObjectMapper objectMapper,
+            @Value("${app.booking.idempotency.cache-size:10000}") long cacheSize,
+            @Value("${app.booking.idempotency.retention:24h}") Duration retention,
+            MeterRegistry meterRegistry) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.retention = retention;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(retention)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Response recorded for {@code key}, if any.
+     *
+     * @throws BadRequestException when the key is malformed or was used for a different request
+     */
+    @Transactional(readOnly = true)
+    public Optional<AppointmentResponse> findReplay(UUID businessId, String key, AppointmentRequest request) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        Key cacheKey = new Key(businessId, key);
+        Entry entry = cache.getIfPresent(cacheKey);
+        if (entry == null) {
+            entry = idempotencyKeyRepository.findByBusinessIdAndIdempotencyKey(businessId, key)
+                    .map(stored -> new Entry(stored.getRequestHash(), fromJson(stored.getResponse())))
+                    .orElse(null);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            cache.put(cacheKey, entry);
+        }
+
+        if (!entry.requestHash().equals(hash(request))) {
+            throw new BadRequestException("Idempotency-Key was already used for a different booking request");
+        }
+        log.debug("Replaying booking response for Idempotency-Key {} of business {}", key, businessId);
+        return Optional.of(entry.response());
+    }
+
+    /**
+     * Same lookup from a new transaction, for a booking whose own transaction failed
+     * because a concurrent request with the same key committed first.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public Optional<AppointmentResponse> findCommittedReplay(UUID businessId, String key, AppointmentRequest request) {
+        return findReplay(businessId, key, request);
+    }
+
+    /**
+     * Stores {@code response} for {@code key} in the current booking transaction. The LRU
+     * is only filled once that transaction commits.
+     *
+     * @throws ConflictException when another request recorded the same key meanwhile
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(UUID businessId, String key, AppointmentRequest request, AppointmentResponse response) {
+        String requestHash = hash(request);
+        try {
+            idempotencyKeyRepository.saveAndFlush(IdempotencyKey.builder()
+                    .businessId(businessId)
+                    .idempotencyKey(key)
+                    .requestHash(requestHash)
+                    .appointmentId(response.getId())
+                    .response(toJson(response))
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("A booking with this Idempotency-Key is already being processed");
+        }
+
+        Key cacheKey = new Key(businessId, key);
+        Entry entry = new Entry(requestHash, response);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.put(cacheKey, entry);
+            }
+        });
+    }
+
+    /**
+     * Purges keys older than the retention period, every hour.
+     */
+    @Scheduled(cron = "0 30 * * * *")
+    @Transactional
+    public void purgeExpiredKeys() {
+        int purged = idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private String hash(AppointmentRequest request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot hash booking request", e);
+        }
+    }
+
+    private String toJson(AppointmentResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize booking response", e);
+        }
+    }
+
+    private AppointmentResponse fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, AppointmentResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read stored booking response", e);
+        }
+    }
+
+    private record Key(UUID businessId, String idempotencyKey) {
+    }
+
+    private record Entry(String requestHash, AppointmentResponse response) {
+    }
+}
@@ -0,0 +1,192 @@
+package com.booking.api.service;
+
+import com.booking.api.metrics.BookingMetrics;
+import com.booking.api.model.Appointment;
+import com.booking.api.model.Customer;
+import com.booking.api.model.OutboxEvent;
+import com.booking.api.repository.AppointmentRepository;
+import com.booking.api.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Hands committed booking events to {@link EmailService}, off the request thread.
+ * Each poll claims up to {@code app.outbox.batch-size} due events in a short transaction:
+ * they are locked with {@code FOR UPDATE SKIP LOCKED}, so several instances drain the
+ * table in parallel, and leased by pushing their available_at {@code app.outbox.lease}
+ * ahead. Each event is then sent and its outcome recorded in its own transaction, so a
+ * failing event never rolls back the others. A failing event is retried with exponential
+ * backoff and marked FAILED after {@code app.outbox.max-attempts}; this includes an
+ * email the mail server did not accept, which {@link EmailService} rethrows. Delivery is
+ * at least once: an event whose outcome was not committed (crash, persistence error) is
+ * sent again once its lease or backoff has passed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxDispatcher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingMetrics bookingMetrics;
+
+    @Value("${app.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retry-backoff:30s}")
+    private Duration retryBackoff;
+
+    @Value("${app.outbox.retention:7d}")
+    private Duration retention;
+
+    @Value("${app.outbox.lease:5m}")
+    private Duration lease;
+
+    /**
+     * Drains due events batch by batch until a batch comes back short.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT2S}")
+    public void dispatchPending() {
+        List<OutboxEvent> claimed;
+        do {
+            claimed = transactionTemplate.execute(status -> claimBatch());
+            claimed.forEach(this::dispatch);
+        } while (claimed.size() == batchSize);
+    }
+
+    /**
+     * Locks the next due events and leases them to this instance; the lease is committed
+     * with the transaction, which releases the row locks before anything is sent.
+     */
+    List<OutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.lockNextBatch(now, batchSize);
+        events.forEach(event -> event.setAvailableAt(now.plus(lease)));
+        return events;
+    }
+
+    private void dispatch(OutboxEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEvent outcome;
+        try {
+            outcome = transactionTemplate.execute(status -> process(event, now));
+        } catch (RuntimeException e) {
+            // Nothing of the event's transaction was kept (persistence error): count the
+            // attempt on the stored row
+            outcome = transactionTemplate.execute(status -> outboxEventRepository.findById(event.getId())
+                    .map(stored -> fail(stored, now, e))
+                    .orElse(null));
+        }
+        if (outcome != null) {
+            recordOutcome(outcome, now);
+        }
+    }
+
+    private OutboxEvent process(OutboxEvent event, LocalDateTime now) {
+        try {
+            handle(event);
+            event.setStatus(OutboxEvent.OutboxStatus.PROCESSED);
+            event.setProcessedAt(now);
+        } catch (RuntimeException e) {
+            fail(event, now, e);
+        }
+        outboxEventRepository.save(event);
+        return event;
+    }
+
+    /**
+     * Purges processed events older than the retention period, every hour.
+     */
+    @Scheduled(cron = "0 15 * * * *")
+    @Transactional
+    public void purgeProcessedEvents() {
+        int purged = outboxEventRepository.deleteProcessedBefore(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} processed outbox events", purged);
+        }
+    }
+
+    private void handle(OutboxEvent event) {
+        if (event.getEventType() == OutboxEvent.EventType.BOOKING_GROUP_CREATED) {
+            handleGroup(event);
+            return;
+        }
+
+        Optional<Appointment> found = appointmentRepository.findByIdWithDetails(event.getAggregateId());
+        if (found.isEmpty()) {
+            // Deleted since (GDPR erasure), nothing left to notify
+            log.warn("Skipping outbox event {}: appointment {} no longer exists",
+                    event.getId(), event.getAggregateId());
+            return;
+        }
+        Appointment appointment = found.get();
+
+        switch (event.getEventType()) {
+            case BOOKING_CREATED -> {
+                // Stats only once the email is out, so a retried event counts once
+                emailService.sendBookingConfirmation(appointment);
+                Customer customer = appointment.getCustomer();
+                customer.setTotalAppointments(customer.getTotalAppointments() + 1);
+                customer.setLastAppointmentAt(event.getCreatedAt());
+            }
+            case APPOINTMENT_CANCELLED -> emailService.sendCancellationEmail(appointment);
+        }
+    }
+
+    private void handleGroup(OutboxEvent event) {
+        List<Appointment> appointments = appointmentRepository.findByBookingGroupIdWithDetails(event.getAggregateId());
+        if (appointments.isEmpty()) {
+            log.warn("Skipping outbox event {}: booking group {} no longer exists",
+                    event.getId(), event.getAggregateId());
+            return;
+        }
+
+        emailService.sendGroupBookingConfirmation(appointments);
+        Customer customer = appointments.get(0).getCustomer();
+        customer.setTotalAppointments(customer.getTotalAppointments() + appointments.size());
+        customer.setLastAppointmentAt(event.getCreatedAt());
+    }
+
+    private OutboxEvent fail(OutboxEvent event, LocalDateTime now, RuntimeException e) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLastError(e.getMessage());
+
+        if (attempts >= maxAttempts) {
+            event.setStatus(OutboxEvent.OutboxStatus.FAILED);
+            log.error("Outbox event {} ({}) failed after {} attempts",
+                    event.getId(), event.getEventType(), attempts, e);
+            return event;
+        }
+
+        event.setAvailableAt(now.plus(retryBackoff.multipliedBy(1L << (attempts - 1))));
+        log.warn("Outbox event {} ({}) failed, retry {} at {}: {}",
+                event.getId(), event.getEventType(), attempts, event.getAvailableAt(), e.getMessage());
+        return event;
+    }
+
+    // Recorded once the outcome is committed
+    private void recordOutcome(OutboxEvent event, LocalDateTime now) {
+        String outcome = switch (event.getStatus()) {
+            case PROCESSED -> "processed";
+            case FAILED -> "failed";
+            case PENDING -> "retried";
+        };
+        bookingMetrics.recordOutboxEvent(outcome, Duration.between(event.getCreatedAt(), now));
+    }
+}
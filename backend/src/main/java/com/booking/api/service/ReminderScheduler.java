@@ -0,0 +1,184 @@
+package com.booking.api.service;
+
+import com.booking.api.cluster.ClusterMembership;
+import com.booking.api.event.AppointmentChangedEvent;
+import com.booking.api.metrics.BookingMetrics;
+import com.booking.api.repository.AppointmentRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends each reminder 24 hours before its appointment, as it falls due, instead of
+ * all the reminders of the hour at once. Reminders due within
+ * {@code app.async.reminder.lookahead} wait in an in-memory delay queue, fed by the
+ * bookings and status changes of this instance and by a periodic refill from the
+ * database for the businesses of this instance's partition (see
+ * {@link ClusterMembership}); the refill also runs at startup. A single dispatcher
+ * thread takes them when due, at most {@code app.async.reminder.rate-per-second}.
+ * Each reminder is claimed in the database before it is sent, so a reminder queued
+ * on two instances, or for an appointment cancelled or moved meanwhile, is sent once
+ * or not at all. What the queue misses is swept by
+ * {@link ReminderService#sendAppointmentReminders()}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReminderScheduler {
+
+    private final AppointmentRepository appointmentRepository;
+    private final ReminderService reminderService;
+    private final ClusterMembership clusterMembership;
+    private final BookingMetrics bookingMetrics;
+
+    private final DelayQueue<DueReminder> queue = new DelayQueue<>();
+    // Latest entry per appointment; queued entries no longer listed here are skipped
+    private final Map<UUID, DueReminder> pending = new ConcurrentHashMap<>();
+
+    private volatile Thread dispatcher;
+
+    @Value("${app.async.reminder.lookahead:PT1H}")
+    private Duration lookahead;
+
+    @Value("${app.async.reminder.rate-per-second:20}")
+    private int ratePerSecond;
+
+    /**
+     * Queues the reminder of an active appointment, or replaces the queued one when the
+     * appointment moved. Reminders due beyond the lookahead are left to the refill, and
+     * appointments less than 23 hours away get none, as with the hourly job.
+     */
+    public void schedule(UUID appointmentId, LocalDateTime appointmentDatetime) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime dueAt = appointmentDatetime.minusHours(24);
+        if (appointmentDatetime.isBefore(now.plusHours(23)) || dueAt.isAfter(now.plus(lookahead))) {
+            pending.remove(appointmentId);
+            return;
+        }
+
+        DueReminder reminder = new DueReminder(appointmentId, dueAt);
+        DueReminder previous = pending.put(appointmentId, reminder);
+        if (!reminder.equals(previous)) {
+            queue.add(reminder);
+        }
+    }
+
+    public void cancel(UUID appointmentId) {
+        pending.remove(appointmentId);
+    }
+
+    /**
+     * Runs after the booking or status change commits, so the dispatcher cannot claim
+     * an appointment that is rolled back.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (ReminderService.ACTIVE_STATUSES.contains(event.getStatus())) {
+            schedule(event.getAppointmentId(), event.getAppointmentDatetime());
+        } else {
+            cancel(event.getAppointmentId());
+        }
+    }
+
+    /**
+     * Loads the reminders of this instance's partition due within the lookahead,
+     * including overdue ones still unclaimed (appointment 23-24 hours away). Runs at
+     * startup, then every {@code app.async.reminder.refill-interval}, which must stay
+     * below the lookahead.
+     */
+    @Scheduled(fixedDelayString = "${app.async.reminder.refill-interval:PT10M}")
+    public void refill() {
+        LocalDateTime now = LocalDateTime.now();
+        ClusterMembership.Partition partition = clusterMembership.currentPartition();
+        int before = pending.size();
+        appointmentRepository.findRemindersDue(now.plusHours(23), now.plusHours(24).plus(lookahead),
+                        partition.index(), partition.count())
+                .forEach(due -> schedule(due.getId(), due.getAppointmentDatetime()));
+        log.debug("Reminder queue refilled for partition {} of {}: {} pending ({} new)",
+                partition.index() + 1, partition.count(), pending.size(), pending.size() - before);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread thread = new Thread(this::dispatchLoop, "reminder-dispatcher");
+        thread.setDaemon(true);
+        dispatcher = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread thread = dispatcher;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    private void dispatchLoop() {
+        long spacingNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(ratePerSecond, 1);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                if (dispatch(queue.take())) {
+                    TimeUnit.NANOSECONDS.sleep(spacingNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Reminder dispatch failed", e);
+            }
+        }
+    }
+
+    // Returns whether a reminder was handed to the email service
+    private boolean dispatch(DueReminder reminder) {
+        if (!pending.remove(reminder.appointmentId(), reminder)) {
+            return false; // cancelled or rescheduled
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int claimed = appointmentRepository.claimReminder(reminder.appointmentId(), now,
+                now.plusHours(23), now.plusHours(25), ReminderService.ACTIVE_STATUSES);
+        if (claimed == 0) {
+            return false;
+        }
+
+        return appointmentRepository.findByIdWithDetails(reminder.appointmentId())
+                .map(appointment -> {
+                    bookingMetrics.recordReminders(reminderService.sendClaimedReminder(appointment), 1);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    private record DueReminder(UUID appointmentId, LocalDateTime dueAt) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(LocalDateTime.now(), dueAt));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return dueAt.compareTo(((DueReminder) other).dueAt);
+        }
+    }
+}
@@ -1,14 +1,23 @@
 package com.booking.api.service;
 
+import com.booking.api.cluster.ClusterMembership;
+import com.booking.api.metrics.BookingMetrics;
 import com.booking.api.model.Appointment;
+import com.booking.api.model.Notification;
 import com.booking.api.repository.AppointmentRepository;
+import com.booking.api.repository.NotificationRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -17,42 +26,175 @@ public class ReminderService {
 
     private final AppointmentRepository appointmentRepository;
     private final EmailService emailService;
+    private final NotificationRepository notificationRepository;
+    private final BookingMetrics bookingMetrics;
+    private final ClusterMembership clusterMembership;
+
+    // Outcomes of a reminder hand-off, as recorded by BookingMetrics#recordReminders
+    static final String QUEUED = "queued";
+    static final String DEFERRED = "deferred";
+    static final String FAILED = "failed";
+
+    // Statuses that still get a reminder
+    static final List<Appointment.AppointmentStatus> ACTIVE_STATUSES =
+            List.of(Appointment.AppointmentStatus.PENDING, Appointment.AppointmentStatus.CONFIRMED);
+
+    @Value("${app.async.reminder.retry-batch-size:100}")
+    private int retryBatchSize;
+
+    @Value("${app.async.reminder.batch-size:500}")
+    private int batchSize;
 
     /**
-     * Send reminder emails for appointments happening in 24 hours
-     * Runs every hour
+     * Sweeps reminders that are due but were not sent: their appointment starts in
+     * 23-24 hours and is not claimed yet. Reminders are normally sent on time by
+     * {@link ReminderScheduler}; this hourly pass only picks up what it missed (a node
+     * stopped before its queue was drained, a refill that failed), so it stays small
+     * instead of sending every reminder of the hour at once. Runs on every instance,
+     * each on the businesses of its {@link ClusterMembership} partition; reminders are
+     * claimed in batches by setting reminder_sent_at, so each one is sent once even while
+     * the partitions move. A reminder that cannot be handed to the email service is released for the
+     * next run; one deferred because the executor is saturated stays claimed, and its
+     * PENDING notification is claimed in turn by {@link #retryDeferredReminders()}.
      */
     @Scheduled(cron = "0 0 * * * *") // Every hour at minute 0
+    @Timed("reminder.run")
     public void sendAppointmentReminders() {
-        log.info("Running appointment reminder job");
+        log.info("Running appointment reminder sweep");
 
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime reminderStart = now.plusHours(23);  // 23 hours from now
-        LocalDateTime reminderEnd = now.plusHours(25);    // 25 hours from now
-
-        // Find appointments that need reminders
-        List<Appointment> appointments = appointmentRepository
-                .findByBusinessIdAndAppointmentDatetimeBetweenOrderByAppointmentDatetimeAsc(
-                        null, // Get all businesses
-                        reminderStart,
-                        reminderEnd
-                );
+        LocalDateTime reminderEnd = now.plusHours(24);    // due 24 hours before
 
+        ClusterMembership.Partition partition = clusterMembership.currentPartition();
         int remindersSent = 0;
-        for (Appointment appointment : appointments) {
-            // Only send reminders for pending or confirmed appointments
-            if (appointment.getStatus() == Appointment.AppointmentStatus.PENDING ||
-                appointment.getStatus() == Appointment.AppointmentStatus.CONFIRMED) {
+        int remindersFailed = 0;
+        int remindersDeferred = 0;
+        List<UUID> claimed;
+        do {
+            claimed = appointmentRepository.claimReminders(reminderStart, reminderEnd, now,
+                    partition.index(), partition.count(), batchSize);
+            if (claimed.isEmpty()) {
+                break;
+            }
+
+            for (Appointment appointment : appointmentRepository.findAllWithDetailsByIdIn(claimed)) {
+                switch (sendClaimedReminder(appointment)) {
+                    case QUEUED -> remindersSent++;
+                    case DEFERRED -> remindersDeferred++;
+                    case FAILED -> remindersFailed++;
+                }
+            }
+        } while (claimed.size() == batchSize);
+
+        bookingMetrics.recordReminders(QUEUED, remindersSent);
+        bookingMetrics.recordReminders(FAILED, remindersFailed);
+        bookingMetrics.recordReminders(DEFERRED, remindersDeferred);
+        log.info("Sent {} missed appointment reminders for partition {} of {}, deferred {}",
+                remindersSent, partition.index() + 1, partition.count(), remindersDeferred);
+    }
 
+    /**
+     * Hands the reminder of an appointment already claimed by this instance to the
+     * email service and returns the outcome: queued, deferred (reminder executor
+     * saturated, sent later by {@link #retryDeferredReminders()}) or failed (claim
+     * released for the next sweep).
+     */
+    String sendClaimedReminder(Appointment appointment) {
+        try {
+            emailService.sendAppointmentReminder(appointment);
+            return QUEUED;
+        } catch (TaskRejectedException e) {
+            // Reminder executor saturated: park it, retryDeferredReminders sends it later
+            if (deferReminder(appointment)) {
+                return DEFERRED;
+            }
+            releaseClaim(appointment);
+            return FAILED;
+        } catch (Exception e) {
+            log.error("Failed to send reminder for appointment {}", appointment.getId(), e);
+            releaseClaim(appointment);
+            return FAILED;
+        }
+    }
+
+    /**
+     * Hands deferred reminders (PENDING notifications) back to the reminder executor,
+     * oldest first, and stops as soon as it is saturated again. Runs on every instance:
+     * each notification is claimed by deleting it before its reminder is sent, so only
+     * one instance sends it. A reminder rejected again is deferred anew for the next
+     * run; one that can be neither sent nor deferred has its claim released for the
+     * sweep, as in {@link #sendClaimedReminder}. Reminders whose appointment was
+     * cancelled or has passed meanwhile are dropped.
+     */
+    @Scheduled(fixedDelayString = "${app.async.reminder.retry-interval:PT1M}")
+    public void retryDeferredReminders() {
+        List<Notification> deferred = notificationRepository.findWithAppointmentByTypeAndStatus(
+                Notification.NotificationType.REMINDER,
+                Notification.NotificationStatus.PENDING,
+                PageRequest.of(0, retryBatchSize));
+
+        LocalDateTime now = LocalDateTime.now();
+        int requeued = 0;
+        for (Notification notification : deferred) {
+            // The email service records its own SENT / FAILED notification
+            if (notificationRepository.deleteByIdAndStatus(
+                    notification.getId(), Notification.NotificationStatus.PENDING) == 0) {
+                continue; // claimed by another instance
+            }
+            Appointment appointment = notification.getAppointment();
+            if (isActive(appointment) && appointment.getAppointmentDatetime().isAfter(now)) {
                 try {
                     emailService.sendAppointmentReminder(appointment);
-                    remindersSent++;
+                } catch (TaskRejectedException e) {
+                    if (!deferReminder(appointment)) {
+                        releaseClaim(appointment);
+                    }
+                    break;
                 } catch (Exception e) {
-                    log.error("Failed to send reminder for appointment {}", appointment.getId(), e);
+                    log.error("Failed to send deferred reminder for appointment {}", appointment.getId(), e);
+                    releaseClaim(appointment);
+                    continue;
                 }
+                requeued++;
             }
         }
 
-        log.info("Sent {} appointment reminders", remindersSent);
+        if (requeued > 0) {
+            bookingMetrics.recordReminders("requeued", requeued);
+            log.info("Requeued {} deferred appointment reminders", requeued);
+        }
+    }
+
+    private boolean deferReminder(Appointment appointment) {
+        try {
+            notificationRepository.save(Notification.builder()
+                    .appointment(appointment)
+                    .type(Notification.NotificationType.REMINDER)
+                    .channel(Notification.NotificationChannel.EMAIL)
+                    .recipient(appointment.getCustomer().getEmail())
+                    .subject("Reminder email")
+                    .content("")
+                    .status(Notification.NotificationStatus.PENDING)
+                    .errorMessage("Deferred: reminder executor saturated")
+                    .build());
+            log.warn("Reminder executor saturated, deferred reminder for appointment {}", appointment.getId());
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to defer reminder for appointment {}", appointment.getId(), e);
+            return false;
+        }
+    }
+
+    private void releaseClaim(Appointment appointment) {
+        try {
+            appointmentRepository.releaseReminderClaim(appointment.getId());
+        } catch (Exception e) {
+            log.error("Failed to release reminder claim of appointment {}", appointment.getId(), e);
+        }
+    }
+
+    private static boolean isActive(Appointment appointment) {
+        return ACTIVE_STATUSES.contains(appointment.getStatus());
     }
 }
@@ -1,7 +1,11 @@
 package com.booking.api.service;
 
+import com.booking.api.cache.BusinessDirectory;
+import com.booking.api.cache.BusinessSnapshot;
 import com.booking.api.dto.request.ScheduleRequest;
 import com.booking.api.dto.response.ScheduleResponse;
+import com.booking.api.event.AvailabilityChangedEvent;
+import com.booking.api.event.ScheduleChangedEvent;
 import com.booking.api.model.Business;
 import com.booking.api.model.Schedule;
 import com.booking.api.model.User;
@@ -10,6 +14,7 @@ import com.booking.api.repository.ScheduleRepository;
 import com.booking.api.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,7 +31,9 @@ public class ScheduleService {
 
     private final ScheduleRepository scheduleRepository;
     private final BusinessRepository businessRepository;
+    private final BusinessDirectory businessDirectory;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Récupère tous les horaires du business de l'utilisateur connecté
@@ -47,10 +54,10 @@ public class ScheduleService {
     public List<ScheduleResponse> getPublicSchedules(String businessSlug) {
         log.info("Getting public schedules for business slug: {}", businessSlug);
 
-        Business business = businessRepository.findBySlug(businessSlug)
+        BusinessSnapshot business = businessDirectory.findBySlug(businessSlug)
                 .orElseThrow(() -> new RuntimeException("Business not found"));
 
-        List<Schedule> schedules = scheduleRepository.findByBusinessIdAndIsActiveTrue(business.getId());
+        List<Schedule> schedules = scheduleRepository.findByBusinessIdAndIsActiveTrue(business.id());
         return schedules.stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
@@ -85,6 +92,7 @@ public class ScheduleService {
         schedule.setIsActive(request.getIsActive() != null ? request.getIsActive() : true);
 
         schedule = scheduleRepository.save(schedule);
+        publishScheduleChanged(business);
         log.info("Schedule saved successfully for {}", dayOfWeek);
 
         return mapToResponse(schedule);
@@ -128,6 +136,7 @@ public class ScheduleService {
         }
 
         schedule = scheduleRepository.save(schedule);
+        publishScheduleChanged(business);
         log.info("Schedule updated successfully: {}", scheduleId);
 
         return mapToResponse(schedule);
@@ -152,10 +161,19 @@ public class ScheduleService {
         // Soft delete
         schedule.setIsActive(false);
         scheduleRepository.save(schedule);
+        publishScheduleChanged(business);
 
         log.info("Schedule deleted (deactivated) successfully: {}", scheduleId);
     }
 
+    /**
+     * Le modèle hebdomadaire et les disponibilités en cache dépendent des horaires
+     */
+    private void publishScheduleChanged(Business business) {
+        eventPublisher.publishEvent(new ScheduleChangedEvent(business.getId()));
+        eventPublisher.publishEvent(AvailabilityChangedEvent.forBusiness(business.getId()));
+    }
+
     private Business getAuthenticatedUserBusiness() {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
         User user = userRepository.findByEmail(email)
@@ -2,6 +2,8 @@ package com.booking.api.service;
 
 import com.booking.api.dto.request.ServiceRequest;
 import com.booking.api.dto.response.ServiceResponse;
+import com.booking.api.event.AvailabilityChangedEvent;
+import com.booking.api.event.BusinessChangedEvent;
 import com.booking.api.model.Business;
 import com.booking.api.model.Service;
 import com.booking.api.model.User;
@@ -10,6 +12,7 @@ import com.booking.api.repository.ServiceRepository;
 import com.booking.api.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +28,7 @@ public class ServiceService {
     private final ServiceRepository serviceRepository;
     private final BusinessRepository businessRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Récupère tous les services du business de l'utilisateur connecté
@@ -97,6 +101,7 @@ public class ServiceService {
                 .build();
 
         service = serviceRepository.save(service);
+        publishCatalogueChanged(business);
         log.info("Service created successfully: {}", service.getId());
 
         return mapToResponse(service);
@@ -142,6 +147,7 @@ public class ServiceService {
         }
 
         service = serviceRepository.save(service);
+        publishCatalogueChanged(business);
         log.info("Service updated successfully: {}", serviceId);
 
         return mapToResponse(service);
@@ -166,10 +172,19 @@ public class ServiceService {
         // Soft delete
         service.setIsActive(false);
         serviceRepository.save(service);
+        publishCatalogueChanged(business);
 
         log.info("Service deleted (deactivated) successfully: {}", serviceId);
     }
 
+    /**
+     * La liste publique des services et les créneaux (durée) dépendent du catalogue
+     */
+    private void publishCatalogueChanged(Business business) {
+        eventPublisher.publishEvent(new BusinessChangedEvent(business.getId(), business.getSlug()));
+        eventPublisher.publishEvent(AvailabilityChangedEvent.forBusiness(business.getId()));
+    }
+
     private Business getAuthenticatedUserBusiness() {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
         User user = userRepository.findByEmail(email)
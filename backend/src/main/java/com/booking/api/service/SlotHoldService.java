@@ -0,0 +1,214 @@
+package com.booking.api.service;
+
+import com.booking.api.cache.BusinessDirectory;
+import com.booking.api.cache.BusinessSnapshot;
+import com.booking.api.cache.WeeklyTemplateCache;
+import com.booking.api.dto.request.SlotHoldRequest;
+import com.booking.api.dto.response.SlotHoldResponse;
+import com.booking.api.exception.BadRequestException;
+import com.booking.api.exception.ConflictException;
+import com.booking.api.exception.NotFoundException;
+import com.booking.api.exception.ServiceUnavailableException;
+import com.booking.api.exception.TooManyRequestsException;
+import com.booking.api.hold.SlotHold;
+import com.booking.api.hold.SlotHoldStore;
+import com.booking.api.metrics.BookingMetrics;
+import com.booking.api.repository.AppointmentRepository;
+import com.booking.api.repository.ServiceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Short-lived slot holds taken while a customer fills in the booking form. A hold
+ * makes the slot unavailable to everybody else until it is converted into an
+ * appointment, released or expired, so concurrent customers are turned away before
+ * they submit instead of failing at insert time.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SlotHoldService {
+
+    private final BusinessDirectory businessDirectory;
+    private final ServiceRepository serviceRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final WeeklyTemplateCache weeklyTemplateCache;
+    private final SlotHoldStore slotHoldStore;
+    private final BookingMetrics bookingMetrics;
+
+    @Value("${app.booking.hold.ttl:5m}")
+    private Duration holdTtl;
+
+    @Value("${app.booking.hold.max-per-business:20}")
+    private int maxHoldsPerBusiness;
+
+    @Value("${app.booking.hold.max-per-client:3}")
+    private int maxHoldsPerClient;
+
+    /**
+     * Holds one slot for {@code app.booking.hold.ttl}. The slot must be within opening
+     * hours, free of appointments and not held by anyone else, and neither the business
+     * nor {@code clientId} may already have their maximum of live holds.
+     *
+     * @throws TooManyRequestsException    when a hold cap is reached
+     * @throws ServiceUnavailableException when the hold store cannot be reached
+     */
+    @Transactional(readOnly = true)
+    public SlotHoldResponse holdSlot(String businessSlug, SlotHoldRequest request, String clientId) {
+        BusinessSnapshot business = businessDirectory.findBySlug(businessSlug)
+                .orElseThrow(() -> new NotFoundException("Business not found"));
+
+        com.booking.api.model.Service service = serviceRepository
+                .findByIdAndBusinessId(request.getServiceId(), business.id())
+                .orElseThrow(() -> new NotFoundException("Service not found"));
+
+        if (!service.getIsActive()) {
+            throw new BadRequestException("Service is not active");
+        }
+
+        LocalDateTime start = request.getAppointmentDatetime();
+        if (start.isBefore(LocalDateTime.now())) {
+            throw new BadRequestException("Cannot hold a slot in the past");
+        }
+
+        LocalDate date = start.toLocalDate();
+        int startMinute = DayOccupancy.minuteOfDay(start.toLocalTime());
+        int endMinute = startMinute + service.getDurationMinutes();
+
+        WeeklyTemplate template = weeklyTemplateCache.get(business.id());
+        if (!template.isOpen(date)
+                || startMinute < template.openMinute(date)
+                || endMinute > template.closeMinute(date)) {
+            throw new BadRequestException("Requested time is outside opening hours");
+        }
+
+        DayOccupancy occupancy = new DayOccupancy();
+        occupancy.occupyAll(appointmentRepository.findByBusinessIdAndDateRange(
+                business.id(),
+                LocalDateTime.of(date, LocalTime.MIN),
+                LocalDateTime.of(date, LocalTime.MAX)));
+        if (!occupancy.isFree(startMinute, endMinute)) {
+            bookingMetrics.recordSlotHolds("rejected", 1);
+            throw new ConflictException("This time slot is no longer available");
+        }
+
+        SlotHold hold = new SlotHold(
+                UUID.randomUUID().toString(),
+                business.id(),
+                service.getId(),
+                start,
+                service.getDurationMinutes(),
+                Instant.now().plus(holdTtl),
+                clientId);
+
+        switch (slotHoldStore.tryHold(hold, maxHoldsPerBusiness, maxHoldsPerClient)) {
+            case HELD -> { }
+            case SLOT_TAKEN -> {
+                bookingMetrics.recordSlotHolds("rejected", 1);
+                throw new ConflictException("This time slot is no longer available");
+            }
+            case LIMIT_REACHED -> {
+                bookingMetrics.recordSlotHolds("limited", 1);
+                throw new TooManyRequestsException("Too many slots held, book or release one first");
+            }
+            case UNAVAILABLE -> throw new ServiceUnavailableException(
+                    "Slot holds are unavailable, the slot can still be booked directly");
+        }
+
+        bookingMetrics.recordSlotHolds("created", 1);
+        log.debug("Slot {} held for business {} until {}", start, business.id(), hold.expiresAt());
+
+        return toSlotHoldResponse(hold);
+    }
+
+    /**
+     * Gives a held slot back before its expiry (customer left the booking form).
+     */
+    public void releaseHold(String businessSlug, String holdToken) {
+        BusinessSnapshot business = businessDirectory.findBySlug(businessSlug)
+                .orElseThrow(() -> new NotFoundException("Business not found"));
+
+        SlotHold hold = slotHoldStore.find(business.id(), holdToken)
+                .orElseThrow(() -> new NotFoundException("Slot hold not found"));
+
+        slotHoldStore.release(hold);
+        bookingMetrics.recordSlotHolds("released", 1);
+    }
+
+    /**
+     * Checks a booking against live holds before it is inserted. Returns the caller's
+     * own hold when {@code holdToken} is still live, so it can be {@link #consume consumed}
+     * once the appointment is stored; an expired or unknown token books like a request
+     * without one.
+     *
+     * @throws BadRequestException when the hold was taken for another service or time
+     * @throws ConflictException   when another customer holds an overlapping slot
+     */
+    public Optional<SlotHold> claim(UUID businessId, UUID serviceId, LocalDateTime start,
+                                    int durationMinutes, String holdToken) {
+        Optional<SlotHold> own = holdToken == null
+                ? Optional.empty()
+                : slotHoldStore.find(businessId, holdToken);
+
+        if (own.isPresent()
+                && (!own.get().serviceId().equals(serviceId) || !own.get().start().equals(start))) {
+            throw new BadRequestException("Slot hold does not match this booking");
+        }
+
+        LocalDate date = start.toLocalDate();
+        int startMinute = DayOccupancy.minuteOfDay(start.toLocalTime());
+        for (SlotHold hold : slotHoldStore.findActive(businessId)) {
+            if (own.isPresent() && hold.token().equals(own.get().token())) {
+                continue;
+            }
+            if (hold.overlaps(date, startMinute, startMinute + durationMinutes)) {
+                throw new ConflictException("This time slot is temporarily held by another customer");
+            }
+        }
+
+        return own;
+    }
+
+    /**
+     * Drops a hold whose appointment has been stored.
+     */
+    public void consume(SlotHold hold) {
+        slotHoldStore.release(hold);
+        bookingMetrics.recordSlotHolds("converted", 1);
+    }
+
+    /**
+     * Purges expired holds. Lookups already ignore them, this only reclaims memory.
+     */
+    @Scheduled(fixedDelayString = "${app.booking.hold.sweep-interval:PT30S}")
+    public void sweepExpiredHolds() {
+        int purged = slotHoldStore.purgeExpired(Instant.now());
+        if (purged > 0) {
+            bookingMetrics.recordSlotHolds("expired", purged);
+            log.debug("Purged {} expired slot holds", purged);
+        }
+    }
+
+    private SlotHoldResponse toSlotHoldResponse(SlotHold hold) {
+        return SlotHoldResponse.builder()
+                .holdToken(hold.token())
+                .serviceId(hold.serviceId())
+                .appointmentDatetime(hold.start())
+                .durationMinutes(hold.durationMinutes())
+                .expiresAt(LocalDateTime.ofInstant(hold.expiresAt(), ZoneId.systemDefault()))
+                .build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.booking.api.service;
+
+import com.booking.api.model.Schedule;
+import com.booking.api.model.ScheduleException;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable opening hours of one business: one open/close minute range per day of
+ * week plus an overlay of schedule exceptions by date. A closed exception removes
+ * the day, a partial one ({@code isClosed=false} with start and end times) replaces
+ * the regular hours for that date.
+ */
+public final class WeeklyTemplate {
+
+    static final int DEFAULT_SLOT_DURATION_MINUTES = 30;
+
+    private static final int CLOSED = -1;
+    private static final Hours CLOSED_DAY = new Hours(CLOSED, CLOSED, DEFAULT_SLOT_DURATION_MINUTES);
+
+    // Indexed by DayOfWeek.ordinal(), CLOSED when there is no active schedule that day
+    private final int[] openMinutes;
+    private final int[] closeMinutes;
+    private final int[] slotDurations;
+
+    private final Map<LocalDate, Hours> exceptions;
+
+    private WeeklyTemplate(int[] openMinutes, int[] closeMinutes, int[] slotDurations,
+                           Map<LocalDate, Hours> exceptions) {
+        this.openMinutes = openMinutes;
+        this.closeMinutes = closeMinutes;
+        this.slotDurations = slotDurations;
+        this.exceptions = exceptions;
+    }
+
+    public static WeeklyTemplate build(Collection<Schedule> schedules, Collection<ScheduleException> scheduleExceptions) {
+        int[] openMinutes = new int[7];
+        int[] closeMinutes = new int[7];
+        int[] slotDurations = new int[7];
+        Arrays.fill(openMinutes, CLOSED);
+        Arrays.fill(closeMinutes, CLOSED);
+        Arrays.fill(slotDurations, DEFAULT_SLOT_DURATION_MINUTES);
+
+        for (Schedule schedule : schedules) {
+            if (!Boolean.TRUE.equals(schedule.getIsActive())) {
+                continue;
+            }
+            int day = schedule.getDayOfWeek().ordinal();
+            openMinutes[day] = DayOccupancy.minuteOfDay(schedule.getStartTime());
+            closeMinutes[day] = DayOccupancy.minuteOfDay(schedule.getEndTime());
+            if (schedule.getSlotDurationMinutes() != null) {
+                slotDurations[day] = schedule.getSlotDurationMinutes();
+            }
+        }
+
+        Map<LocalDate, Hours> exceptions = new HashMap<>();
+        for (ScheduleException exception : scheduleExceptions) {
+            LocalDate date = exception.getExceptionDate();
+            if (!Boolean.FALSE.equals(exception.getIsClosed())) {
+                exceptions.put(date, CLOSED_DAY);
+            } else if (exception.getStartTime() != null && exception.getEndTime() != null) {
+                exceptions.put(date, new Hours(
+                        DayOccupancy.minuteOfDay(exception.getStartTime()),
+                        DayOccupancy.minuteOfDay(exception.getEndTime()),
+                        slotDurations[date.getDayOfWeek().ordinal()]));
+            }
+            // Not closed and no hours: the regular schedule applies
+        }
+
+        return new WeeklyTemplate(openMinutes, closeMinutes, slotDurations, Map.copyOf(exceptions));
+    }
+
+    public boolean isOpen(LocalDate date) {
+        int open = openMinute(date);
+        return open != CLOSED && open < closeMinute(date);
+    }
+
+    public int openMinute(LocalDate date) {
+        Hours exception = exceptions.get(date);
+        return exception != null ? exception.openMinute() : openMinutes[date.getDayOfWeek().ordinal()];
+    }
+
+    public int closeMinute(LocalDate date) {
+        Hours exception = exceptions.get(date);
+        return exception != null ? exception.closeMinute() : closeMinutes[date.getDayOfWeek().ordinal()];
+    }
+
+    public int slotDurationMinutes(LocalDate date) {
+        Hours exception = exceptions.get(date);
+        return exception != null ? exception.slotDurationMinutes() : slotDurations[date.getDayOfWeek().ordinal()];
+    }
+
+    private record Hours(int openMinute, int closeMinute, int slotDurationMinutes) {
+    }
+}
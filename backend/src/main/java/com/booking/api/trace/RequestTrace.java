@@ -0,0 +1,65 @@
+package com.booking.api.trace;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository calls recorded during one sampled request. Only touched by the thread
+ * running the request.
+ */
+final class RequestTrace {
+
+    private final String operation;
+    private final long startNanos;
+    private final List<Call> calls = new ArrayList<>();
+
+    RequestTrace(String operation, long startNanos) {
+        this.operation = operation;
+        this.startNanos = startNanos;
+    }
+
+    String operation() {
+        return operation;
+    }
+
+    long startNanos() {
+        return startNanos;
+    }
+
+    List<Call> calls() {
+        return calls;
+    }
+
+    void record(String call, long nanos) {
+        calls.add(new Call(call, nanos));
+    }
+
+    /**
+     * One line summary: total time then count and cumulated time per repository call,
+     * in first-call order.
+     */
+    String format(long totalNanos) {
+        Map<String, long[]> byCall = new LinkedHashMap<>();
+        for (Call call : calls) {
+            long[] stats = byCall.computeIfAbsent(call.name(), name -> new long[2]);
+            stats[0]++;
+            stats[1] += call.nanos();
+        }
+
+        StringBuilder line = new StringBuilder("trace op=").append(operation)
+                .append(" total=").append(millis(totalNanos)).append("ms")
+                .append(" calls=").append(calls.size());
+        byCall.forEach((name, stats) -> line.append(' ').append(name)
+                .append('=').append(stats[0]).append('x').append(millis(stats[1])).append("ms"));
+        return line.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+
+    record Call(String name, long nanos) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.booking.api.trace;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wires the {@link RequestTracer} around {@link Traced} methods and Spring Data
+ * repositories. Runs outside the transaction advice so commit time is included.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class RequestTraceAspect {
+
+    private static final String REPOSITORY_PACKAGE = "com.booking.api.repository";
+
+    private final RequestTracer requestTracer;
+
+    @Around("@annotation(com.booking.api.trace.Traced)")
+    public Object traceRequest(ProceedingJoinPoint joinPoint) throws Throwable {
+        Traced traced = ((MethodSignature) joinPoint.getSignature()).getMethod().getAnnotation(Traced.class);
+        RequestTrace trace = requestTracer.begin(traced.value());
+        if (trace == null) {
+            return joinPoint.proceed();
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            requestTracer.end(trace);
+        }
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object traceRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!requestTracer.isActive()) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            requestTracer.recordCall(callName(joinPoint), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * "AppointmentRepository.findById" rather than the Spring Data interface that
+     * declares inherited methods.
+     */
+    private static String callName(ProceedingJoinPoint joinPoint) {
+        String method = joinPoint.getSignature().getName();
+        for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis())) {
+            if (type.getPackageName().equals(REPOSITORY_PACKAGE)) {
+                return type.getSimpleName() + "." + method;
+            }
+        }
+        return joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + method;
+    }
+}
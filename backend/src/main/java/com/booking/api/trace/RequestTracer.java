@@ -0,0 +1,85 @@
+package com.booking.api.trace;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sampled per-request tracing for the availability and booking paths. A fraction
+ * ({@code app.trace.sample-rate}) of {@link Traced} requests record the duration of
+ * each repository call; when the request ends the trace is emitted as one log line
+ * and as "request.trace" / "request.trace.repository" timers. Unsampled requests cost
+ * one random draw and a thread-local read per repository call.
+ */
+@Component
+@Slf4j
+public class RequestTracer {
+
+    public static final String REQUEST_TIMER = "request.trace";
+    public static final String REPOSITORY_TIMER = "request.trace.repository";
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private final double sampleRate;
+    private final MeterRegistry meterRegistry;
+
+    public RequestTracer(@Value("${app.trace.sample-rate:0.01}") double sampleRate,
+                         MeterRegistry meterRegistry) {
+        this.sampleRate = sampleRate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Starts a trace for {@code operation} if this request is sampled. Returns null when
+     * it is not, or when a trace is already running on this thread (the nested call is
+     * then part of the outer trace).
+     */
+    RequestTrace begin(String operation) {
+        if (CURRENT.get() != null || !sampled()) {
+            return null;
+        }
+        RequestTrace trace = new RequestTrace(operation, System.nanoTime());
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    void end(RequestTrace trace) {
+        CURRENT.remove();
+        long totalNanos = System.nanoTime() - trace.startNanos();
+
+        Timer.builder(REQUEST_TIMER)
+                .tag("operation", trace.operation())
+                .register(meterRegistry)
+                .record(totalNanos, TimeUnit.NANOSECONDS);
+        for (RequestTrace.Call call : trace.calls()) {
+            Timer.builder(REPOSITORY_TIMER)
+                    .tag("operation", trace.operation())
+                    .tag("call", call.name())
+                    .register(meterRegistry)
+                    .record(call.nanos(), TimeUnit.NANOSECONDS);
+        }
+
+        log.info(trace.format(totalNanos));
+    }
+
+    boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    void recordCall(String call, long nanos) {
+        RequestTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.record(call, nanos);
+        }
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0
+                || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+}
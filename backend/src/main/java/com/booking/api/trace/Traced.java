@@ -0,0 +1,22 @@
+package com.booking.api.trace;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service entry point whose requests are sampled by the {@link RequestTracer}.
+ * Repository calls made while a sampled request runs are timed individually.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Traced {
+
+    /**
+     * Operation name used in the trace line and as the "operation" metric tag
+     */
+    String value();
+}
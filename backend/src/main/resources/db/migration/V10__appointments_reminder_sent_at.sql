@@ -0,0 +1,14 @@
+-- V10: Suivi des rappels envoyés et index de la tâche de rappels
+-- Date: 2026-10-17
+-- Description: La fenêtre de rappel (23 h - 24 h) est parcourue toutes les heures, et les
+-- rappels partent aussi à l'échéance depuis chaque instance : un même rendez-vous est vu
+-- plusieurs fois (bornes incluses). reminder_sent_at est posé par un
+-- UPDATE ... RETURNING (FOR UPDATE SKIP LOCKED) qui réserve les rendez-vous à rappeler : un
+-- rendez-vous n'est rappelé qu'une fois, même avec plusieurs instances de l'API.
+
+ALTER TABLE appointments ADD COLUMN reminder_sent_at TIMESTAMP;
+
+-- Rendez-vous actifs pas encore rappelés, tous business confondus, parcourus par lots triés
+-- sur (appointment_datetime, id)
+CREATE INDEX idx_appointments_reminder_due ON appointments(appointment_datetime, id)
+    WHERE reminder_sent_at IS NULL AND status IN ('PENDING', 'CONFIRMED');
@@ -0,0 +1,14 @@
+-- V11: Instances actives pour le partage des tâches planifiées
+-- Date: 2026-10-17
+-- Description: Chaque instance de l'API enregistre ici un battement de cœur périodique.
+-- Le job de rappels répartit les businesses entre les instances vues vivantes (hachage
+-- de business_id) ; une instance sans battement récent est retirée et son lot repris
+-- par les autres au passage suivant.
+
+CREATE TABLE scheduler_nodes (
+    node_id VARCHAR(100) PRIMARY KEY,
+    started_at TIMESTAMP NOT NULL,
+    heartbeat_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_scheduler_nodes_heartbeat_at ON scheduler_nodes(heartbeat_at);
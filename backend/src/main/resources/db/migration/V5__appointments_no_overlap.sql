@@ -0,0 +1,17 @@
+-- V5: Contrainte d'exclusion contre les doubles réservations
+-- Date: 2026-10-17
+-- Description: Deux rendez-vous actifs (PENDING / CONFIRMED) d'un même business ne peuvent
+-- pas se chevaucher. La base rejette l'INSERT / UPDATE fautif (SQLSTATE 23P01), ce qui
+-- remplace la lecture + verrou applicatif avant chaque réservation.
+-- Échoue si des chevauchements existent déjà : les annuler avant de migrer.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE appointments ADD CONSTRAINT appointments_no_overlap
+    EXCLUDE USING gist (
+        business_id WITH =,
+        tsrange(appointment_datetime,
+                appointment_datetime + duration_minutes * INTERVAL '1 minute',
+                '[)') WITH &&
+    )
+    WHERE (status IN ('PENDING', 'CONFIRMED'));
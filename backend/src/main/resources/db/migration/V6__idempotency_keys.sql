@@ -0,0 +1,19 @@
+-- V6: Clés d'idempotence des réservations publiques
+-- Date: 2026-10-17
+-- Description: Une réservation envoyée avec l'en-tête Idempotency-Key enregistre ici la
+-- réponse renvoyée au client, dans la même transaction que le rendez-vous. Un renvoi de
+-- la même requête (réseau mobile instable) rejoue cette réponse sans recréer de
+-- rendez-vous ni renvoyer d'email. Les lignes sont purgées après la durée de rétention.
+
+CREATE TABLE idempotency_keys (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    business_id UUID NOT NULL REFERENCES businesses(id) ON DELETE CASCADE,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    appointment_id UUID REFERENCES appointments(id) ON DELETE CASCADE,
+    response TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_idempotency_keys_business_key UNIQUE (business_id, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys(created_at);
@@ -0,0 +1,26 @@
+-- V7: Outbox transactionnel des événements de réservation
+-- Date: 2026-10-17
+-- Description: La réservation (et l'annulation) écrit un événement dans la même transaction
+-- que le rendez-vous ; un dispatcher lit les événements par lots (FOR UPDATE SKIP LOCKED)
+-- et envoie les emails hors de la requête HTTP. Plusieurs instances peuvent dépiler en
+-- parallèle sans traiter deux fois le même événement.
+
+CREATE TABLE outbox_events (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    event_type VARCHAR(50) NOT NULL CHECK (event_type IN (
+        'BOOKING_CREATED', 'APPOINTMENT_CANCELLED'
+    )),
+    aggregate_id UUID NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING' CHECK (status IN (
+        'PENDING', 'PROCESSED', 'FAILED'
+    )),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error TEXT,
+    available_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP
+);
+
+-- Seuls les événements en attente sont lus par le dispatcher
+CREATE INDEX idx_outbox_events_pending ON outbox_events(available_at) WHERE status = 'PENDING';
+CREATE INDEX idx_outbox_events_processed_at ON outbox_events(processed_at);
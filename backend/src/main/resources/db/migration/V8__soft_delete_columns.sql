@@ -0,0 +1,8 @@
+-- V8: Colonnes de suppression logique manquantes
+-- Date: 2026-10-17
+-- Description: Les entités Business et Customer mappent une colonne deleted_at (remplie par
+-- la suppression RGPD) qu'aucune migration ne créait : une base migrée par Flyway ne passait
+-- pas la validation du schéma Hibernate (ddl-auto: validate) au démarrage.
+
+ALTER TABLE businesses ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP;
+ALTER TABLE customers ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP;
@@ -0,0 +1,16 @@
+-- V9: Réservation de plusieurs prestations en une visite
+-- Date: 2026-10-17
+-- Description: Les rendez-vous créés ensemble (ex. coupe + couleur, enchaînées) partagent un
+-- booking_group_id ; un seul événement d'outbox BOOKING_GROUP_CREATED, porté par ce groupe,
+-- déclenche un email de confirmation unique pour toute la visite.
+
+ALTER TABLE appointments ADD COLUMN booking_group_id UUID;
+
+-- Seuls les rendez-vous réservés en groupe sont indexés
+CREATE INDEX idx_appointments_booking_group_id ON appointments(booking_group_id)
+    WHERE booking_group_id IS NOT NULL;
+
+ALTER TABLE outbox_events DROP CONSTRAINT outbox_events_event_type_check;
+ALTER TABLE outbox_events ADD CONSTRAINT outbox_events_event_type_check CHECK (event_type IN (
+    'BOOKING_CREATED', 'BOOKING_GROUP_CREATED', 'APPOINTMENT_CANCELLED'
+));
@@ -0,0 +1,104 @@
+package com.booking.api.cache;
+
+import com.booking.api.event.BusinessChangedEvent;
+import com.booking.api.model.Business;
+import com.booking.api.repository.BusinessRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BusinessDirectoryTest {
+
+    private static final String SLUG = "salon-marie";
+
+    @Mock
+    private BusinessRepository businessRepository;
+
+    private BusinessDirectory businessDirectory;
+    private Business business;
+
+    @BeforeEach
+    void setUp() {
+        businessDirectory = new BusinessDirectory(businessRepository, new SimpleMeterRegistry());
+        business = Business.builder()
+                .id(UUID.randomUUID())
+                .slug(SLUG)
+                .businessName("Salon Marie")
+                .address("1 rue de la Paix")
+                .isActive(true)
+                .build();
+    }
+
+    @Test
+    void findBySlug_LoadsOnceThenServesSnapshot() {
+        // Given
+        when(businessRepository.findBySlug(SLUG)).thenReturn(Optional.of(business));
+
+        // When
+        Optional<BusinessSnapshot> first = businessDirectory.findBySlug(SLUG);
+        Optional<BusinessSnapshot> second = businessDirectory.findBySlug(SLUG);
+
+        // Then
+        assertEquals(new BusinessSnapshot(business.getId(), SLUG, true, "Salon Marie", "1 rue de la Paix"),
+                first.orElseThrow());
+        assertSame(first.get(), second.orElseThrow());
+        verify(businessRepository, times(1)).findBySlug(SLUG);
+    }
+
+    @Test
+    void findBySlug_UnknownSlugIsNotRemembered() {
+        // Given
+        when(businessRepository.findBySlug(SLUG)).thenReturn(Optional.empty());
+
+        // When
+        businessDirectory.findBySlug(SLUG);
+        Optional<BusinessSnapshot> result = businessDirectory.findBySlug(SLUG);
+
+        // Then
+        assertTrue(result.isEmpty());
+        assertEquals(0, businessDirectory.size());
+        verify(businessRepository, times(2)).findBySlug(SLUG);
+    }
+
+    @Test
+    void onBusinessChanged_NextLookupSeesUpdatedBusiness() {
+        // Given
+        when(businessRepository.findBySlug(SLUG)).thenReturn(Optional.of(business));
+        businessDirectory.findBySlug(SLUG);
+
+        business.setIsActive(false);
+
+        // When
+        businessDirectory.onBusinessChanged(new BusinessChangedEvent(business.getId(), SLUG));
+        BusinessSnapshot snapshot = businessDirectory.findBySlug(SLUG).orElseThrow();
+
+        // Then
+        assertFalse(snapshot.active());
+    }
+
+    @Test
+    void onBusinessChanged_LoadRacingWithInvalidationIsNotStored() {
+        // Given: the business changes while its old row is being loaded
+        when(businessRepository.findBySlug(SLUG)).thenAnswer(invocation -> {
+            businessDirectory.onBusinessChanged(new BusinessChangedEvent(business.getId(), SLUG));
+            return Optional.of(business);
+        });
+
+        // When
+        Optional<BusinessSnapshot> result = businessDirectory.findBySlug(SLUG);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(0, businessDirectory.size());
+    }
+}
@@ -0,0 +1,110 @@
+package com.booking.api.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CallerThreadLoaderTest {
+
+    private AsyncCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = Caffeine.newBuilder().maximumSize(100).buildAsync();
+    }
+
+    @Test
+    void missingEntry_IsLoadedOnCallerThreadAndCached() {
+        // Given
+        Thread caller = Thread.currentThread();
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        String first = CallerThreadLoader.get(cache, "key", key -> {
+            assertSame(caller, Thread.currentThread());
+            loads.incrementAndGet();
+            return "value";
+        });
+        String second = CallerThreadLoader.get(cache, "key", key -> {
+            loads.incrementAndGet();
+            return "other";
+        });
+
+        // Then
+        assertEquals("value", first);
+        assertEquals("value", second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void concurrentCallers_WaitForTheSameLoad() throws Exception {
+        // Given: a load blocked until released
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> owner = CompletableFuture.supplyAsync(() ->
+                CallerThreadLoader.get(cache, "key", key -> {
+                    loads.incrementAndGet();
+                    loading.countDown();
+                    await(release);
+                    return "value";
+                }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // When: a second caller arrives while the load is in flight
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(() ->
+                CallerThreadLoader.get(cache, "key", key -> {
+                    loads.incrementAndGet();
+                    return "other";
+                }));
+        release.countDown();
+
+        // Then
+        assertEquals("value", owner.get(5, TimeUnit.SECONDS));
+        assertEquals("value", waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void failedLoad_IsRethrownAndNotCached() {
+        // When
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () ->
+                CallerThreadLoader.get(cache, "key", key -> {
+                    throw new IllegalStateException("database down");
+                }));
+
+        // Then
+        assertEquals("database down", thrown.getMessage());
+        assertEquals("value", CallerThreadLoader.get(cache, "key", key -> "value"));
+    }
+
+    @Test
+    void invalidationDuringLoad_DropsTheResult() {
+        // When
+        String loaded = CallerThreadLoader.get(cache, "key", key -> {
+            cache.synchronous().invalidate(key);
+            return "stale";
+        });
+
+        // Then: returned to its caller, but not stored
+        assertEquals("stale", loaded);
+        assertNull(cache.getIfPresent("key"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
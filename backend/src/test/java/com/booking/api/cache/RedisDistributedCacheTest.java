@@ -0,0 +1,322 @@
+package com.booking.api.cache;
+
+import com.booking.api.dto.response.AvailabilityResponse;
+import com.booking.api.dto.response.BusinessResponse;
+import com.booking.api.dto.response.ServiceResponse;
+import com.booking.api.event.AvailabilityChangedEvent;
+import com.booking.api.event.BusinessChangedEvent;
+import com.booking.api.repository.BusinessRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the Redis tier against an embedded redis-server; skipped when the binary
+ * cannot be started on this machine.
+ */
+class RedisDistributedCacheTest {
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private StringRedisTemplate redisTemplate;
+    private ObjectMapper objectMapper;
+    private RedisDistributedCache distributedCache;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        try {
+            redisServer = new RedisServer(port);
+            redisServer.start();
+        } catch (IOException | RuntimeException e) {
+            redisServer = null;
+        }
+        assumeTrue(redisServer != null, "embedded redis-server unavailable");
+
+        connectionFactory = new LettuceConnectionFactory("localhost", port);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        distributedCache = new RedisDistributedCache(
+                redisTemplate, objectMapper, Duration.ofMinutes(1), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void flush() {
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+    }
+
+    @Test
+    void putAndGet_RoundTripsJson() {
+        // Given
+        BusinessResponse business = BusinessResponse.builder()
+                .id(UUID.randomUUID())
+                .slug("salon")
+                .businessName("Salon")
+                .isActive(true)
+                .build();
+
+        // When
+        distributedCache.put(CacheKeys.businessBySlug("salon"), business, 0);
+        Optional<BusinessResponse> cached =
+                distributedCache.get(CacheKeys.businessBySlug("salon"), BusinessResponse.class);
+
+        // Then
+        assertEquals(Optional.of(business), cached);
+        assertTrue(redisTemplate.getExpire(CacheKeys.businessBySlug("salon")) > 0);
+    }
+
+    @Test
+    void getList_RoundTripsElementType() {
+        // Given
+        List<ServiceResponse> services = List.of(
+                ServiceResponse.builder().id(UUID.randomUUID()).name("Coupe")
+                        .durationMinutes(30).price(BigDecimal.valueOf(25)).build(),
+                ServiceResponse.builder().id(UUID.randomUUID()).name("Couleur")
+                        .durationMinutes(90).price(BigDecimal.valueOf(70)).build());
+
+        // When
+        distributedCache.put(CacheKeys.activeServices("salon"), services, 0);
+
+        // Then
+        assertEquals(Optional.of(services),
+                distributedCache.getList(CacheKeys.activeServices("salon"), ServiceResponse.class));
+    }
+
+    @Test
+    void onAvailabilityChanged_DropsOnlyThatDate() {
+        // Given
+        UUID businessId = UUID.randomUUID();
+        UUID serviceId = UUID.randomUUID();
+        LocalDate monday = LocalDate.of(2030, 1, 7);
+        LocalDate tuesday = monday.plusDays(1);
+        String key = CacheKeys.availability(businessId);
+        distributedCache.putField(key, CacheKeys.availabilityField(serviceId, monday), availability(monday), 0);
+        distributedCache.putField(key, CacheKeys.availabilityField(serviceId, tuesday), availability(tuesday), 0);
+
+        // When
+        distributedCache.onAvailabilityChanged(AvailabilityChangedEvent.forDate(businessId, monday));
+
+        // Then
+        assertTrue(distributedCache.getField(key, CacheKeys.availabilityField(serviceId, monday),
+                AvailabilityResponse.class).isEmpty());
+        assertEquals(Optional.of(availability(tuesday)), distributedCache.getField(key,
+                CacheKeys.availabilityField(serviceId, tuesday), AvailabilityResponse.class));
+    }
+
+    @Test
+    void onAvailabilityChanged_ForBusiness_DropsEveryDate() {
+        // Given
+        UUID businessId = UUID.randomUUID();
+        UUID serviceId = UUID.randomUUID();
+        LocalDate monday = LocalDate.of(2030, 1, 7);
+        String key = CacheKeys.availability(businessId);
+        distributedCache.putField(key, CacheKeys.availabilityField(serviceId, monday), availability(monday), 0);
+        distributedCache.putField(key, CacheKeys.availabilityField(serviceId, monday.plusDays(1)),
+                availability(monday.plusDays(1)), 0);
+
+        // When
+        distributedCache.onAvailabilityChanged(AvailabilityChangedEvent.forBusiness(businessId));
+
+        // Then
+        assertTrue(distributedCache.getField(key, CacheKeys.availabilityField(serviceId, monday),
+                AvailabilityResponse.class).isEmpty());
+        assertTrue(distributedCache.getField(key, CacheKeys.availabilityField(serviceId, monday.plusDays(1)),
+                AvailabilityResponse.class).isEmpty());
+        assertFalse(redisTemplate.hasKey(key + ":fields"));
+    }
+
+    @Test
+    void putField_DoesNotExtendTheTtlOfOtherFields() {
+        // Given: Monday cached earlier, about to expire
+        UUID serviceId = UUID.randomUUID();
+        LocalDate monday = LocalDate.of(2030, 1, 7);
+        String key = CacheKeys.availability(UUID.randomUUID());
+        String mondayField = CacheKeys.availabilityField(serviceId, monday);
+        distributedCache.putField(key, mondayField, availability(monday), 0);
+        redisTemplate.expire(RedisDistributedCache.fieldKey(key, mondayField), Duration.ofSeconds(2));
+
+        // When
+        distributedCache.putField(key, CacheKeys.availabilityField(serviceId, monday.plusDays(1)),
+                availability(monday.plusDays(1)), 0);
+
+        // Then
+        assertTrue(redisTemplate.getExpire(RedisDistributedCache.fieldKey(key, mondayField)) <= 2);
+    }
+
+    @Test
+    void putField_AfterAnInvalidationDuringTheLoad_IsSkipped() {
+        // Given: a load reads the version, then a booking commits
+        UUID businessId = UUID.randomUUID();
+        UUID serviceId = UUID.randomUUID();
+        LocalDate monday = LocalDate.of(2030, 1, 7);
+        String key = CacheKeys.availability(businessId);
+        String field = CacheKeys.availabilityField(serviceId, monday);
+        long version = distributedCache.version(key);
+        distributedCache.onAvailabilityChanged(AvailabilityChangedEvent.forDate(businessId, monday));
+
+        // When: the load finishes with the pre-booking availability
+        distributedCache.putField(key, field, availability(monday), version);
+
+        // Then
+        assertTrue(distributedCache.getField(key, field, AvailabilityResponse.class).isEmpty());
+        distributedCache.putField(key, field, availability(monday), distributedCache.version(key));
+        assertEquals(Optional.of(availability(monday)),
+                distributedCache.getField(key, field, AvailabilityResponse.class));
+    }
+
+    @Test
+    void put_AfterABusinessChangeDuringTheLoad_IsSkipped() {
+        // Given: a load reads the version, then the business is updated
+        String key = CacheKeys.businessBySlug("salon");
+        long version = distributedCache.version(key);
+        distributedCache.onBusinessChanged(new BusinessChangedEvent(UUID.randomUUID(), "salon"));
+
+        // When: the load finishes with the previous profile
+        distributedCache.put(key, BusinessResponse.builder().slug("salon").businessName("Old").build(), version);
+
+        // Then
+        assertTrue(distributedCache.get(key, BusinessResponse.class).isEmpty());
+        BusinessResponse updated = BusinessResponse.builder().slug("salon").businessName("New").build();
+        distributedCache.put(key, updated, distributedCache.version(key));
+        assertEquals(Optional.of(updated), distributedCache.get(key, BusinessResponse.class));
+    }
+
+    @Test
+    void onBusinessChanged_DropsProfileAndServices() {
+        // Given
+        distributedCache.put(CacheKeys.businessBySlug("salon"), BusinessResponse.builder().slug("salon").build(), 0);
+        distributedCache.put(CacheKeys.activeServices("salon"), List.of(), 0);
+
+        // When
+        distributedCache.onBusinessChanged(new BusinessChangedEvent(UUID.randomUUID(), "salon"));
+
+        // Then
+        assertFalse(redisTemplate.hasKey(CacheKeys.businessBySlug("salon")));
+        assertFalse(redisTemplate.hasKey(CacheKeys.activeServices("salon")));
+    }
+
+    @Test
+    void invalidationIsBroadcastToOtherNodes() throws Exception {
+        // Given: another node with its own in-process cache subscribed to the channel
+        AvailabilityCache otherNodeCache = new AvailabilityCache(
+                100, Duration.ofMinutes(1), new SimpleMeterRegistry(), new NoOpDistributedCache());
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        BusinessDirectory otherNodeDirectory = new BusinessDirectory(
+                mock(BusinessRepository.class), new SimpleMeterRegistry());
+        container.addMessageListener(
+                new CacheInvalidationSubscriber(otherNodeCache, otherNodeDirectory,
+                        mock(WeeklyTemplateCache.class), objectMapper),
+                new ChannelTopic(CacheKeys.INVALIDATION_CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+
+        UUID businessId = UUID.randomUUID();
+        LocalDate date = LocalDate.of(2030, 1, 7);
+        AtomicInteger loads = new AtomicInteger();
+        otherNodeCache.get(businessId, UUID.randomUUID(), date, () -> {
+            loads.incrementAndGet();
+            return availability(date);
+        });
+
+        try {
+            // When
+            distributedCache.onAvailabilityChanged(AvailabilityChangedEvent.forBusiness(businessId));
+
+            // Then
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (otherNodeCache.size() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals(0, otherNodeCache.size());
+            assertEquals(1, loads.get());
+        } finally {
+            container.stop();
+            container.destroy();
+        }
+    }
+
+    @Test
+    void unreachableRedis_BehavesAsMiss() {
+        // Given
+        LocalDate date = LocalDate.of(2030, 1, 7);
+        LettuceConnectionFactory deadFactory = new LettuceConnectionFactory("localhost", 1);
+        deadFactory.afterPropertiesSet();
+        deadFactory.start();
+        RedisDistributedCache offline = new RedisDistributedCache(
+                new StringRedisTemplate(deadFactory), objectMapper, Duration.ofMinutes(1),
+                new SimpleMeterRegistry());
+
+        try {
+            // When
+            offline.put(CacheKeys.businessBySlug("salon"), BusinessResponse.builder().build(), 0);
+            offline.onAvailabilityChanged(AvailabilityChangedEvent.forDate(UUID.randomUUID(), date));
+
+            // Then
+            assertTrue(offline.get(CacheKeys.businessBySlug("salon"), BusinessResponse.class).isEmpty());
+        } finally {
+            deadFactory.destroy();
+        }
+    }
+
+    private static AvailabilityResponse availability(LocalDate date) {
+        return AvailabilityResponse.builder()
+                .date(date)
+                .availableSlots(List.of(AvailabilityResponse.TimeSlot.builder()
+                        .startTime(LocalTime.of(9, 0))
+                        .endTime(LocalTime.of(9, 30))
+                        .available(true)
+                        .build()))
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.booking.api.cluster;
+
+import com.booking.api.model.SchedulerNode;
+import com.booking.api.repository.SchedulerNodeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterMembershipTest {
+
+    @Mock
+    private SchedulerNodeRepository schedulerNodeRepository;
+
+    private ClusterMembership clusterMembership;
+
+    @BeforeEach
+    void setUp() {
+        clusterMembership = new ClusterMembership(schedulerNodeRepository, "node-b", Duration.ofSeconds(90));
+    }
+
+    @Test
+    void heartbeat_SavesNodeAndRemovesSilentOnes() {
+        // Given
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        clusterMembership.heartbeat();
+
+        // Then
+        ArgumentCaptor<SchedulerNode> saved = ArgumentCaptor.forClass(SchedulerNode.class);
+        verify(schedulerNodeRepository).save(saved.capture());
+        assertEquals("node-b", saved.getValue().getNodeId());
+        assertFalse(saved.getValue().getHeartbeatAt().isBefore(before));
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(schedulerNodeRepository).deleteHeartbeatBefore(cutoff.capture());
+        assertEquals(Duration.ofSeconds(90), Duration.between(cutoff.getValue(), saved.getValue().getHeartbeatAt()));
+    }
+
+    @Test
+    void currentPartition_IsIndexAmongLiveNodes() {
+        // Given
+        when(schedulerNodeRepository.findLiveNodeIds(any())).thenReturn(List.of("node-a", "node-b", "node-c"));
+
+        // When
+        ClusterMembership.Partition partition = clusterMembership.currentPartition();
+
+        // Then
+        assertEquals(new ClusterMembership.Partition(1, 3), partition);
+        verify(schedulerNodeRepository).save(any(SchedulerNode.class));
+    }
+
+    @Test
+    void currentPartition_NotListed_TakesEverything() {
+        // Given
+        when(schedulerNodeRepository.findLiveNodeIds(any())).thenReturn(List.of("node-a"));
+
+        // When & Then
+        assertEquals(ClusterMembership.Partition.ALL, clusterMembership.currentPartition());
+    }
+
+    @Test
+    void currentPartition_DatabaseDown_TakesEverything() {
+        // Given
+        when(schedulerNodeRepository.save(any(SchedulerNode.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        // When & Then
+        assertEquals(ClusterMembership.Partition.ALL, clusterMembership.currentPartition());
+        verify(schedulerNodeRepository, never()).findLiveNodeIds(any());
+    }
+
+    @Test
+    void blankNodeId_GetsRandomId() {
+        // When
+        ClusterMembership first = new ClusterMembership(schedulerNodeRepository, "", Duration.ofSeconds(90));
+        ClusterMembership second = new ClusterMembership(schedulerNodeRepository, " ", Duration.ofSeconds(90));
+
+        // Then
+        assertFalse(first.nodeId().isBlank());
+        assertNotEquals(first.nodeId(), second.nodeId());
+    }
+
+    @Test
+    void leave_RemovesNode() {
+        // When
+        clusterMembership.leave();
+
+        // Then
+        verify(schedulerNodeRepository).deleteById("node-b");
+    }
+}
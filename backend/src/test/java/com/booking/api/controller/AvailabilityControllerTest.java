@@ -1,6 +1,8 @@
 package com.booking.api.controller;
 
 import com.booking.api.dto.response.AvailabilityResponse;
+import com.booking.api.dto.response.NextSlotResponse;
+import com.booking.api.exception.BadRequestException;
 import com.booking.api.service.AvailabilityService;
 import com.booking.api.service.JwtService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -14,6 +16,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.List;
@@ -465,4 +468,98 @@ class AvailabilityControllerTest {
                 .available(available)
                 .build();
     }
+
+    @Test
+    void getAvailabilityCalendar_Success() throws Exception {
+        // Given
+        LocalDate nextDate = testDate.plusDays(1);
+        AvailabilityResponse closedDay = AvailabilityResponse.builder()
+                .date(nextDate)
+                .availableSlots(Arrays.asList())
+                .build();
+
+        when(availabilityService.getAvailabilityCalendar(businessSlug, serviceId, testDate, nextDate))
+                .thenReturn(Arrays.asList(availabilityResponse, closedDay));
+
+        // When & Then
+        mockMvc.perform(get("/api/availability/{businessSlug}/calendar", businessSlug)
+                        .param("serviceId", serviceId.toString())
+                        .param("from", "2024-01-15")
+                        .param("to", "2024-01-16"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].date").value("2024-01-15"))
+                .andExpect(jsonPath("$[0].availableSlots.length()").value(4))
+                .andExpect(jsonPath("$[1].date").value("2024-01-16"))
+                .andExpect(jsonPath("$[1].availableSlots.length()").value(0));
+
+        verify(availabilityService, times(1))
+                .getAvailabilityCalendar(businessSlug, serviceId, testDate, nextDate);
+    }
+
+    @Test
+    void getAvailabilityCalendar_InvalidRange() throws Exception {
+        // Given
+        when(availabilityService.getAvailabilityCalendar(any(), any(), any(), any()))
+                .thenThrow(new BadRequestException("End date must not be before start date"));
+
+        // When & Then
+        mockMvc.perform(get("/api/availability/{businessSlug}/calendar", businessSlug)
+                        .param("serviceId", serviceId.toString())
+                        .param("from", "2024-01-16")
+                        .param("to", "2024-01-15"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getNextAvailableSlots_Success() throws Exception {
+        // Given
+        LocalDateTime after = LocalDateTime.of(2030, 1, 7, 10, 0);
+        when(availabilityService.findNextAvailableSlots(businessSlug, serviceId, after, 2))
+                .thenReturn(List.of(
+                        NextSlotResponse.builder().date(LocalDate.of(2030, 1, 7))
+                                .startTime(LocalTime.of(14, 0)).endTime(LocalTime.of(15, 0)).build(),
+                        NextSlotResponse.builder().date(LocalDate.of(2030, 1, 8))
+                                .startTime(LocalTime.of(9, 0)).endTime(LocalTime.of(10, 0)).build()));
+
+        // When & Then
+        mockMvc.perform(get("/api/availability/{businessSlug}/next", businessSlug)
+                        .param("serviceId", serviceId.toString())
+                        .param("after", "2030-01-07T10:00:00")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].date").value("2030-01-07"))
+                .andExpect(jsonPath("$[0].startTime").value("14:00:00"))
+                .andExpect(jsonPath("$[1].date").value("2030-01-08"));
+    }
+
+    @Test
+    void getNextAvailableSlots_DefaultsToFirstSlotFromNow() throws Exception {
+        // Given
+        when(availabilityService.findNextAvailableSlots(businessSlug, serviceId, null, 1))
+                .thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get("/api/availability/{businessSlug}/next", businessSlug)
+                        .param("serviceId", serviceId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        verify(availabilityService).findNextAvailableSlots(businessSlug, serviceId, null, 1);
+    }
+
+    @Test
+    void getNextAvailableSlots_InvalidLimit() throws Exception {
+        // Given
+        when(availabilityService.findNextAvailableSlots(businessSlug, serviceId, null, 0))
+                .thenThrow(new BadRequestException("Limit must be between 1 and 50"));
+
+        // When & Then
+        mockMvc.perform(get("/api/availability/{businessSlug}/next", businessSlug)
+                        .param("serviceId", serviceId.toString())
+                        .param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -1,29 +1,39 @@
 package com.booking.api.controller;
 
 import com.booking.api.dto.request.AppointmentRequest;
+import com.booking.api.dto.request.BatchAppointmentRequest;
 import com.booking.api.dto.request.CustomerRequest;
+import com.booking.api.dto.request.SlotHoldRequest;
 import com.booking.api.dto.response.AppointmentResponse;
+import com.booking.api.dto.response.SlotHoldResponse;
 import com.booking.api.exception.ConflictException;
+import com.booking.api.exception.TooManyRequestsException;
 import com.booking.api.exception.NotFoundException;
 import com.booking.api.model.Appointment.AppointmentStatus;
 import com.booking.api.service.AppointmentService;
 import com.booking.api.service.JwtService;
+import com.booking.api.service.SlotHoldService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -43,6 +53,9 @@ class BookingControllerTest {
     @MockitoBean
     private AppointmentService appointmentService;
 
+    @MockitoBean
+    private SlotHoldService slotHoldService;
+
     @MockitoBean
     private JwtService jwtService;
 
@@ -82,7 +95,7 @@ class BookingControllerTest {
 
     @Test
     void createAppointment_Success() throws Exception {
-        when(appointmentService.createAppointment(any(), any())).thenReturn(appointmentResponse);
+        when(appointmentService.createAppointment(any(), any(), any())).thenReturn(appointmentResponse);
 
         mockMvc.perform(post("/api/booking/{businessSlug}", businessSlug)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -91,12 +104,25 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.id").value(appointmentResponse.getId().toString()))
                 .andExpect(jsonPath("$.status").value("PENDING"));
 
-        verify(appointmentService, times(1)).createAppointment(any(), any());
+        verify(appointmentService, times(1)).createAppointment(any(), any(), any());
+    }
+
+    @Test
+    void createAppointment_PassesIdempotencyKey() throws Exception {
+        when(appointmentService.createAppointment(eq(businessSlug), any(), eq("retry-key")))
+                .thenReturn(appointmentResponse);
+
+        mockMvc.perform(post("/api/booking/{businessSlug}", businessSlug)
+                        .header("Idempotency-Key", "retry-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(appointmentRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(appointmentResponse.getId().toString()));
     }
 
     @Test
     void createAppointment_BusinessNotFound() throws Exception {
-        when(appointmentService.createAppointment(any(), any()))
+        when(appointmentService.createAppointment(any(), any(), any()))
                 .thenThrow(new NotFoundException("Business not found"));
 
         mockMvc.perform(post("/api/booking/{businessSlug}", businessSlug)
@@ -105,6 +131,134 @@ class BookingControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void createAppointment_OverlapRejectedByDatabase() throws Exception {
+        when(appointmentService.createAppointment(any(), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement", new SQLException(
+                        "ERROR: conflicting key value violates exclusion constraint \"appointments_no_overlap\"",
+                        "23P01")));
+
+        mockMvc.perform(post("/api/booking/{businessSlug}", businessSlug)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(appointmentRequest)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("This time slot is no longer available"));
+    }
+
+    @Test
+    void createAppointments_Success() throws Exception {
+        BatchAppointmentRequest request = BatchAppointmentRequest.builder()
+                .serviceIds(List.of(UUID.randomUUID(), UUID.randomUUID()))
+                .appointmentDatetime(LocalDateTime.now().plusDays(1))
+                .customer(appointmentRequest.getCustomer())
+                .build();
+        AppointmentResponse second = AppointmentResponse.builder()
+                .id(UUID.randomUUID())
+                .status(AppointmentStatus.PENDING)
+                .build();
+        when(appointmentService.createAppointments(eq(businessSlug), any()))
+                .thenReturn(List.of(appointmentResponse, second));
+
+        mockMvc.perform(post("/api/booking/{businessSlug}/batch", businessSlug)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(appointmentResponse.getId().toString()))
+                .andExpect(jsonPath("$[1].id").value(second.getId().toString()));
+    }
+
+    @Test
+    void createAppointments_WithoutServices() throws Exception {
+        BatchAppointmentRequest request = BatchAppointmentRequest.builder()
+                .serviceIds(List.of())
+                .appointmentDatetime(LocalDateTime.now().plusDays(1))
+                .customer(appointmentRequest.getCustomer())
+                .build();
+
+        mockMvc.perform(post("/api/booking/{businessSlug}/batch", businessSlug)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(appointmentService, never()).createAppointments(any(), any());
+    }
+
+    @Test
+    void holdSlot_Success() throws Exception {
+        SlotHoldRequest holdRequest = SlotHoldRequest.builder()
+                .serviceId(UUID.randomUUID())
+                .appointmentDatetime(LocalDateTime.now().plusDays(1))
+                .build();
+        SlotHoldResponse holdResponse = SlotHoldResponse.builder()
+                .holdToken("hold-token")
+                .serviceId(holdRequest.getServiceId())
+                .appointmentDatetime(holdRequest.getAppointmentDatetime())
+                .durationMinutes(30)
+                .expiresAt(LocalDateTime.now().plusMinutes(5))
+                .build();
+        when(slotHoldService.holdSlot(eq(businessSlug), any(), any())).thenReturn(holdResponse);
+
+        mockMvc.perform(post("/api/booking/{businessSlug}/hold", businessSlug)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(holdRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.holdToken").value("hold-token"))
+                .andExpect(jsonPath("$.durationMinutes").value(30));
+    }
+
+    @Test
+    void holdSlot_AlreadyHeld() throws Exception {
+        SlotHoldRequest holdRequest = SlotHoldRequest.builder()
+                .serviceId(UUID.randomUUID())
+                .appointmentDatetime(LocalDateTime.now().plusDays(1))
+                .build();
+        when(slotHoldService.holdSlot(eq(businessSlug), any(), any()))
+                .thenThrow(new ConflictException("This time slot is no longer available"));
+
+        mockMvc.perform(post("/api/booking/{businessSlug}/hold", businessSlug)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(holdRequest)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void holdSlot_TooManyHolds() throws Exception {
+        SlotHoldRequest holdRequest = SlotHoldRequest.builder()
+                .serviceId(UUID.randomUUID())
+                .appointmentDatetime(LocalDateTime.now().plusDays(1))
+                .build();
+        when(slotHoldService.holdSlot(eq(businessSlug), any(), eq("127.0.0.1")))
+                .thenThrow(new TooManyRequestsException("Too many slots held, book or release one first"));
+
+        mockMvc.perform(post("/api/booking/{businessSlug}/hold", businessSlug)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(holdRequest)))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void holdSlot_MissingService() throws Exception {
+        SlotHoldRequest holdRequest = SlotHoldRequest.builder()
+                .appointmentDatetime(LocalDateTime.now().plusDays(1))
+                .build();
+
+        mockMvc.perform(post("/api/booking/{businessSlug}/hold", businessSlug)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(holdRequest)))
+                .andExpect(status().isBadRequest());
+
+        verify(slotHoldService, never()).holdSlot(any(), any(), any());
+    }
+
+    @Test
+    void releaseHold_Success() throws Exception {
+        mockMvc.perform(delete("/api/booking/{businessSlug}/hold/{holdToken}", businessSlug, "hold-token"))
+                .andExpect(status().isNoContent());
+
+        verify(slotHoldService).releaseHold(businessSlug, "hold-token");
+    }
+
     @Test
     void getAppointment_Success() throws Exception {
         when(appointmentService.getAppointmentByToken(token)).thenReturn(appointmentResponse);
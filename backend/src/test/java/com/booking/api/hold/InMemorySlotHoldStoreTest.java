@@ -0,0 +1,111 @@
+package com.booking.api.hold;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemorySlotHoldStoreTest {
+
+    private final InMemorySlotHoldStore store = new InMemorySlotHoldStore();
+    private final UUID businessId = UUID.randomUUID();
+    private final LocalDate date = LocalDate.of(2030, 1, 7);
+
+    @Test
+    void tryHold_RejectsOverlapOnSameDayOnly() {
+        // Given
+        assertTrue(store.tryHold(hold(businessId, date.atTime(10, 0), Instant.now().plusSeconds(300))));
+
+        // When & Then
+        assertFalse(store.tryHold(hold(businessId, date.atTime(10, 15), Instant.now().plusSeconds(300))));
+        assertTrue(store.tryHold(hold(businessId, date.atTime(10, 30), Instant.now().plusSeconds(300))));
+        assertTrue(store.tryHold(hold(businessId, date.plusDays(1).atTime(10, 0), Instant.now().plusSeconds(300))));
+        assertTrue(store.tryHold(hold(UUID.randomUUID(), date.atTime(10, 0), Instant.now().plusSeconds(300))));
+    }
+
+    @Test
+    void tryHold_CapsLiveHoldsPerClientAndPerBusiness() {
+        // Given
+        assertEquals(HoldResult.HELD, store.tryHold(hold(date.atTime(9, 0), "client-a"), 3, 2));
+        assertEquals(HoldResult.HELD, store.tryHold(hold(date.atTime(10, 0), "client-a"), 3, 2));
+
+        // When & Then
+        assertEquals(HoldResult.LIMIT_REACHED, store.tryHold(hold(date.atTime(11, 0), "client-a"), 3, 2));
+        assertEquals(HoldResult.SLOT_TAKEN, store.tryHold(hold(date.atTime(10, 0), "client-b"), 3, 2));
+        assertEquals(HoldResult.HELD, store.tryHold(hold(date.atTime(11, 0), "client-b"), 3, 2));
+        assertEquals(HoldResult.LIMIT_REACHED, store.tryHold(hold(date.atTime(12, 0), "client-c"), 3, 2));
+        assertEquals(3, store.findActive(businessId).size());
+    }
+
+    @Test
+    void expiredHold_IsInvisibleAndDoesNotBlock() {
+        // Given
+        SlotHold expired = hold(businessId, date.atTime(10, 0), Instant.now().minusSeconds(1));
+        store.tryHold(expired);
+
+        // When & Then
+        assertTrue(store.find(businessId, expired.token()).isEmpty());
+        assertTrue(store.findActive(businessId).isEmpty());
+        assertTrue(store.tryHold(hold(businessId, date.atTime(10, 0), Instant.now().plusSeconds(300))));
+    }
+
+    @Test
+    void purgeExpired_CountsRemovedHolds() {
+        // Given
+        store.tryHold(hold(businessId, date.atTime(10, 0), Instant.now().plusSeconds(60)));
+        store.tryHold(hold(businessId, date.atTime(14, 0), Instant.now().plusSeconds(600)));
+
+        // When
+        int purged = store.purgeExpired(Instant.now().plusSeconds(120));
+
+        // Then
+        assertEquals(1, purged);
+        assertEquals(0, store.purgeExpired(Instant.now().plusSeconds(120)));
+    }
+
+    @Test
+    void tryHold_ConcurrentRequestsForSameSlot_OnlyOneWins() throws Exception {
+        // Given
+        int contenders = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(contenders);
+        List<Callable<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < contenders; i++) {
+            attempts.add(() -> store.tryHold(hold(businessId, date.atTime(10, 0), Instant.now().plusSeconds(300))));
+        }
+
+        // When
+        int winners = 0;
+        try {
+            for (Future<Boolean> result : executor.invokeAll(attempts)) {
+                if (result.get()) {
+                    winners++;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(1, winners);
+        assertEquals(1, store.findActive(businessId).size());
+    }
+
+    private static SlotHold hold(UUID businessId, LocalDateTime start, Instant expiresAt) {
+        return new SlotHold(UUID.randomUUID().toString(), businessId, UUID.randomUUID(), start, 30, expiresAt);
+    }
+
+    private SlotHold hold(LocalDateTime start, String clientId) {
+        return new SlotHold(UUID.randomUUID().toString(), businessId, UUID.randomUUID(), start, 30,
+                Instant.now().plusSeconds(300), clientId);
+    }
+}
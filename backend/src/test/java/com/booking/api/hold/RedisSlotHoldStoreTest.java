@@ -0,0 +1,224 @@
+package com.booking.api.hold;
+
+import com.booking.api.cache.CacheKeys;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the shared hold store against an embedded redis-server; skipped when the binary
+ * cannot be started on this machine.
+ */
+class RedisSlotHoldStoreTest {
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private StringRedisTemplate redisTemplate;
+    private RedisSlotHoldStore store;
+
+    private final UUID businessId = UUID.randomUUID();
+    private final UUID serviceId = UUID.randomUUID();
+    private final LocalDate date = LocalDate.of(2030, 1, 7);
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        try {
+            redisServer = new RedisServer(port);
+            redisServer.start();
+        } catch (IOException | RuntimeException e) {
+            redisServer = null;
+        }
+        assumeTrue(redisServer != null, "embedded redis-server unavailable");
+
+        connectionFactory = new LettuceConnectionFactory("localhost", port);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        store = new RedisSlotHoldStore(redisTemplate);
+    }
+
+    @AfterEach
+    void flush() {
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+    }
+
+    @Test
+    void tryHold_RoundTripsAndSetsKeyTtl() {
+        // Given
+        SlotHold hold = hold(date.atTime(10, 0), 60, Instant.now().plusSeconds(300));
+
+        // When
+        boolean stored = store.tryHold(hold);
+
+        // Then
+        assertTrue(stored);
+        assertEquals(Optional.of(withMillis(hold)), store.find(businessId, hold.token()));
+        assertEquals(List.of(withMillis(hold)), store.findActive(businessId));
+        long ttl = redisTemplate.getExpire(CacheKeys.slotHolds(businessId));
+        assertTrue(ttl > 0 && ttl <= 300);
+    }
+
+    @Test
+    void tryHold_RejectsOverlapOnSameDayOnly() {
+        // Given
+        assertTrue(store.tryHold(hold(date.atTime(10, 0), 60, Instant.now().plusSeconds(300))));
+
+        // When & Then
+        assertFalse(store.tryHold(hold(date.atTime(10, 30), 30, Instant.now().plusSeconds(300))));
+        assertTrue(store.tryHold(hold(date.atTime(11, 0), 30, Instant.now().plusSeconds(300))));
+        assertTrue(store.tryHold(hold(date.plusDays(1).atTime(10, 0), 60, Instant.now().plusSeconds(300))));
+    }
+
+    @Test
+    void tryHold_CapsLiveHoldsPerClientAndPerBusiness() {
+        // Given
+        assertEquals(HoldResult.HELD, store.tryHold(hold(date.atTime(9, 0), "2001:db8::7"), 3, 2));
+        assertEquals(HoldResult.HELD, store.tryHold(hold(date.atTime(10, 0), "2001:db8::7"), 3, 2));
+
+        // When & Then
+        assertEquals(HoldResult.LIMIT_REACHED, store.tryHold(hold(date.atTime(11, 0), "2001:db8::7"), 3, 2));
+        assertEquals(HoldResult.SLOT_TAKEN, store.tryHold(hold(date.atTime(10, 0), "203.0.113.7"), 3, 2));
+        assertEquals(HoldResult.HELD, store.tryHold(hold(date.atTime(11, 0), "203.0.113.7"), 3, 2));
+        assertEquals(HoldResult.LIMIT_REACHED, store.tryHold(hold(date.atTime(12, 0), "198.51.100.1"), 3, 2));
+        assertEquals(2, store.findActive(businessId).stream()
+                .filter(hold -> hold.isTakenBy("2001:db8::7")).count());
+    }
+
+    @Test
+    void unreachableRedis_RefusesHoldsAndReadsNone() {
+        // Given
+        LettuceConnectionFactory deadFactory = new LettuceConnectionFactory("localhost", 1);
+        deadFactory.afterPropertiesSet();
+        deadFactory.start();
+        RedisSlotHoldStore offline = new RedisSlotHoldStore(new StringRedisTemplate(deadFactory));
+        SlotHold hold = hold(date.atTime(10, 0), 60, Instant.now().plusSeconds(300));
+
+        try {
+            // When & Then
+            assertEquals(HoldResult.UNAVAILABLE, offline.tryHold(hold, 3, 2));
+            assertTrue(offline.findActive(businessId).isEmpty());
+            offline.release(hold);
+            assertEquals(0, offline.purgeExpired(Instant.now()));
+        } finally {
+            deadFactory.destroy();
+        }
+    }
+
+    @Test
+    void tryHold_ExpiredHoldDoesNotBlock() {
+        // Given
+        SlotHold expired = hold(date.atTime(10, 0), 60, Instant.now().minusSeconds(1));
+        redisTemplate.opsForHash().put(CacheKeys.slotHolds(businessId), expired.token(),
+                date.toEpochDay() + ":600:60:" + expired.expiresAt().toEpochMilli() + ":" + serviceId);
+
+        // When
+        boolean stored = store.tryHold(hold(date.atTime(10, 0), 60, Instant.now().plusSeconds(300)));
+
+        // Then: the expired entry was pruned by the script
+        assertTrue(stored);
+        assertFalse(redisTemplate.opsForHash().hasKey(CacheKeys.slotHolds(businessId), expired.token()));
+    }
+
+    @Test
+    void tryHold_ConcurrentRequestsForSameSlot_OnlyOneWins() throws Exception {
+        // Given
+        int contenders = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(contenders);
+        List<Callable<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < contenders; i++) {
+            attempts.add(() -> store.tryHold(hold(date.atTime(10, 0), 30, Instant.now().plusSeconds(300))));
+        }
+
+        // When
+        int winners = 0;
+        try {
+            for (Future<Boolean> result : executor.invokeAll(attempts)) {
+                if (result.get()) {
+                    winners++;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(1, winners);
+        assertEquals(1, store.findActive(businessId).size());
+    }
+
+    @Test
+    void releaseAndPurge() {
+        // Given
+        SlotHold live = hold(date.atTime(10, 0), 60, Instant.now().plusSeconds(300));
+        SlotHold other = hold(date.atTime(14, 0), 60, Instant.now().plusSeconds(300));
+        store.tryHold(live);
+        store.tryHold(other);
+
+        // When
+        store.release(live);
+        int purged = store.purgeExpired(Instant.now().plusSeconds(600));
+
+        // Then
+        assertEquals(1, purged);
+        assertTrue(store.findActive(businessId).isEmpty());
+    }
+
+    private SlotHold hold(LocalDateTime start, int durationMinutes, Instant expiresAt) {
+        return new SlotHold(UUID.randomUUID().toString(), businessId, serviceId, start, durationMinutes, expiresAt);
+    }
+
+    private SlotHold hold(LocalDateTime start, String clientId) {
+        return new SlotHold(UUID.randomUUID().toString(), businessId, serviceId, start, 30,
+                Instant.now().plusSeconds(300), clientId);
+    }
+
+    // Expiry is stored with millisecond precision
+    private static SlotHold withMillis(SlotHold hold) {
+        return new SlotHold(hold.token(), hold.businessId(), hold.serviceId(), hold.start(),
+                hold.durationMinutes(), Instant.ofEpochMilli(hold.expiresAt().toEpochMilli()));
+    }
+}
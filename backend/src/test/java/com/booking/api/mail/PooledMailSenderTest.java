@@ -0,0 +1,286 @@
+package com.booking.api.mail;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sends through a local GreenMail SMTP server with authentication, and checks the
+ * connections opened through the {@code mail.pool.*} meters.
+ */
+class PooledMailSenderTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withUser("booking", "secret"));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PooledMailSender mailSender;
+
+    @AfterEach
+    void closePool() {
+        if (mailSender != null) {
+            mailSender.close();
+        }
+    }
+
+    @Test
+    void consecutiveSends_ReuseOneConnection() throws Exception {
+        // Given
+        mailSender = pool(2, Duration.ofMinutes(1));
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            mailSender.send(message("client-" + i + "@example.com"));
+        }
+
+        // Then
+        assertEquals(3, greenMail.getReceivedMessages().length);
+        assertEquals(1.0, opened());
+        assertEquals(0, mailSender.activeConnections());
+        assertEquals(1, mailSender.idleConnections());
+    }
+
+    @Test
+    void batch_IsSentOverOneConnection() throws Exception {
+        // Given
+        mailSender = pool(2, Duration.ofMinutes(1));
+        MimeMessage[] batch = new MimeMessage[5];
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = message("client-" + i + "@example.com");
+        }
+
+        // When
+        mailSender.send(batch);
+
+        // Then
+        assertEquals(5, greenMail.getReceivedMessages().length);
+        assertEquals(1.0, opened());
+    }
+
+    @Test
+    void concurrentSends_OpenAtMostMaxConnections() throws Exception {
+        // Given
+        mailSender = pool(2, Duration.ofMinutes(1));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> sends = new ArrayList<>();
+
+        // When
+        try {
+            for (int i = 0; i < 16; i++) {
+                String to = "client-" + i + "@example.com";
+                sends.add(executor.submit(() -> {
+                    mailSender.send(message(to));
+                    return null;
+                }));
+            }
+            for (Future<?> send : sends) {
+                send.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertEquals(16, greenMail.getReceivedMessages().length);
+        assertTrue(opened() <= 2.0, "opened " + opened());
+        assertEquals(0, mailSender.activeConnections());
+    }
+
+    @Test
+    void connectionDroppedByServer_IsReplacedAndMessageRetried() throws Exception {
+        // Given - a pooled connection, then the server restarts
+        mailSender = pool(2, Duration.ofMinutes(1));
+        mailSender.send(message("first@example.com"));
+        greenMail.reset();
+        greenMail.setUser("booking@localhost", "booking", "secret");
+
+        // When
+        mailSender.send(message("second@example.com"));
+
+        // Then
+        assertEquals(1, greenMail.getReceivedMessages().length);
+        assertEquals(2.0, opened());
+        assertEquals(1.0, meterRegistry.get(PooledMailSender.POOL_RECONNECTS).functionCounter().count());
+    }
+
+    @Test
+    void timeoutAfterData_IsNotResent() throws Exception {
+        // Given - a server that takes the message but never acknowledges it
+        try (SilentAfterDataServer server = new SilentAfterDataServer()) {
+            mailSender = new PooledMailSender(2, Duration.ofSeconds(10), Duration.ofMinutes(1));
+            mailSender.setHost("localhost");
+            mailSender.setPort(server.port());
+            Properties properties = new Properties();
+            properties.put("mail.smtp.timeout", "500");
+            mailSender.setJavaMailProperties(properties);
+            mailSender.bindTo(meterRegistry);
+
+            // When & Then
+            assertThrows(MailSendException.class, () -> mailSender.send(message("client@example.com")));
+            assertEquals(1, server.messagesReceived());
+            assertEquals(1.0, opened());
+            assertEquals(0, mailSender.idleConnections());
+        }
+    }
+
+    @Test
+    void idleConnection_IsNotReused() throws Exception {
+        // Given
+        mailSender = pool(2, Duration.ZERO);
+
+        // When
+        mailSender.send(message("first@example.com"));
+        mailSender.send(message("second@example.com"));
+
+        // Then
+        assertEquals(2, greenMail.getReceivedMessages().length);
+        assertEquals(2.0, opened());
+    }
+
+    @Test
+    void evictIdle_ClosesStaleConnections() throws Exception {
+        // Given
+        mailSender = pool(2, Duration.ZERO);
+        mailSender.send(message("first@example.com"));
+
+        // When
+        mailSender.evictIdle();
+
+        // Then
+        assertEquals(0, mailSender.idleConnections());
+    }
+
+    @Test
+    void wrongCredentials_FailWithoutLeakingConnections() throws Exception {
+        // Given
+        mailSender = pool(1, Duration.ofMinutes(1));
+        mailSender.setPassword("wrong");
+
+        // When & Then
+        assertThrows(MailSendException.class, () -> mailSender.send(message("client@example.com")));
+        assertEquals(0, mailSender.activeConnections());
+        assertEquals(0, greenMail.getReceivedMessages().length);
+    }
+
+    private PooledMailSender pool(int maxConnections, Duration maxIdle) {
+        PooledMailSender sender = new PooledMailSender(maxConnections, Duration.ofSeconds(10), maxIdle);
+        sender.setHost("localhost");
+        sender.setPort(ServerSetupTest.SMTP.getPort());
+        sender.setUsername("booking");
+        sender.setPassword("secret");
+        Properties properties = new Properties();
+        properties.put("mail.smtp.auth", "true");
+        sender.setJavaMailProperties(properties);
+        sender.bindTo(meterRegistry);
+        return sender;
+    }
+
+    private MimeMessage message(String to) throws Exception {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom("noreply@booking-platform.com");
+        helper.setTo(to);
+        helper.setSubject("Rappel : Votre rendez-vous demain");
+        helper.setText("<p>A demain</p>", true);
+        return message;
+    }
+
+    private double opened() {
+        return meterRegistry.get(PooledMailSender.POOL_OPENED).functionCounter().count();
+    }
+
+    /**
+     * Minimal SMTP server answering every command until the end of DATA, then staying
+     * silent, as a server timing out after it queued the message would.
+     */
+    private static final class SilentAfterDataServer implements AutoCloseable {
+
+        private final ServerSocket serverSocket = new ServerSocket(0);
+        private final AtomicInteger messages = new AtomicInteger();
+        private final ExecutorService executor = Executors.newCachedThreadPool();
+
+        SilentAfterDataServer() throws IOException {
+            executor.submit(this::acceptLoop);
+        }
+
+        int port() {
+            return serverSocket.getLocalPort();
+        }
+
+        int messagesReceived() {
+            return messages.get();
+        }
+
+        private Void acceptLoop() throws IOException {
+            while (!serverSocket.isClosed()) {
+                Socket socket = serverSocket.accept();
+                executor.submit(() -> converse(socket));
+            }
+            return null;
+        }
+
+        private Void converse(Socket socket) throws IOException {
+            try (socket;
+                 BufferedReader in = new BufferedReader(
+                         new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                 Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+                reply(out, "220 localhost ESMTP");
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (line.startsWith("DATA")) {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // message content
+                        }
+                        messages.incrementAndGet();
+                        // No reply: the client times out waiting for 250
+                    } else if (line.startsWith("QUIT")) {
+                        reply(out, "221 Bye");
+                        return null;
+                    } else {
+                        reply(out, "250 OK");
+                    }
+                }
+            }
+            return null;
+        }
+
+        private static void reply(Writer out, String line) throws IOException {
+            out.write(line + "\r\n");
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+            executor.shutdownNow();
+        }
+    }
+}
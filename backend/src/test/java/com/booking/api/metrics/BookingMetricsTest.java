@@ -0,0 +1,60 @@
+package com.booking.api.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookingMetrics bookingMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookingMetrics = new BookingMetrics(meterRegistry);
+    }
+
+    @Test
+    void recordSlots_TagsEndpointAndKind() {
+        // When
+        bookingMetrics.recordSlots("day", 16, 10);
+        bookingMetrics.recordSlots("day", 16, 4);
+
+        // Then
+        assertEquals(32, meterRegistry.get(BookingMetrics.AVAILABILITY_SLOTS)
+                .tags("endpoint", "day", "kind", "total").summary().totalAmount());
+        assertEquals(14, meterRegistry.get(BookingMetrics.AVAILABILITY_SLOTS)
+                .tags("endpoint", "day", "kind", "available").summary().totalAmount());
+    }
+
+    @Test
+    void recordEmail_TagsTypeAndOutcome() {
+        // When
+        bookingMetrics.recordEmail("confirmation", true, TimeUnit.MILLISECONDS.toNanos(120));
+        bookingMetrics.recordEmail("confirmation", false, TimeUnit.MILLISECONDS.toNanos(30));
+
+        // Then
+        assertEquals(1, meterRegistry.get(BookingMetrics.EMAIL_SEND)
+                .tags("type", "confirmation", "outcome", "sent").timer().count());
+        assertEquals(120, meterRegistry.get(BookingMetrics.EMAIL_SEND)
+                .tags("type", "confirmation", "outcome", "sent").timer().totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(1, meterRegistry.get(BookingMetrics.EMAIL_SEND)
+                .tags("outcome", "failed").timer().count());
+    }
+
+    @Test
+    void recordReminders_CountsPerOutcome() {
+        // When
+        bookingMetrics.recordReminders("queued", 3);
+        bookingMetrics.recordReminders("failed", 0);
+
+        // Then
+        assertEquals(3, meterRegistry.get(BookingMetrics.REMINDERS).tag("outcome", "queued").counter().count());
+        assertEquals(0, meterRegistry.get(BookingMetrics.REMINDERS).tag("outcome", "failed").counter().count());
+    }
+}
@@ -0,0 +1,174 @@
+package com.booking.api.repository;
+
+import com.booking.api.exception.AppointmentOverlap;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the Flyway migrations against an embedded PostgreSQL and checks the
+ * appointments_no_overlap exclusion constraint; skipped when the server cannot be
+ * started on this machine (e.g. initdb refuses to run as root).
+ */
+class AppointmentOverlapConstraintTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2030, 1, 7, 9, 0);
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    private UUID businessId;
+    private UUID serviceId;
+    private UUID customerId;
+
+    @BeforeAll
+    static void startPostgres() {
+        try {
+            postgres = EmbeddedPostgres.start();
+        } catch (IOException | RuntimeException e) {
+            postgres = null;
+        }
+        assumeTrue(postgres != null, "embedded PostgreSQL unavailable");
+
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void createBusiness() {
+        businessId = newBusiness();
+        serviceId = UUID.randomUUID();
+        customerId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO services (id, business_id, name, duration_minutes, price) "
+                + "VALUES (?, ?, 'Coupe', 60, 30)", serviceId, businessId);
+        jdbcTemplate.update("INSERT INTO customers (id, business_id, first_name, last_name, phone) "
+                + "VALUES (?, ?, 'Jane', 'Smith', '0612345678')", customerId, businessId);
+    }
+
+    @Test
+    void overlappingActiveAppointment_IsRejected() {
+        // Given
+        insertAppointment(businessId, NINE, 60, "CONFIRMED");
+
+        // When
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> insertAppointment(businessId, NINE.plusMinutes(30), 60, "PENDING"));
+
+        // Then
+        assertTrue(AppointmentOverlap.isCause(exception));
+    }
+
+    @Test
+    void batchedInsertOverlappingExisting_IsRecognised() {
+        // Given
+        insertAppointment(businessId, NINE.plusHours(1), 60, "CONFIRMED");
+        String insert = "INSERT INTO appointments "
+                + "(id, business_id, service_id, customer_id, appointment_datetime, duration_minutes, price, status) "
+                + "VALUES (?, ?, ?, ?, ?, 60, 30, 'PENDING')";
+
+        // When
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> jdbcTemplate.batchUpdate(insert, List.of(
+                        new Object[]{UUID.randomUUID(), businessId, serviceId, customerId, Timestamp.valueOf(NINE)},
+                        new Object[]{UUID.randomUUID(), businessId, serviceId, customerId,
+                                Timestamp.valueOf(NINE.plusHours(1))})));
+
+        // Then
+        assertTrue(AppointmentOverlap.isCause(exception));
+    }
+
+    @Test
+    void backToBackAppointments_AreAllowed() {
+        // Given
+        insertAppointment(businessId, NINE, 60, "CONFIRMED");
+
+        // When & Then
+        assertDoesNotThrow(() -> insertAppointment(businessId, NINE.plusHours(1), 60, "PENDING"));
+    }
+
+    @Test
+    void cancelledAppointment_DoesNotBlockSlot() {
+        // Given
+        insertAppointment(businessId, NINE, 60, "CANCELLED");
+
+        // When & Then
+        assertDoesNotThrow(() -> insertAppointment(businessId, NINE, 60, "PENDING"));
+    }
+
+    @Test
+    void reactivatingOverlappingAppointment_IsRejected() {
+        // Given
+        UUID cancelled = insertAppointment(businessId, NINE, 60, "CANCELLED");
+        insertAppointment(businessId, NINE.plusMinutes(15), 30, "CONFIRMED");
+
+        // When
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> jdbcTemplate.update("UPDATE appointments SET status = 'CONFIRMED' WHERE id = ?", cancelled));
+
+        // Then
+        assertTrue(AppointmentOverlap.isCause(exception));
+    }
+
+    @Test
+    void otherBusiness_IsIndependent() {
+        // Given
+        insertAppointment(businessId, NINE, 60, "CONFIRMED");
+        UUID otherBusinessId = newBusiness();
+        UUID otherService = UUID.randomUUID();
+        UUID otherCustomer = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO services (id, business_id, name, duration_minutes, price) "
+                + "VALUES (?, ?, 'Coupe', 60, 30)", otherService, otherBusinessId);
+        jdbcTemplate.update("INSERT INTO customers (id, business_id, first_name, last_name, phone) "
+                + "VALUES (?, ?, 'John', 'Doe', '0600000000')", otherCustomer, otherBusinessId);
+
+        // When & Then
+        assertDoesNotThrow(() -> jdbcTemplate.update("INSERT INTO appointments "
+                + "(id, business_id, service_id, customer_id, appointment_datetime, duration_minutes, price, status) "
+                + "VALUES (?, ?, ?, ?, ?, 60, 30, 'CONFIRMED')",
+                UUID.randomUUID(), otherBusinessId, otherService, otherCustomer, Timestamp.valueOf(NINE)));
+    }
+
+    private UUID newBusiness() {
+        UUID userId = UUID.randomUUID();
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, email, password_hash, first_name, last_name, role) "
+                + "VALUES (?, ?, 'x', 'Owner', 'Salon', 'BUSINESS')", userId, userId + "@test.com");
+        jdbcTemplate.update("INSERT INTO businesses (id, user_id, business_name, slug) VALUES (?, ?, 'Salon', ?)",
+                id, userId, "salon-" + id);
+        return id;
+    }
+
+    private UUID insertAppointment(UUID business, LocalDateTime start, int durationMinutes, String status) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO appointments "
+                + "(id, business_id, service_id, customer_id, appointment_datetime, duration_minutes, price, status) "
+                + "VALUES (?, ?, ?, ?, ?, ?, 30, ?)",
+                id, business, serviceId, customerId, Timestamp.valueOf(start), durationMinutes, status);
+        return id;
+    }
+}
@@ -0,0 +1,133 @@
+package com.booking.api.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs {@link OutboxEventRepository#LOCK_NEXT_BATCH} against an embedded PostgreSQL
+ * migrated by Flyway: concurrent dispatchers must get disjoint batches without
+ * waiting on each other; skipped when the server cannot be started on this machine.
+ */
+class OutboxEventLockingTest {
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime now = LocalDateTime.of(2030, 1, 7, 9, 0);
+
+    @BeforeAll
+    static void startPostgres() {
+        try {
+            postgres = EmbeddedPostgres.start();
+        } catch (IOException | RuntimeException e) {
+            postgres = null;
+        }
+        assumeTrue(postgres != null, "embedded PostgreSQL unavailable");
+
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void clearOutbox() {
+        jdbcTemplate.update("DELETE FROM outbox_events");
+    }
+
+    @Test
+    void concurrentDispatchers_GetDisjointBatches() throws SQLException {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            insertEvent("PENDING", now.minusMinutes(3 - i));
+        }
+
+        try (Connection first = transaction(); Connection second = transaction()) {
+            // When: the first dispatcher holds its batch while the second polls
+            List<UUID> firstBatch = lockNextBatch(first, 2);
+            List<UUID> secondBatch = lockNextBatch(second, 2);
+
+            // Then
+            assertEquals(2, firstBatch.size());
+            assertEquals(1, secondBatch.size());
+            Set<UUID> all = new HashSet<>(firstBatch);
+            all.addAll(secondBatch);
+            assertEquals(3, all.size());
+
+            first.rollback();
+            second.rollback();
+        }
+    }
+
+    @Test
+    void onlyDuePendingEvents_AreLocked() throws SQLException {
+        // Given
+        UUID due = insertEvent("PENDING", now.minusMinutes(1));
+        insertEvent("PENDING", now.plusMinutes(5));
+        insertEvent("PROCESSED", now.minusMinutes(10));
+        insertEvent("FAILED", now.minusMinutes(10));
+
+        try (Connection connection = transaction()) {
+            // When
+            List<UUID> batch = lockNextBatch(connection, 10);
+
+            // Then
+            assertEquals(List.of(due), batch);
+            connection.rollback();
+        }
+    }
+
+    private static Connection transaction() throws SQLException {
+        Connection connection = postgres.getPostgresDatabase().getConnection();
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    private List<UUID> lockNextBatch(Connection connection, int limit) {
+        NamedParameterJdbcTemplate template =
+                new NamedParameterJdbcTemplate(new SingleConnectionDataSource(connection, true));
+        return template.query(OutboxEventRepository.LOCK_NEXT_BATCH,
+                new MapSqlParameterSource()
+                        .addValue("now", Timestamp.valueOf(now))
+                        .addValue("limit", limit),
+                (rs, row) -> rs.getObject("id", UUID.class));
+    }
+
+    private UUID insertEvent(String status, LocalDateTime availableAt) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO outbox_events (id, event_type, aggregate_id, status, available_at) "
+                + "VALUES (?, 'BOOKING_CREATED', ?, ?, ?)",
+                id, UUID.randomUUID(), status, Timestamp.valueOf(availableAt));
+        return id;
+    }
+}
@@ -0,0 +1,242 @@
+package com.booking.api.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs {@link AppointmentRepository#CLAIM_REMINDERS} against an embedded PostgreSQL
+ * migrated by Flyway: an appointment is claimed once across overlapping runs, and
+ * concurrent instances get disjoint batches; skipped when the server cannot be started
+ * on this machine.
+ */
+class ReminderClaimTest {
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime now = LocalDateTime.of(2030, 1, 6, 9, 0);
+    private final LocalDateTime start = now.plusHours(23);
+    private final LocalDateTime end = now.plusHours(24);
+
+    private UUID businessId;
+    private UUID serviceId;
+    private UUID customerId;
+
+    @BeforeAll
+    static void startPostgres() {
+        try {
+            postgres = EmbeddedPostgres.start();
+        } catch (IOException | RuntimeException e) {
+            postgres = null;
+        }
+        assumeTrue(postgres != null, "embedded PostgreSQL unavailable");
+
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void createBusiness() {
+        jdbcTemplate.update("DELETE FROM appointments");
+        newBusiness();
+    }
+
+    @Test
+    void onlyActiveAppointmentsInWindow_AreClaimed() throws SQLException {
+        // Given
+        UUID pending = insertAppointment(start.plusMinutes(30), "PENDING");
+        UUID confirmed = insertAppointment(start.plusMinutes(60), "CONFIRMED");
+        insertAppointment(start.plusMinutes(40), "CANCELLED");
+        insertAppointment(start.plusMinutes(50), "COMPLETED");
+        insertAppointment(start.minusMinutes(30), "CONFIRMED");
+        insertAppointment(end.plusMinutes(30), "CONFIRMED");
+
+        try (Connection connection = transaction()) {
+            // When
+            List<UUID> claimed = claim(connection, now, 10);
+
+            // Then
+            assertEquals(Set.of(pending, confirmed), new HashSet<>(claimed));
+            connection.commit();
+        }
+        assertNotNull(jdbcTemplate.queryForObject(
+                "SELECT reminder_sent_at FROM appointments WHERE id = ?", Timestamp.class, pending));
+    }
+
+    @Test
+    void claimedAppointment_IsNotClaimedByTheNextOverlappingRun() throws SQLException {
+        // Given: at the end of this run's window, so also at the start of the next one, an hour later
+        insertAppointment(end, "CONFIRMED");
+        try (Connection connection = transaction()) {
+            assertEquals(1, claim(connection, now, 10).size());
+            connection.commit();
+        }
+
+        try (Connection connection = transaction()) {
+            // When
+            List<UUID> claimed = claim(connection, now.plusHours(1), 10);
+
+            // Then
+            assertTrue(claimed.isEmpty());
+            connection.rollback();
+        }
+    }
+
+    @Test
+    void batchIsLimited_AndConcurrentInstancesGetDisjointBatches() throws SQLException {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            insertAppointment(start.plusMinutes(15L * (i + 1)), "CONFIRMED");
+        }
+
+        try (Connection first = transaction(); Connection second = transaction()) {
+            // When: the first instance holds its batch while the second claims
+            List<UUID> firstBatch = claim(first, now, 2);
+            List<UUID> secondBatch = claim(second, now, 2);
+
+            // Then
+            assertEquals(2, firstBatch.size());
+            assertEquals(1, secondBatch.size());
+            Set<UUID> all = new HashSet<>(firstBatch);
+            all.addAll(secondBatch);
+            assertEquals(3, all.size());
+
+            first.rollback();
+            second.rollback();
+        }
+    }
+
+    @Test
+    void partitions_SplitBusinessesWithoutOverlapOrGap() throws SQLException {
+        // Given: two appointments in each of 12 businesses
+        Set<UUID> all = new HashSet<>();
+        for (int i = 0; i < 12; i++) {
+            newBusiness();
+            all.add(insertAppointment(start.plusMinutes(30), "CONFIRMED"));
+            all.add(insertAppointment(start.plusMinutes(60), "CONFIRMED"));
+        }
+
+        try (Connection connection = transaction()) {
+            // When
+            Set<UUID> claimed = new HashSet<>();
+            int total = 0;
+            for (int partition = 0; partition < 3; partition++) {
+                List<UUID> batch = claim(connection, now, partition, 3, 100);
+                total += batch.size();
+                claimed.addAll(batch);
+            }
+
+            // Then
+            assertEquals(all.size(), total);
+            assertEquals(all, claimed);
+            connection.rollback();
+        }
+    }
+
+    @Test
+    void remindersDue_UseTheSamePartitionsAsTheClaim() throws SQLException {
+        // Given
+        for (int i = 0; i < 6; i++) {
+            newBusiness();
+            insertAppointment(start.plusMinutes(30), "CONFIRMED");
+        }
+        NamedParameterJdbcTemplate template = new NamedParameterJdbcTemplate(jdbcTemplate);
+
+        for (int partition = 0; partition < 2; partition++) {
+            // When
+            Set<UUID> due = new HashSet<>(template.query(AppointmentRepository.FIND_REMINDERS_DUE,
+                    new MapSqlParameterSource()
+                            .addValue("start", Timestamp.valueOf(start))
+                            .addValue("end", Timestamp.valueOf(end))
+                            .addValue("partition", partition)
+                            .addValue("partitions", 2),
+                    (rs, row) -> rs.getObject("id", UUID.class)));
+
+            // Then
+            try (Connection connection = transaction()) {
+                assertEquals(due, new HashSet<>(claim(connection, now, partition, 2, 100)));
+                connection.rollback();
+            }
+        }
+    }
+
+    private static Connection transaction() throws SQLException {
+        Connection connection = postgres.getPostgresDatabase().getConnection();
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    private List<UUID> claim(Connection connection, LocalDateTime runAt, int limit) {
+        return claim(connection, runAt, 0, 1, limit);
+    }
+
+    private List<UUID> claim(Connection connection, LocalDateTime runAt, int partition, int partitions, int limit) {
+        NamedParameterJdbcTemplate template =
+                new NamedParameterJdbcTemplate(new SingleConnectionDataSource(connection, true));
+        return template.query(AppointmentRepository.CLAIM_REMINDERS,
+                new MapSqlParameterSource()
+                        .addValue("start", Timestamp.valueOf(runAt.plusHours(23)))
+                        .addValue("end", Timestamp.valueOf(runAt.plusHours(24)))
+                        .addValue("now", Timestamp.valueOf(runAt))
+                        .addValue("partition", partition)
+                        .addValue("partitions", partitions)
+                        .addValue("limit", limit),
+                (rs, row) -> rs.getObject("id", UUID.class));
+    }
+
+    private void newBusiness() {
+        UUID userId = UUID.randomUUID();
+        businessId = UUID.randomUUID();
+        serviceId = UUID.randomUUID();
+        customerId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, email, password_hash, first_name, last_name, role) "
+                + "VALUES (?, ?, 'x', 'Owner', 'Salon', 'BUSINESS')", userId, userId + "@test.com");
+        jdbcTemplate.update("INSERT INTO businesses (id, user_id, business_name, slug) VALUES (?, ?, 'Salon', ?)",
+                businessId, userId, "salon-" + businessId);
+        jdbcTemplate.update("INSERT INTO services (id, business_id, name, duration_minutes, price) "
+                + "VALUES (?, ?, 'Coupe', 15, 30)", serviceId, businessId);
+        jdbcTemplate.update("INSERT INTO customers (id, business_id, first_name, last_name, phone) "
+                + "VALUES (?, ?, 'Jane', 'Smith', '0612345678')", customerId, businessId);
+    }
+
+    private UUID insertAppointment(LocalDateTime datetime, String status) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO appointments "
+                + "(id, business_id, service_id, customer_id, appointment_datetime, duration_minutes, price, status) "
+                + "VALUES (?, ?, ?, ?, ?, 15, 30, ?)",
+                id, businessId, serviceId, customerId, Timestamp.valueOf(datetime), status);
+        return id;
+    }
+}
@@ -1,8 +1,16 @@
 package com.booking.api.service;
 
+import com.booking.api.cache.BusinessDirectory;
+import com.booking.api.cache.BusinessSnapshot;
 import com.booking.api.dto.request.AppointmentRequest;
+import com.booking.api.dto.request.BatchAppointmentRequest;
 import com.booking.api.dto.request.CustomerRequest;
 import com.booking.api.dto.response.AppointmentResponse;
+import com.booking.api.event.AppointmentChangedEvent;
+import com.booking.api.event.AvailabilityChangedEvent;
+import com.booking.api.exception.ConflictException;
+import com.booking.api.exception.NotFoundException;
+import com.booking.api.hold.SlotHold;
 import com.booking.api.model.*;
 import com.booking.api.repository.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,15 +20,23 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 /**
@@ -34,7 +50,7 @@ class AppointmentServiceTest {
     private AppointmentRepository appointmentRepository;
 
     @Mock
-    private BusinessRepository businessRepository;
+    private BusinessDirectory businessDirectory;
 
     @Mock
     private ServiceRepository serviceRepository;
@@ -43,7 +59,16 @@ class AppointmentServiceTest {
     private CustomerService customerService;
 
     @Mock
-    private EmailService emailService;
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private SlotHoldService slotHoldService;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private AppointmentService appointmentService;
@@ -119,16 +144,14 @@ class AppointmentServiceTest {
                 .notes("First visit")
                 .build();
 
-        when(businessRepository.findBySlug(slug)).thenReturn(Optional.of(testBusiness));
-        when(serviceRepository.findByIdAndBusinessId(testService.getId(), testBusiness.getId()))
+        when(businessDirectory.findBySlug(slug)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdAndBusinessIdWithBusiness(testService.getId(), testBusiness.getId()))
                 .thenReturn(Optional.of(testService));
-        when(appointmentRepository.findActiveAppointmentsForLocking(any(), any(), any()))
-                .thenReturn(Collections.emptyList());
         when(customerService.findOrCreateCustomer(any(), any())).thenReturn(testCustomer);
-        when(appointmentRepository.save(any(Appointment.class))).thenReturn(testAppointment);
+        when(appointmentRepository.saveAndFlush(any(Appointment.class))).thenReturn(testAppointment);
 
         // When
-        AppointmentResponse response = appointmentService.createAppointment(slug, request);
+        AppointmentResponse response = appointmentService.createAppointment(slug, request, null);
 
         // Then
         assertNotNull(response);
@@ -136,7 +159,7 @@ class AppointmentServiceTest {
 
         // Verify appointment was saved
         ArgumentCaptor<Appointment> appointmentCaptor = ArgumentCaptor.forClass(Appointment.class);
-        verify(appointmentRepository, times(1)).save(appointmentCaptor.capture());
+        verify(appointmentRepository, times(1)).saveAndFlush(appointmentCaptor.capture());
 
         Appointment savedAppointment = appointmentCaptor.getValue();
         assertEquals(testBusiness, savedAppointment.getBusiness());
@@ -145,8 +168,15 @@ class AppointmentServiceTest {
         assertEquals(Appointment.AppointmentStatus.PENDING, savedAppointment.getStatus());
         assertNotNull(savedAppointment.getCancellationToken());
 
-        // Verify confirmation email was sent
-        verify(emailService, times(1)).sendBookingConfirmation(any(Appointment.class));
+        // Verify confirmation email is queued in the outbox, not sent in the transaction
+        verify(outboxEventRepository, times(1)).save(argThat(event ->
+                event.getEventType() == OutboxEvent.EventType.BOOKING_CREATED
+                        && event.getAggregateId().equals(testAppointment.getId())));
+
+        // Verify cached availability for that day is invalidated and the reminder scheduled
+        verify(eventPublisher).publishEvent(AvailabilityChangedEvent.forDate(
+                testBusiness.getId(), request.getAppointmentDatetime().toLocalDate()));
+        verify(eventPublisher).publishEvent(AppointmentChangedEvent.of(testAppointment));
     }
 
     @Test
@@ -155,16 +185,16 @@ class AppointmentServiceTest {
         String invalidSlug = "nonexistent";
         AppointmentRequest request = AppointmentRequest.builder().build();
 
-        when(businessRepository.findBySlug(invalidSlug)).thenReturn(Optional.empty());
+        when(businessDirectory.findBySlug(invalidSlug)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(RuntimeException.class, () ->
-                appointmentService.createAppointment(invalidSlug, request)
+                appointmentService.createAppointment(invalidSlug, request, null)
         );
 
-        verify(businessRepository, times(1)).findBySlug(invalidSlug);
-        verify(appointmentRepository, never()).save(any());
-        verify(emailService, never()).sendBookingConfirmation(any());
+        verify(businessDirectory, times(1)).findBySlug(invalidSlug);
+        verify(appointmentRepository, never()).saveAndFlush(any());
+        verify(outboxEventRepository, never()).save(any());
     }
 
     @Test
@@ -176,17 +206,335 @@ class AppointmentServiceTest {
                 .serviceId(invalidServiceId)
                 .build();
 
-        when(businessRepository.findBySlug(slug)).thenReturn(Optional.of(testBusiness));
-        when(serviceRepository.findByIdAndBusinessId(invalidServiceId, testBusiness.getId()))
+        when(businessDirectory.findBySlug(slug)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdAndBusinessIdWithBusiness(invalidServiceId, testBusiness.getId()))
                 .thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(RuntimeException.class, () ->
-                appointmentService.createAppointment(slug, request)
+                appointmentService.createAppointment(slug, request, null)
         );
 
-        verify(serviceRepository, times(1)).findByIdAndBusinessId(invalidServiceId, testBusiness.getId());
-        verify(appointmentRepository, never()).save(any());
+        verify(serviceRepository, times(1)).findByIdAndBusinessIdWithBusiness(invalidServiceId, testBusiness.getId());
+        verify(appointmentRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void createAppointment_OverlapRejectedByDatabase() {
+        // Given: the exclusion constraint rejects the insert
+        LocalDateTime day = LocalDateTime.now().plusDays(2).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        AppointmentRequest request = AppointmentRequest.builder()
+                .serviceId(testService.getId())
+                .appointmentDatetime(day.withHour(10))
+                .customer(CustomerRequest.builder().firstName("Jane").lastName("Smith").phone("0612345678").build())
+                .build();
+
+        when(businessDirectory.findBySlug("test-salon")).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdAndBusinessIdWithBusiness(testService.getId(), testBusiness.getId()))
+                .thenReturn(Optional.of(testService));
+        when(customerService.findOrCreateCustomer(any(), any())).thenReturn(testCustomer);
+        when(appointmentRepository.saveAndFlush(any(Appointment.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException(
+                        "ERROR: conflicting key value violates exclusion constraint \"appointments_no_overlap\"",
+                        "23P01")));
+
+        // When & Then
+        assertThrows(ConflictException.class, () ->
+                appointmentService.createAppointment("test-salon", request, null)
+        );
+
+        verify(eventPublisher, never()).publishEvent(any());
+        verify(outboxEventRepository, never()).save(any());
+    }
+
+    @Test
+    void createAppointment_OtherIntegrityViolationIsRethrown() {
+        // Given
+        AppointmentRequest request = AppointmentRequest.builder()
+                .serviceId(testService.getId())
+                .appointmentDatetime(LocalDateTime.now().plusDays(2))
+                .customer(CustomerRequest.builder().firstName("Jane").lastName("Smith").phone("0612345678").build())
+                .build();
+
+        when(businessDirectory.findBySlug("test-salon")).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdAndBusinessIdWithBusiness(testService.getId(), testBusiness.getId()))
+                .thenReturn(Optional.of(testService));
+        when(customerService.findOrCreateCustomer(any(), any())).thenReturn(testCustomer);
+        when(appointmentRepository.saveAndFlush(any(Appointment.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException("duplicate key value", "23505")));
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class, () ->
+                appointmentService.createAppointment("test-salon", request, null)
+        );
+    }
+
+    @Test
+    void createAppointment_ConsumesOwnHold() {
+        // Given
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withSecond(0).withNano(0);
+        AppointmentRequest request = AppointmentRequest.builder()
+                .serviceId(testService.getId())
+                .appointmentDatetime(start)
+                .customer(CustomerRequest.builder().email("jane@test.com").build())
+                .holdToken("hold-token")
+                .build();
+        SlotHold hold = new SlotHold("hold-token", testBusiness.getId(), testService.getId(),
+                start, 30, Instant.now().plusSeconds(300));
+
+        when(businessDirectory.findBySlug("test-salon")).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdAndBusinessIdWithBusiness(testService.getId(), testBusiness.getId()))
+                .thenReturn(Optional.of(testService));
+        when(slotHoldService.claim(testBusiness.getId(), testService.getId(), start, 30, "hold-token"))
+                .thenReturn(Optional.of(hold));
+        when(customerService.findOrCreateCustomer(any(), any())).thenReturn(testCustomer);
+        when(appointmentRepository.saveAndFlush(any(Appointment.class))).thenReturn(testAppointment);
+
+        // When
+        appointmentService.createAppointment("test-salon", request, null);
+
+        // Then
+        verify(slotHoldService).consume(hold);
+    }
+
+    @Test
+    void createAppointment_SlotHeldByAnotherCustomer() {
+        // Given
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withSecond(0).withNano(0);
+        AppointmentRequest request = AppointmentRequest.builder()
+                .serviceId(testService.getId())
+                .appointmentDatetime(start)
+                .customer(CustomerRequest.builder().email("jane@test.com").build())
+                .build();
+
+        when(businessDirectory.findBySlug("test-salon")).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdAndBusinessIdWithBusiness(testService.getId(), testBusiness.getId()))
+                .thenReturn(Optional.of(testService));
+        when(slotHoldService.claim(testBusiness.getId(), testService.getId(), start, 30, null))
+                .thenThrow(new ConflictException("This time slot is temporarily held by another customer"));
+
+        // When & Then
+        assertThrows(ConflictException.class,
+                () -> appointmentService.createAppointment("test-salon", request, null));
+        verify(customerService, never()).findOrCreateCustomer(any(), any());
+        verify(appointmentRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void createAppointment_IdempotentRetryReplaysStoredResponse() {
+        // Given
+        AppointmentRequest request = AppointmentRequest.builder()
+                .serviceId(testService.getId())
+                .appointmentDatetime(LocalDateTime.now().plusDays(1))
+                .customer(CustomerRequest.builder().email("jane@test.com").build())
+                .build();
+        AppointmentResponse stored = AppointmentResponse.builder().id(testAppointment.getId()).build();
+
+        when(businessDirectory.findBySlug("test-salon")).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(idempotencyService.findReplay(testBusiness.getId(), "retry-key", request))
+                .thenReturn(Optional.of(stored));
+
+        // When
+        AppointmentResponse response = appointmentService.createAppointment("test-salon", request, "retry-key");
+
+        // Then: nothing is read, written or sent again
+        assertSame(stored, response);
+        verifyNoInteractions(serviceRepository, customerService, appointmentRepository, outboxEventRepository);
+        verify(idempotencyService, never()).record(any(), any(), any(), any());
+    }
+
+    @Test
+    void createAppointment_RecordsIdempotencyKeyWithBooking() {
+        // Given
+        AppointmentRequest request = AppointmentRequest.builder()
+                .serviceId(testService.getId())
+                .appointmentDatetime(LocalDateTime.now().plusDays(1))
+                .customer(CustomerRequest.builder().email("jane@test.com").build())
+                .build();
+
+        when(businessDirectory.findBySlug("test-salon")).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(idempotencyService.findReplay(testBusiness.getId(), "first-key", request)).thenReturn(Optional.empty());
+        when(serviceRepository.findByIdAndBusinessIdWithBusiness(testService.getId(), testBusiness.getId()))
+                .thenReturn(Optional.of(testService));
+        when(customerService.findOrCreateCustomer(any(), any())).thenReturn(testCustomer);
+        when(appointmentRepository.saveAndFlush(any(Appointment.class))).thenReturn(testAppointment);
+
+        // When
+        AppointmentResponse response = appointmentService.createAppointment("test-salon", request, "first-key");
+
+        // Then
+        verify(idempotencyService).record(testBusiness.getId(), "first-key", request, response);
+        verify(outboxEventRepository).save(any(OutboxEvent.class));
+    }
+
+    @Test
+    void createAppointment_ConcurrentRetryReplaysWinner() {
+        // Given: the same request committed first on another thread
+        AppointmentRequest request = AppointmentRequest.builder()
+                .serviceId(testService.getId())
+                .appointmentDatetime(LocalDateTime.now().plusDays(1))
+                .customer(CustomerRequest.builder().email("jane@test.com").build())
+                .build();
+        AppointmentResponse winner = AppointmentResponse.builder().id(UUID.randomUUID()).build();
+
+        when(businessDirectory.findBySlug("test-salon")).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(idempotencyService.findReplay(testBusiness.getId(), "retry-key", request)).thenReturn(Optional.empty());
+        when(serviceRepository.findByIdAndBusinessIdWithBusiness(testService.getId(), testBusiness.getId()))
+                .thenReturn(Optional.of(testService));
+        when(customerService.findOrCreateCustomer(any(), any())).thenReturn(testCustomer);
+        when(appointmentRepository.saveAndFlush(any(Appointment.class)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement", new SQLException(
+                        "ERROR: conflicting key value violates exclusion constraint \"appointments_no_overlap\"",
+                        "23P01")));
+        when(idempotencyService.findCommittedReplay(testBusiness.getId(), "retry-key", request))
+                .thenReturn(Optional.of(winner));
+
+        // When
+        AppointmentResponse response = appointmentService.createAppointment("test-salon", request, "retry-key");
+
+        // Then
+        assertSame(winner, response);
+        verify(outboxEventRepository, never()).save(any());
+    }
+
+    @Test
+    void createAppointments_BooksServicesBackToBackInOneBatch() {
+        // Given
+        Service colour = Service.builder()
+                .id(UUID.randomUUID())
+                .business(testBusiness)
+                .name("Colour")
+                .price(BigDecimal.valueOf(55.0))
+                .durationMinutes(60)
+                .isActive(true)
+                .build();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        BatchAppointmentRequest request = BatchAppointmentRequest.builder()
+                .serviceIds(List.of(testService.getId(), colour.getId()))
+                .appointmentDatetime(start)
+                .customer(CustomerRequest.builder().firstName("Jane").lastName("Smith").phone("0612345678").build())
+                .build();
+
+        when(businessDirectory.findBySlug("test-salon")).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdInAndBusinessIdWithBusiness(
+                Set.of(testService.getId(), colour.getId()), testBusiness.getId()))
+                .thenReturn(List.of(colour, testService));
+        when(customerService.findOrCreateCustomer(any(), any())).thenReturn(testCustomer);
+        when(appointmentRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        List<AppointmentResponse> responses = appointmentService.createAppointments("test-salon", request);
+
+        // Then: request order, back to back, one group
+        assertEquals(2, responses.size());
+        assertEquals(start, responses.get(0).getAppointmentDatetime());
+        assertEquals("Haircut", responses.get(0).getService().getName());
+        assertEquals(start.plusMinutes(30), responses.get(1).getAppointmentDatetime());
+        assertEquals("Colour", responses.get(1).getService().getName());
+        assertNotEquals(responses.get(0).getCancellationToken(), responses.get(1).getCancellationToken());
+
+        ArgumentCaptor<List<Appointment>> saved = ArgumentCaptor.forClass(List.class);
+        verify(appointmentRepository).saveAllAndFlush(saved.capture());
+        UUID bookingGroupId = saved.getValue().get(0).getBookingGroupId();
+        assertNotNull(bookingGroupId);
+        assertEquals(bookingGroupId, saved.getValue().get(1).getBookingGroupId());
+
+        // One hold check over the whole visit, one customer lookup, one combined email
+        verify(slotHoldService).claim(testBusiness.getId(), testService.getId(), start, 90, null);
+        verify(customerService, times(1)).findOrCreateCustomer(any(), any());
+        verify(outboxEventRepository, times(1)).save(argThat(event ->
+                event.getEventType() == OutboxEvent.EventType.BOOKING_GROUP_CREATED
+                        && event.getAggregateId().equals(bookingGroupId)));
+        verify(eventPublisher).publishEvent(AvailabilityChangedEvent.forDate(
+                testBusiness.getId(), start.toLocalDate()));
+    }
+
+    @Test
+    void createAppointments_ConsumesOwnHoldOnFirstService() {
+        // Given: the customer held the first service, the visit runs past the hold
+        Service colour = Service.builder()
+                .id(UUID.randomUUID())
+                .business(testBusiness)
+                .name("Colour")
+                .price(BigDecimal.valueOf(55.0))
+                .durationMinutes(60)
+                .isActive(true)
+                .build();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        BatchAppointmentRequest request = BatchAppointmentRequest.builder()
+                .serviceIds(List.of(testService.getId(), colour.getId()))
+                .appointmentDatetime(start)
+                .customer(CustomerRequest.builder().firstName("Jane").lastName("Smith").phone("0612345678").build())
+                .holdToken("hold-token")
+                .build();
+        SlotHold hold = new SlotHold("hold-token", testBusiness.getId(), testService.getId(),
+                start, 30, Instant.now().plusSeconds(300));
+
+        when(businessDirectory.findBySlug("test-salon")).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdInAndBusinessIdWithBusiness(
+                Set.of(testService.getId(), colour.getId()), testBusiness.getId()))
+                .thenReturn(List.of(colour, testService));
+        when(slotHoldService.claim(testBusiness.getId(), testService.getId(), start, 90, "hold-token"))
+                .thenReturn(Optional.of(hold));
+        when(customerService.findOrCreateCustomer(any(), any())).thenReturn(testCustomer);
+        when(appointmentRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        List<AppointmentResponse> responses = appointmentService.createAppointments("test-salon", request);
+
+        // Then
+        assertEquals(2, responses.size());
+        verify(slotHoldService).consume(hold);
+    }
+
+    @Test
+    void createAppointments_UnknownServiceRejectsWholeVisit() {
+        // Given
+        UUID unknown = UUID.randomUUID();
+        BatchAppointmentRequest request = BatchAppointmentRequest.builder()
+                .serviceIds(List.of(testService.getId(), unknown))
+                .appointmentDatetime(LocalDateTime.now().plusDays(1))
+                .build();
+
+        when(businessDirectory.findBySlug("test-salon")).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdInAndBusinessIdWithBusiness(
+                Set.of(testService.getId(), unknown), testBusiness.getId()))
+                .thenReturn(List.of(testService));
+
+        // When & Then
+        assertThrows(NotFoundException.class, () ->
+                appointmentService.createAppointments("test-salon", request)
+        );
+
+        verify(appointmentRepository, never()).saveAllAndFlush(any());
+        verify(outboxEventRepository, never()).save(any());
+    }
+
+    @Test
+    void createAppointments_OverlapRejectedByDatabase() {
+        // Given
+        BatchAppointmentRequest request = BatchAppointmentRequest.builder()
+                .serviceIds(List.of(testService.getId(), testService.getId()))
+                .appointmentDatetime(LocalDateTime.now().plusDays(1))
+                .customer(CustomerRequest.builder().firstName("Jane").lastName("Smith").phone("0612345678").build())
+                .build();
+
+        when(businessDirectory.findBySlug("test-salon")).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdInAndBusinessIdWithBusiness(Set.of(testService.getId()), testBusiness.getId()))
+                .thenReturn(List.of(testService));
+        when(customerService.findOrCreateCustomer(any(), any())).thenReturn(testCustomer);
+        when(appointmentRepository.saveAllAndFlush(anyList())).thenThrow(new DataIntegrityViolationException(
+                "could not execute batch", new SQLException(
+                        "ERROR: conflicting key value violates exclusion constraint \"appointments_no_overlap\"",
+                        "23P01")));
+
+        // When & Then
+        assertThrows(ConflictException.class, () ->
+                appointmentService.createAppointments("test-salon", request)
+        );
+
+        verify(eventPublisher, never()).publishEvent(any());
+        verify(outboxEventRepository, never()).save(any());
     }
 
     @Test
@@ -208,7 +556,13 @@ class AppointmentServiceTest {
         assertEquals(Appointment.AppointmentStatus.CANCELLED, cancelledAppointment.getStatus());
 
         // Verify cancellation email was sent
-        verify(emailService, times(1)).sendCancellationEmail(any(Appointment.class));
+        verify(outboxEventRepository, times(1)).save(argThat(event ->
+                event.getEventType() == OutboxEvent.EventType.APPOINTMENT_CANCELLED
+                        && event.getAggregateId().equals(testAppointment.getId())));
+        verify(eventPublisher).publishEvent(AvailabilityChangedEvent.forDate(
+                testBusiness.getId(), testAppointment.getAppointmentDatetime().toLocalDate()));
+        verify(eventPublisher).publishEvent(new AppointmentChangedEvent(testAppointment.getId(),
+                testAppointment.getAppointmentDatetime(), Appointment.AppointmentStatus.CANCELLED));
     }
 
     @Test
@@ -225,7 +579,7 @@ class AppointmentServiceTest {
 
         verify(appointmentRepository, times(1)).findByCancellationToken(invalidToken);
         verify(appointmentRepository, never()).save(any());
-        verify(emailService, never()).sendCancellationEmail(any());
+        verify(outboxEventRepository, never()).save(any());
     }
 
     @Test
@@ -242,7 +596,7 @@ class AppointmentServiceTest {
         );
 
         verify(appointmentRepository, never()).save(any());
-        verify(emailService, never()).sendCancellationEmail(any());
+        verify(outboxEventRepository, never()).save(any());
     }
 
     @Test
@@ -261,19 +615,17 @@ class AppointmentServiceTest {
                 .customer(customerRequest)
                 .build();
 
-        when(businessRepository.findBySlug(anyString())).thenReturn(Optional.of(testBusiness));
-        when(serviceRepository.findByIdAndBusinessId(any(), any())).thenReturn(Optional.of(testService));
-        when(appointmentRepository.findActiveAppointmentsForLocking(any(), any(), any()))
-                .thenReturn(Collections.emptyList());
+        when(businessDirectory.findBySlug(anyString())).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdAndBusinessIdWithBusiness(any(), any())).thenReturn(Optional.of(testService));
         when(customerService.findOrCreateCustomer(any(), any())).thenReturn(testCustomer);
-        when(appointmentRepository.save(any(Appointment.class))).thenReturn(testAppointment);
+        when(appointmentRepository.saveAndFlush(any(Appointment.class))).thenReturn(testAppointment);
 
         // When
-        appointmentService.createAppointment("test-salon", request);
+        appointmentService.createAppointment("test-salon", request, null);
 
         // Then
         ArgumentCaptor<Appointment> appointmentCaptor = ArgumentCaptor.forClass(Appointment.class);
-        verify(appointmentRepository).save(appointmentCaptor.capture());
+        verify(appointmentRepository).saveAndFlush(appointmentCaptor.capture());
 
         Appointment saved = appointmentCaptor.getValue();
         assertNotNull(saved.getCancellationToken());
@@ -299,19 +651,17 @@ class AppointmentServiceTest {
                 .customer(customerRequest)
                 .build();
 
-        when(businessRepository.findBySlug(anyString())).thenReturn(Optional.of(testBusiness));
-        when(serviceRepository.findByIdAndBusinessId(any(), any())).thenReturn(Optional.of(testService));
-        when(appointmentRepository.findActiveAppointmentsForLocking(any(), any(), any()))
-                .thenReturn(Collections.emptyList());
+        when(businessDirectory.findBySlug(anyString())).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdAndBusinessIdWithBusiness(any(), any())).thenReturn(Optional.of(testService));
         when(customerService.findOrCreateCustomer(any(), any())).thenReturn(testCustomer);
-        when(appointmentRepository.save(any(Appointment.class))).thenReturn(testAppointment);
+        when(appointmentRepository.saveAndFlush(any(Appointment.class))).thenReturn(testAppointment);
 
         // When
-        appointmentService.createAppointment("test-salon", request);
+        appointmentService.createAppointment("test-salon", request, null);
 
         // Then
         ArgumentCaptor<Appointment> appointmentCaptor = ArgumentCaptor.forClass(Appointment.class);
-        verify(appointmentRepository).save(appointmentCaptor.capture());
+        verify(appointmentRepository).saveAndFlush(appointmentCaptor.capture());
 
         Appointment saved = appointmentCaptor.getValue();
         assertEquals(servicePrice, saved.getPrice());
@@ -3,6 +3,7 @@ package com.booking.api.service;
 import com.booking.api.dto.request.LoginRequest;
 import com.booking.api.dto.request.RegisterRequest;
 import com.booking.api.dto.response.AuthResponse;
+import com.booking.api.event.BusinessChangedEvent;
 import com.booking.api.model.Business;
 import com.booking.api.model.User;
 import com.booking.api.repository.BusinessRepository;
@@ -15,6 +16,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -53,6 +55,9 @@ class AuthServiceTest {
     @Mock
     private SubscriptionRepository subscriptionRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private Authentication authentication;
 
@@ -190,6 +195,9 @@ class AuthServiceTest {
 
         Business savedBusiness = businessCaptor.getValue();
         assertEquals(registerRequest.getBusinessName(), savedBusiness.getBusinessName());
+
+        // Verify the slug directory learns about the new business
+        verify(eventPublisher).publishEvent(any(BusinessChangedEvent.class));
     }
 
     @Test
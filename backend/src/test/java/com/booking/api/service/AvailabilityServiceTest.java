@@ -1,20 +1,35 @@
 package com.booking.api.service;
 
+import com.booking.api.cache.AvailabilityCache;
+import com.booking.api.cache.BusinessDirectory;
+import com.booking.api.cache.BusinessSnapshot;
+import com.booking.api.cache.NoOpDistributedCache;
+import com.booking.api.cache.WeeklyTemplateCache;
 import com.booking.api.dto.response.AvailabilityResponse;
+import com.booking.api.dto.response.NextSlotResponse;
+import com.booking.api.event.AvailabilityChangedEvent;
+import com.booking.api.exception.BadRequestException;
+import com.booking.api.hold.InMemorySlotHoldStore;
+import com.booking.api.hold.SlotHold;
+import com.booking.api.metrics.BookingMetrics;
 import com.booking.api.model.*;
 import com.booking.api.repository.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -34,7 +49,7 @@ import static org.mockito.Mockito.*;
 class AvailabilityServiceTest {
 
     @Mock
-    private BusinessRepository businessRepository;
+    private BusinessDirectory businessDirectory;
 
     @Mock
     private ServiceRepository serviceRepository;
@@ -48,7 +63,13 @@ class AvailabilityServiceTest {
     @Mock
     private AppointmentRepository appointmentRepository;
 
-    @InjectMocks
+    @Mock
+    private BookingMetrics bookingMetrics;
+
+    private AvailabilityCache availabilityCache;
+
+    private InMemorySlotHoldStore slotHoldStore;
+
     private AvailabilityService availabilityService;
 
     private Business testBusiness;
@@ -59,6 +80,16 @@ class AvailabilityServiceTest {
 
     @BeforeEach
     void setUp() {
+        availabilityCache = new AvailabilityCache(
+                100, Duration.ofMinutes(1), new SimpleMeterRegistry(), new NoOpDistributedCache());
+        WeeklyTemplateCache weeklyTemplateCache = new WeeklyTemplateCache(
+                scheduleRepository, scheduleExceptionRepository, 100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        slotHoldStore = new InMemorySlotHoldStore();
+        availabilityService = new AvailabilityService(
+                businessDirectory, serviceRepository, appointmentRepository, availabilityCache, weeklyTemplateCache,
+                slotHoldStore, bookingMetrics);
+        ReflectionTestUtils.setField(availabilityService, "nextSlotsHorizonDays", 30);
+
         testBusiness = Business.builder()
                 .id(UUID.randomUUID())
                 .businessName("Test Salon")
@@ -92,13 +123,11 @@ class AvailabilityServiceTest {
         LocalDate futureDate = LocalDate.now().plusDays(7); // Monday in future
         LocalDate mondayDate = futureDate.with(DayOfWeek.MONDAY);
 
-        when(businessRepository.findBySlug(TEST_SLUG)).thenReturn(Optional.of(testBusiness));
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
         when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
                 .thenReturn(Optional.of(testService));
-        when(scheduleExceptionRepository.existsByBusinessIdAndExceptionDate(testBusiness.getId(), mondayDate))
-                .thenReturn(false);
-        when(scheduleRepository.findByBusinessIdAndDayOfWeek(testBusiness.getId(), DayOfWeek.MONDAY))
-                .thenReturn(Optional.of(testSchedule));
+        when(scheduleRepository.findByBusinessId(testBusiness.getId()))
+                .thenReturn(List.of(testSchedule));
         when(appointmentRepository.findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any()))
                 .thenReturn(Collections.emptyList());
 
@@ -113,6 +142,68 @@ class AvailabilityServiceTest {
         // Verify all slots are available (no appointments)
         assertTrue(response.getAvailableSlots().stream()
                 .allMatch(AvailabilityResponse.TimeSlot::isAvailable));
+
+        int slotCount = response.getAvailableSlots().size();
+        verify(bookingMetrics).recordSlots("day", slotCount, slotCount);
+    }
+
+    @Test
+    void getAvailability_HeldSlotsAreUnavailableWithoutTouchingCache() {
+        // Given: a 60 min hold at 10:00 on a future monday
+        LocalDate mondayDate = LocalDate.now().plusDays(7).with(DayOfWeek.MONDAY);
+
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
+                .thenReturn(Optional.of(testService));
+        when(scheduleRepository.findByBusinessId(testBusiness.getId()))
+                .thenReturn(List.of(testSchedule));
+        when(appointmentRepository.findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any()))
+                .thenReturn(Collections.emptyList());
+
+        SlotHold hold = new SlotHold(UUID.randomUUID().toString(), testBusiness.getId(), SERVICE_ID,
+                mondayDate.atTime(10, 0), 60, Instant.now().plusSeconds(300));
+        assertTrue(slotHoldStore.tryHold(hold));
+
+        // When
+        AvailabilityResponse held = availabilityService.getAvailability(TEST_SLUG, SERVICE_ID, mondayDate);
+        slotHoldStore.release(hold);
+        AvailabilityResponse released = availabilityService.getAvailability(TEST_SLUG, SERVICE_ID, mondayDate);
+
+        // Then: 9:30, 10:00 and 10:30 overlap the hold, the cached day is unchanged
+        List<LocalTime> unavailable = held.getAvailableSlots().stream()
+                .filter(slot -> !slot.isAvailable())
+                .map(AvailabilityResponse.TimeSlot::getStartTime)
+                .toList();
+        assertEquals(List.of(LocalTime.of(9, 30), LocalTime.of(10, 0), LocalTime.of(10, 30)), unavailable);
+        assertTrue(released.getAvailableSlots().stream()
+                .allMatch(AvailabilityResponse.TimeSlot::isAvailable));
+        verify(appointmentRepository, times(1)).findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any());
+    }
+
+    @Test
+    void findNextAvailableSlots_SkipsHeldSlot() {
+        // Given
+        LocalDate mondayDate = LocalDate.now().plusDays(7).with(DayOfWeek.MONDAY);
+
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
+                .thenReturn(Optional.of(testService));
+        when(scheduleRepository.findByBusinessId(testBusiness.getId()))
+                .thenReturn(List.of(testSchedule));
+        when(appointmentRepository.findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any()))
+                .thenReturn(Collections.emptyList());
+
+        slotHoldStore.tryHold(new SlotHold(UUID.randomUUID().toString(), testBusiness.getId(), SERVICE_ID,
+                mondayDate.atTime(9, 0), 60, Instant.now().plusSeconds(300)));
+
+        // When
+        List<NextSlotResponse> next = availabilityService.findNextAvailableSlots(
+                TEST_SLUG, SERVICE_ID, mondayDate.atStartOfDay(), 1);
+
+        // Then
+        assertEquals(1, next.size());
+        assertEquals(mondayDate, next.get(0).getDate());
+        assertEquals(LocalTime.of(10, 0), next.get(0).getStartTime());
     }
 
     @Test
@@ -120,7 +211,7 @@ class AvailabilityServiceTest {
         // Given
         LocalDate date = LocalDate.now().plusDays(1);
 
-        when(businessRepository.findBySlug(TEST_SLUG)).thenReturn(Optional.empty());
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.empty());
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class,
@@ -135,7 +226,7 @@ class AvailabilityServiceTest {
         // Given
         LocalDate date = LocalDate.now().plusDays(1);
 
-        when(businessRepository.findBySlug(TEST_SLUG)).thenReturn(Optional.of(testBusiness));
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
         when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
                 .thenReturn(Optional.empty());
 
@@ -152,7 +243,7 @@ class AvailabilityServiceTest {
         LocalDate date = LocalDate.now().plusDays(1);
         testService.setIsActive(false);
 
-        when(businessRepository.findBySlug(TEST_SLUG)).thenReturn(Optional.of(testBusiness));
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
         when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
                 .thenReturn(Optional.of(testService));
 
@@ -168,7 +259,7 @@ class AvailabilityServiceTest {
         // Given
         LocalDate pastDate = LocalDate.now().minusDays(1);
 
-        when(businessRepository.findBySlug(TEST_SLUG)).thenReturn(Optional.of(testBusiness));
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
         when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
                 .thenReturn(Optional.of(testService));
 
@@ -186,11 +277,17 @@ class AvailabilityServiceTest {
         // Given
         LocalDate exceptionDate = LocalDate.now().plusDays(1);
 
-        when(businessRepository.findBySlug(TEST_SLUG)).thenReturn(Optional.of(testBusiness));
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
         when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
                 .thenReturn(Optional.of(testService));
-        when(scheduleExceptionRepository.existsByBusinessIdAndExceptionDate(testBusiness.getId(), exceptionDate))
-                .thenReturn(true);
+        testSchedule.setDayOfWeek(exceptionDate.getDayOfWeek());
+        when(scheduleRepository.findByBusinessId(testBusiness.getId()))
+                .thenReturn(List.of(testSchedule));
+        when(scheduleExceptionRepository.findByBusinessIdAndExceptionDateGreaterThanEqual(eq(testBusiness.getId()), any()))
+                .thenReturn(List.of(ScheduleException.builder()
+                        .exceptionDate(exceptionDate)
+                        .isClosed(true)
+                        .build()));
 
         // When
         AvailabilityResponse response = availabilityService.getAvailability(TEST_SLUG, SERVICE_ID, exceptionDate);
@@ -198,7 +295,37 @@ class AvailabilityServiceTest {
         // Then
         assertNotNull(response);
         assertTrue(response.getAvailableSlots().isEmpty());
-        verify(scheduleRepository, never()).findByBusinessIdAndDayOfWeek(any(), any());
+        verify(appointmentRepository, never()).findByBusinessIdAndDateRange(any(), any(), any());
+    }
+
+    @Test
+    void getAvailability_PartialDayExceptionRestrictsHours() {
+        // Given: open 9-17 on Mondays, but only 14-16 on that Monday
+        LocalDate mondayDate = LocalDate.now().plusDays(7).with(DayOfWeek.MONDAY);
+
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
+                .thenReturn(Optional.of(testService));
+        when(scheduleRepository.findByBusinessId(testBusiness.getId()))
+                .thenReturn(List.of(testSchedule));
+        when(scheduleExceptionRepository.findByBusinessIdAndExceptionDateGreaterThanEqual(eq(testBusiness.getId()), any()))
+                .thenReturn(List.of(ScheduleException.builder()
+                        .exceptionDate(mondayDate)
+                        .isClosed(false)
+                        .startTime(LocalTime.of(14, 0))
+                        .endTime(LocalTime.of(16, 0))
+                        .build()));
+        when(appointmentRepository.findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any()))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        AvailabilityResponse response = availabilityService.getAvailability(TEST_SLUG, SERVICE_ID, mondayDate);
+
+        // Then: 60 min service, 30 min slots -> 14:00, 14:30, 15:00
+        List<LocalTime> starts = response.getAvailableSlots().stream()
+                .map(AvailabilityResponse.TimeSlot::getStartTime)
+                .toList();
+        assertEquals(List.of(LocalTime.of(14, 0), LocalTime.of(14, 30), LocalTime.of(15, 0)), starts);
     }
 
     @Test
@@ -206,13 +333,11 @@ class AvailabilityServiceTest {
         // Given
         LocalDate futureDate = LocalDate.now().plusDays(1);
 
-        when(businessRepository.findBySlug(TEST_SLUG)).thenReturn(Optional.of(testBusiness));
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
         when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
                 .thenReturn(Optional.of(testService));
-        when(scheduleExceptionRepository.existsByBusinessIdAndExceptionDate(testBusiness.getId(), futureDate))
-                .thenReturn(false);
-        when(scheduleRepository.findByBusinessIdAndDayOfWeek(testBusiness.getId(), futureDate.getDayOfWeek()))
-                .thenReturn(Optional.empty());
+        when(scheduleRepository.findByBusinessId(testBusiness.getId()))
+                .thenReturn(Collections.emptyList());
 
         // When
         AvailabilityResponse response = availabilityService.getAvailability(TEST_SLUG, SERVICE_ID, futureDate);
@@ -229,13 +354,11 @@ class AvailabilityServiceTest {
         LocalDate mondayDate = futureDate.with(DayOfWeek.MONDAY);
         testSchedule.setIsActive(false);
 
-        when(businessRepository.findBySlug(TEST_SLUG)).thenReturn(Optional.of(testBusiness));
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
         when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
                 .thenReturn(Optional.of(testService));
-        when(scheduleExceptionRepository.existsByBusinessIdAndExceptionDate(testBusiness.getId(), mondayDate))
-                .thenReturn(false);
-        when(scheduleRepository.findByBusinessIdAndDayOfWeek(testBusiness.getId(), DayOfWeek.MONDAY))
-                .thenReturn(Optional.of(testSchedule));
+        when(scheduleRepository.findByBusinessId(testBusiness.getId()))
+                .thenReturn(List.of(testSchedule));
 
         // When
         AvailabilityResponse response = availabilityService.getAvailability(TEST_SLUG, SERVICE_ID, mondayDate);
@@ -260,13 +383,11 @@ class AvailabilityServiceTest {
                 .status(Appointment.AppointmentStatus.CONFIRMED)
                 .build();
 
-        when(businessRepository.findBySlug(TEST_SLUG)).thenReturn(Optional.of(testBusiness));
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
         when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
                 .thenReturn(Optional.of(testService));
-        when(scheduleExceptionRepository.existsByBusinessIdAndExceptionDate(testBusiness.getId(), mondayDate))
-                .thenReturn(false);
-        when(scheduleRepository.findByBusinessIdAndDayOfWeek(testBusiness.getId(), DayOfWeek.MONDAY))
-                .thenReturn(Optional.of(testSchedule));
+        when(scheduleRepository.findByBusinessId(testBusiness.getId()))
+                .thenReturn(List.of(testSchedule));
         when(appointmentRepository.findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any()))
                 .thenReturn(Arrays.asList(existingAppointment));
 
@@ -299,13 +420,11 @@ class AvailabilityServiceTest {
                 .status(Appointment.AppointmentStatus.CANCELLED)
                 .build();
 
-        when(businessRepository.findBySlug(TEST_SLUG)).thenReturn(Optional.of(testBusiness));
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
         when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
                 .thenReturn(Optional.of(testService));
-        when(scheduleExceptionRepository.existsByBusinessIdAndExceptionDate(testBusiness.getId(), mondayDate))
-                .thenReturn(false);
-        when(scheduleRepository.findByBusinessIdAndDayOfWeek(testBusiness.getId(), DayOfWeek.MONDAY))
-                .thenReturn(Optional.of(testSchedule));
+        when(scheduleRepository.findByBusinessId(testBusiness.getId()))
+                .thenReturn(List.of(testSchedule));
         when(appointmentRepository.findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any()))
                 .thenReturn(Arrays.asList(cancelledAppointment));
 
@@ -329,13 +448,11 @@ class AvailabilityServiceTest {
         // From 9:00 to 17:00 (8 hours)
         // Expected slots: 9:00-10:00, 9:30-10:30, 10:00-11:00, etc.
 
-        when(businessRepository.findBySlug(TEST_SLUG)).thenReturn(Optional.of(testBusiness));
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
         when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
                 .thenReturn(Optional.of(testService));
-        when(scheduleExceptionRepository.existsByBusinessIdAndExceptionDate(testBusiness.getId(), mondayDate))
-                .thenReturn(false);
-        when(scheduleRepository.findByBusinessIdAndDayOfWeek(testBusiness.getId(), DayOfWeek.MONDAY))
-                .thenReturn(Optional.of(testSchedule));
+        when(scheduleRepository.findByBusinessId(testBusiness.getId()))
+                .thenReturn(List.of(testSchedule));
         when(appointmentRepository.findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any()))
                 .thenReturn(Collections.emptyList());
 
@@ -369,13 +486,11 @@ class AvailabilityServiceTest {
         // Short 30-minute service
         testService.setDurationMinutes(30);
 
-        when(businessRepository.findBySlug(TEST_SLUG)).thenReturn(Optional.of(testBusiness));
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
         when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
                 .thenReturn(Optional.of(testService));
-        when(scheduleExceptionRepository.existsByBusinessIdAndExceptionDate(testBusiness.getId(), mondayDate))
-                .thenReturn(false);
-        when(scheduleRepository.findByBusinessIdAndDayOfWeek(testBusiness.getId(), DayOfWeek.MONDAY))
-                .thenReturn(Optional.of(testSchedule));
+        when(scheduleRepository.findByBusinessId(testBusiness.getId()))
+                .thenReturn(List.of(testSchedule));
         when(appointmentRepository.findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any()))
                 .thenReturn(Collections.emptyList());
 
@@ -411,13 +526,11 @@ class AvailabilityServiceTest {
                 .status(Appointment.AppointmentStatus.PENDING)
                 .build();
 
-        when(businessRepository.findBySlug(TEST_SLUG)).thenReturn(Optional.of(testBusiness));
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
         when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
                 .thenReturn(Optional.of(testService));
-        when(scheduleExceptionRepository.existsByBusinessIdAndExceptionDate(testBusiness.getId(), mondayDate))
-                .thenReturn(false);
-        when(scheduleRepository.findByBusinessIdAndDayOfWeek(testBusiness.getId(), DayOfWeek.MONDAY))
-                .thenReturn(Optional.of(testSchedule));
+        when(scheduleRepository.findByBusinessId(testBusiness.getId()))
+                .thenReturn(List.of(testSchedule));
         when(appointmentRepository.findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any()))
                 .thenReturn(Arrays.asList(appointment1, appointment2));
 
@@ -448,13 +561,11 @@ class AvailabilityServiceTest {
                 .status(Appointment.AppointmentStatus.CONFIRMED)
                 .build();
 
-        when(businessRepository.findBySlug(TEST_SLUG)).thenReturn(Optional.of(testBusiness));
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
         when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
                 .thenReturn(Optional.of(testService));
-        when(scheduleExceptionRepository.existsByBusinessIdAndExceptionDate(testBusiness.getId(), mondayDate))
-                .thenReturn(false);
-        when(scheduleRepository.findByBusinessIdAndDayOfWeek(testBusiness.getId(), DayOfWeek.MONDAY))
-                .thenReturn(Optional.of(testSchedule));
+        when(scheduleRepository.findByBusinessId(testBusiness.getId()))
+                .thenReturn(List.of(testSchedule));
         when(appointmentRepository.findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any()))
                 .thenReturn(Arrays.asList(appointment));
 
@@ -484,13 +595,11 @@ class AvailabilityServiceTest {
 
         testSchedule.setSlotDurationMinutes(null); // Should default to 30
 
-        when(businessRepository.findBySlug(TEST_SLUG)).thenReturn(Optional.of(testBusiness));
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
         when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
                 .thenReturn(Optional.of(testService));
-        when(scheduleExceptionRepository.existsByBusinessIdAndExceptionDate(testBusiness.getId(), mondayDate))
-                .thenReturn(false);
-        when(scheduleRepository.findByBusinessIdAndDayOfWeek(testBusiness.getId(), DayOfWeek.MONDAY))
-                .thenReturn(Optional.of(testSchedule));
+        when(scheduleRepository.findByBusinessId(testBusiness.getId()))
+                .thenReturn(List.of(testSchedule));
         when(appointmentRepository.findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any()))
                 .thenReturn(Collections.emptyList());
 
@@ -508,4 +617,319 @@ class AvailabilityServiceTest {
             assertEquals(30, slot2.getStartTime().toSecondOfDay() / 60 - slot1.getStartTime().toSecondOfDay() / 60);
         }
     }
+
+    @Test
+    void getAvailability_FutureDateServedFromCache() {
+        // Given
+        LocalDate mondayDate = LocalDate.now().plusDays(7).with(DayOfWeek.MONDAY);
+
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
+                .thenReturn(Optional.of(testService));
+        when(scheduleRepository.findByBusinessId(testBusiness.getId()))
+                .thenReturn(List.of(testSchedule));
+        when(appointmentRepository.findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any()))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        AvailabilityResponse first = availabilityService.getAvailability(TEST_SLUG, SERVICE_ID, mondayDate);
+        AvailabilityResponse second = availabilityService.getAvailability(TEST_SLUG, SERVICE_ID, mondayDate);
+
+        // Then
+        assertSame(first, second);
+        verify(serviceRepository, times(1)).findByIdAndBusinessId(SERVICE_ID, testBusiness.getId());
+        verify(appointmentRepository, times(1)).findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any());
+    }
+
+    @Test
+    void getAvailability_RecomputedAfterInvalidation() {
+        // Given
+        LocalDate mondayDate = LocalDate.now().plusDays(7).with(DayOfWeek.MONDAY);
+        LocalDateTime appointmentTime = LocalDateTime.of(mondayDate, LocalTime.of(10, 0));
+        Appointment booked = Appointment.builder()
+                .id(UUID.randomUUID())
+                .business(testBusiness)
+                .service(testService)
+                .appointmentDatetime(appointmentTime)
+                .durationMinutes(60)
+                .status(Appointment.AppointmentStatus.CONFIRMED)
+                .build();
+
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
+                .thenReturn(Optional.of(testService));
+        when(scheduleRepository.findByBusinessId(testBusiness.getId()))
+                .thenReturn(List.of(testSchedule));
+        when(appointmentRepository.findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any()))
+                .thenReturn(Collections.emptyList())
+                .thenReturn(List.of(booked));
+
+        AvailabilityResponse before = availabilityService.getAvailability(TEST_SLUG, SERVICE_ID, mondayDate);
+
+        // When
+        availabilityCache.onAvailabilityChanged(
+                AvailabilityChangedEvent.forDate(testBusiness.getId(), mondayDate));
+        AvailabilityResponse after = availabilityService.getAvailability(TEST_SLUG, SERVICE_ID, mondayDate);
+
+        // Then
+        assertTrue(before.getAvailableSlots().stream()
+                .allMatch(AvailabilityResponse.TimeSlot::isAvailable));
+        assertFalse(after.getAvailableSlots().stream()
+                .filter(slot -> slot.getStartTime().equals(LocalTime.of(10, 0)))
+                .findFirst()
+                .orElseThrow()
+                .isAvailable());
+        verify(appointmentRepository, times(2)).findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any());
+    }
+
+    @Test
+    void getAvailability_OtherBusinessInvalidationKeepsEntry() {
+        // Given
+        LocalDate mondayDate = LocalDate.now().plusDays(7).with(DayOfWeek.MONDAY);
+
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
+                .thenReturn(Optional.of(testService));
+        when(scheduleRepository.findByBusinessId(testBusiness.getId()))
+                .thenReturn(List.of(testSchedule));
+        when(appointmentRepository.findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any()))
+                .thenReturn(Collections.emptyList());
+
+        availabilityService.getAvailability(TEST_SLUG, SERVICE_ID, mondayDate);
+
+        // When
+        availabilityCache.onAvailabilityChanged(AvailabilityChangedEvent.forBusiness(UUID.randomUUID()));
+        availabilityService.getAvailability(TEST_SLUG, SERVICE_ID, mondayDate);
+
+        // Then
+        assertEquals(1, availabilityCache.size());
+        verify(appointmentRepository, times(1)).findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any());
+    }
+
+    @Test
+    void getAvailabilityCalendar_ComputesEveryDayFromOneLoadPerTable() {
+        // Given: a full week starting next Monday, business open on Mondays only
+        LocalDate monday = LocalDate.now().plusDays(7).with(DayOfWeek.MONDAY);
+        LocalDate sunday = monday.plusDays(6);
+
+        Appointment appointment = Appointment.builder()
+                .id(UUID.randomUUID())
+                .appointmentDatetime(LocalDateTime.of(monday, LocalTime.of(10, 0)))
+                .durationMinutes(60)
+                .status(Appointment.AppointmentStatus.CONFIRMED)
+                .build();
+
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
+                .thenReturn(Optional.of(testService));
+        when(scheduleRepository.findByBusinessId(testBusiness.getId()))
+                .thenReturn(List.of(testSchedule));
+        when(appointmentRepository.findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any()))
+                .thenReturn(List.of(appointment));
+
+        // When
+        List<AvailabilityResponse> days = availabilityService.getAvailabilityCalendar(
+                TEST_SLUG, SERVICE_ID, monday, sunday);
+
+        // Then
+        assertEquals(7, days.size());
+        assertEquals(monday, days.get(0).getDate());
+        assertEquals(sunday, days.get(6).getDate());
+        assertFalse(days.get(0).getAvailableSlots().isEmpty());
+        assertTrue(days.get(0).getAvailableSlots().stream()
+                .anyMatch(slot -> slot.getStartTime().equals(LocalTime.of(10, 0)) && !slot.isAvailable()));
+        for (int i = 1; i < 7; i++) {
+            assertTrue(days.get(i).getAvailableSlots().isEmpty());
+        }
+
+        verify(scheduleRepository, times(1)).findByBusinessId(testBusiness.getId());
+        verify(appointmentRepository, times(1)).findByBusinessIdAndDateRange(any(), any(), any());
+    }
+
+    @Test
+    void getAvailabilityCalendar_ExceptionDateIsClosed() {
+        // Given
+        LocalDate monday = LocalDate.now().plusDays(7).with(DayOfWeek.MONDAY);
+        LocalDate nextMonday = monday.plusWeeks(1);
+
+        ScheduleException closure = ScheduleException.builder()
+                .business(testBusiness)
+                .exceptionDate(monday)
+                .isClosed(true)
+                .build();
+
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
+                .thenReturn(Optional.of(testService));
+        when(scheduleRepository.findByBusinessId(testBusiness.getId()))
+                .thenReturn(List.of(testSchedule));
+        when(scheduleExceptionRepository.findByBusinessIdAndExceptionDateGreaterThanEqual(
+                eq(testBusiness.getId()), any()))
+                .thenReturn(List.of(closure));
+        when(appointmentRepository.findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any()))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        List<AvailabilityResponse> days = availabilityService.getAvailabilityCalendar(
+                TEST_SLUG, SERVICE_ID, monday, nextMonday);
+
+        // Then
+        assertEquals(8, days.size());
+        assertTrue(days.get(0).getAvailableSlots().isEmpty());
+        assertFalse(days.get(7).getAvailableSlots().isEmpty());
+    }
+
+    @Test
+    void getAvailabilityCalendar_PastRangeSkipsQueries() {
+        // Given
+        LocalDate from = LocalDate.now().minusDays(10);
+        LocalDate to = LocalDate.now().minusDays(1);
+
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
+                .thenReturn(Optional.of(testService));
+
+        // When
+        List<AvailabilityResponse> days = availabilityService.getAvailabilityCalendar(
+                TEST_SLUG, SERVICE_ID, from, to);
+
+        // Then
+        assertEquals(10, days.size());
+        assertTrue(days.stream().allMatch(day -> day.getAvailableSlots().isEmpty()));
+        verify(scheduleRepository, never()).findByBusinessId(any());
+        verify(appointmentRepository, never()).findByBusinessIdAndDateRange(any(), any(), any());
+    }
+
+    @Test
+    void getAvailabilityCalendar_RangeTooLarge() {
+        // Given
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(AvailabilityService.MAX_CALENDAR_DAYS);
+
+        // When & Then
+        assertThrows(BadRequestException.class,
+                () -> availabilityService.getAvailabilityCalendar(TEST_SLUG, SERVICE_ID, from, to));
+        verify(businessDirectory, never()).findBySlug(any());
+    }
+
+    @Test
+    void getAvailabilityCalendar_EndBeforeStart() {
+        // Given
+        LocalDate from = LocalDate.now().plusDays(5);
+
+        // When & Then
+        assertThrows(BadRequestException.class,
+                () -> availabilityService.getAvailabilityCalendar(TEST_SLUG, SERVICE_ID, from, from.minusDays(1)));
+    }
+
+    @Test
+    void generateTimeSlots_OverlappingAppointmentsBlockExactSlots() {
+        // Given: two overlapping appointments (09:30-10:30 and 10:00-11:30) and one at 14:00-14:15
+        LocalDate date = LocalDate.now().plusDays(7).with(DayOfWeek.MONDAY);
+        List<Appointment> appointments = Arrays.asList(
+                Appointment.builder()
+                        .appointmentDatetime(LocalDateTime.of(date, LocalTime.of(14, 0)))
+                        .durationMinutes(15)
+                        .status(Appointment.AppointmentStatus.PENDING)
+                        .build(),
+                Appointment.builder()
+                        .appointmentDatetime(LocalDateTime.of(date, LocalTime.of(10, 0)))
+                        .durationMinutes(90)
+                        .status(Appointment.AppointmentStatus.CONFIRMED)
+                        .build(),
+                Appointment.builder()
+                        .appointmentDatetime(LocalDateTime.of(date, LocalTime.of(9, 30)))
+                        .durationMinutes(60)
+                        .status(Appointment.AppointmentStatus.CONFIRMED)
+                        .build());
+
+        // When
+        List<AvailabilityResponse.TimeSlot> slots = AvailabilityService.generateTimeSlots(
+                testSchedule, testService, date, appointments);
+
+        // Then: 60-minute service, 30-minute step between 09:00 and 17:00
+        assertEquals(15, slots.size());
+        List<LocalTime> unavailable = slots.stream()
+                .filter(slot -> !slot.isAvailable())
+                .map(AvailabilityResponse.TimeSlot::getStartTime)
+                .toList();
+        assertEquals(Arrays.asList(
+                LocalTime.of(9, 0), LocalTime.of(9, 30), LocalTime.of(10, 0),
+                LocalTime.of(10, 30), LocalTime.of(11, 0),
+                LocalTime.of(13, 30), LocalTime.of(14, 0)), unavailable);
+    }
+
+    @Test
+    void findNextAvailableSlots_StopsAtFirstOpenDayWithEnoughSlots() {
+        // Given: open Mondays only, first slot of next Monday is booked
+        LocalDate monday = LocalDate.now().plusDays(1).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        Appointment booked = Appointment.builder()
+                .appointmentDatetime(LocalDateTime.of(monday, LocalTime.of(9, 0)))
+                .durationMinutes(60)
+                .status(Appointment.AppointmentStatus.CONFIRMED)
+                .build();
+
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
+                .thenReturn(Optional.of(testService));
+        when(scheduleRepository.findByBusinessId(testBusiness.getId())).thenReturn(List.of(testSchedule));
+        when(appointmentRepository.findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any()))
+                .thenReturn(List.of(booked));
+
+        // When
+        List<NextSlotResponse> slots = availabilityService.findNextAvailableSlots(
+                TEST_SLUG, SERVICE_ID, LocalDateTime.of(monday.minusDays(6), LocalTime.MIN), 2);
+
+        // Then: closed days cost no query, one appointment load for the Monday
+        assertEquals(2, slots.size());
+        assertEquals(monday, slots.get(0).getDate());
+        assertEquals(LocalTime.of(10, 0), slots.get(0).getStartTime());
+        assertEquals(LocalTime.of(10, 30), slots.get(1).getStartTime());
+        verify(appointmentRepository, times(1)).findByBusinessIdAndDateRange(any(), any(), any());
+    }
+
+    @Test
+    void findNextAvailableSlots_SkipsSlotsBeforeAfter() {
+        // Given
+        LocalDate monday = LocalDate.now().plusDays(1).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
+                .thenReturn(Optional.of(testService));
+        when(scheduleRepository.findByBusinessId(testBusiness.getId())).thenReturn(List.of(testSchedule));
+
+        // When
+        List<NextSlotResponse> slots = availabilityService.findNextAvailableSlots(
+                TEST_SLUG, SERVICE_ID, LocalDateTime.of(monday, LocalTime.of(15, 45)), 3);
+
+        // Then: 16:00 is the only slot left that day, the rest comes from the following Monday
+        assertEquals(3, slots.size());
+        assertEquals(LocalTime.of(16, 0), slots.get(0).getStartTime());
+        assertEquals(monday.plusWeeks(1), slots.get(1).getDate());
+        assertEquals(LocalTime.of(9, 0), slots.get(1).getStartTime());
+    }
+
+    @Test
+    void findNextAvailableSlots_StopsAtHorizon() {
+        // Given: no opening hours at all
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdAndBusinessId(SERVICE_ID, testBusiness.getId()))
+                .thenReturn(Optional.of(testService));
+
+        // When
+        List<NextSlotResponse> slots = availabilityService.findNextAvailableSlots(TEST_SLUG, SERVICE_ID, null, 1);
+
+        // Then
+        assertTrue(slots.isEmpty());
+        verifyNoInteractions(appointmentRepository);
+    }
+
+    @Test
+    void findNextAvailableSlots_InvalidLimit() {
+        assertThrows(BadRequestException.class,
+                () -> availabilityService.findNextAvailableSlots(TEST_SLUG, SERVICE_ID, null, 0));
+        assertThrows(BadRequestException.class, () -> availabilityService.findNextAvailableSlots(
+                TEST_SLUG, SERVICE_ID, null, AvailabilityService.MAX_NEXT_SLOTS + 1));
+        verifyNoInteractions(businessDirectory);
+    }
 }
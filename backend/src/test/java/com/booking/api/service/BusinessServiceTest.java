@@ -1,8 +1,13 @@
 package com.booking.api.service;
 
+import com.booking.api.cache.BusinessDirectory;
+import com.booking.api.cache.BusinessSnapshot;
+import com.booking.api.cache.CacheKeys;
+import com.booking.api.cache.DistributedCache;
 import com.booking.api.dto.request.UpdateBusinessRequest;
 import com.booking.api.dto.response.BusinessResponse;
 import com.booking.api.dto.response.ServiceResponse;
+import com.booking.api.event.BusinessChangedEvent;
 import com.booking.api.model.Business;
 import com.booking.api.model.Service;
 import com.booking.api.model.User;
@@ -15,6 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -39,12 +45,21 @@ class BusinessServiceTest {
     @Mock
     private BusinessRepository businessRepository;
 
+    @Mock
+    private BusinessDirectory businessDirectory;
+
     @Mock
     private UserRepository userRepository;
 
     @Mock
     private ServiceRepository serviceRepository;
 
+    @Mock
+    private DistributedCache distributedCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -155,7 +170,9 @@ class BusinessServiceTest {
     @Test
     void getBusinessBySlug_Success() {
         // Given
-        when(businessRepository.findBySlug(TEST_SLUG)).thenReturn(Optional.of(testBusiness));
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(businessRepository.findById(testBusiness.getId())).thenReturn(Optional.of(testBusiness));
+        when(distributedCache.version(CacheKeys.businessBySlug(TEST_SLUG))).thenReturn(3L);
 
         // When
         BusinessResponse response = businessService.getBusinessBySlug(TEST_SLUG);
@@ -166,27 +183,48 @@ class BusinessServiceTest {
         assertEquals(testBusiness.getSlug(), response.getSlug());
         assertTrue(response.getIsActive());
 
-        verify(businessRepository).findBySlug(TEST_SLUG);
+        verify(businessDirectory).findBySlug(TEST_SLUG);
+        verify(distributedCache).put(CacheKeys.businessBySlug(TEST_SLUG), response, 3L);
+    }
+
+    @Test
+    void getBusinessBySlug_ServedFromDistributedCache() {
+        // Given
+        BusinessResponse cached = BusinessResponse.builder()
+                .id(testBusiness.getId())
+                .slug(TEST_SLUG)
+                .isActive(true)
+                .build();
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(distributedCache.get(CacheKeys.businessBySlug(TEST_SLUG), BusinessResponse.class))
+                .thenReturn(Optional.of(cached));
+
+        // When
+        BusinessResponse response = businessService.getBusinessBySlug(TEST_SLUG);
+
+        // Then
+        assertSame(cached, response);
+        verify(businessRepository, never()).findById(any());
     }
 
     @Test
     void getBusinessBySlug_NotFound() {
         // Given
-        when(businessRepository.findBySlug(TEST_SLUG)).thenReturn(Optional.empty());
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.empty());
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class,
             () -> businessService.getBusinessBySlug(TEST_SLUG));
 
         assertTrue(exception.getMessage().contains("Business not found with slug"));
-        verify(businessRepository).findBySlug(TEST_SLUG);
+        verify(businessDirectory).findBySlug(TEST_SLUG);
     }
 
     @Test
     void getBusinessBySlug_NotActive() {
         // Given
         testBusiness.setIsActive(false);
-        when(businessRepository.findBySlug(TEST_SLUG)).thenReturn(Optional.of(testBusiness));
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class,
@@ -231,6 +269,9 @@ class BusinessServiceTest {
         assertEquals("new@test.com", testBusiness.getEmail());
         assertEquals(Business.BusinessCategory.HEALTH, testBusiness.getCategory());
         assertEquals("https://example.com/logo.png", testBusiness.getLogoUrl());
+
+        // Verify cached public profile is invalidated
+        verify(eventPublisher).publishEvent(new BusinessChangedEvent(testBusiness.getId(), TEST_SLUG));
     }
 
     @Test
@@ -289,8 +330,9 @@ class BusinessServiceTest {
 
         List<Service> services = Arrays.asList(testService, service2);
 
-        when(businessRepository.findBySlug(TEST_SLUG)).thenReturn(Optional.of(testBusiness));
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
         when(serviceRepository.findByBusinessIdAndIsActiveTrue(testBusiness.getId())).thenReturn(services);
+        when(distributedCache.version(CacheKeys.activeServices(TEST_SLUG))).thenReturn(3L);
 
         // When
         List<ServiceResponse> responses = businessService.getBusinessServices(TEST_SLUG);
@@ -301,14 +343,31 @@ class BusinessServiceTest {
         assertEquals("Haircut", responses.get(0).getName());
         assertEquals("Coloring", responses.get(1).getName());
 
-        verify(businessRepository).findBySlug(TEST_SLUG);
+        verify(businessDirectory).findBySlug(TEST_SLUG);
         verify(serviceRepository).findByBusinessIdAndIsActiveTrue(testBusiness.getId());
+        verify(distributedCache).put(CacheKeys.activeServices(TEST_SLUG), responses, 3L);
+    }
+
+    @Test
+    void getBusinessServices_ServedFromDistributedCache() {
+        // Given
+        List<ServiceResponse> cached = List.of(ServiceResponse.builder().name("Haircut").build());
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(distributedCache.getList(CacheKeys.activeServices(TEST_SLUG), ServiceResponse.class))
+                .thenReturn(Optional.of(cached));
+
+        // When
+        List<ServiceResponse> responses = businessService.getBusinessServices(TEST_SLUG);
+
+        // Then
+        assertSame(cached, responses);
+        verify(serviceRepository, never()).findByBusinessIdAndIsActiveTrue(any());
     }
 
     @Test
     void getBusinessServices_EmptyList() {
         // Given
-        when(businessRepository.findBySlug(TEST_SLUG)).thenReturn(Optional.of(testBusiness));
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
         when(serviceRepository.findByBusinessIdAndIsActiveTrue(testBusiness.getId()))
                 .thenReturn(Arrays.asList());
 
@@ -324,7 +383,7 @@ class BusinessServiceTest {
     void getBusinessServices_BusinessNotActive() {
         // Given
         testBusiness.setIsActive(false);
-        when(businessRepository.findBySlug(TEST_SLUG)).thenReturn(Optional.of(testBusiness));
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class,
@@ -337,7 +396,7 @@ class BusinessServiceTest {
     @Test
     void getBusinessServices_BusinessNotFound() {
         // Given
-        when(businessRepository.findBySlug(TEST_SLUG)).thenReturn(Optional.empty());
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.empty());
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class,
@@ -350,7 +409,8 @@ class BusinessServiceTest {
     @Test
     void mapToResponse_AllFieldsPresent() {
         // When - using the private method indirectly through getBusinessBySlug
-        when(businessRepository.findBySlug(TEST_SLUG)).thenReturn(Optional.of(testBusiness));
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(businessRepository.findById(testBusiness.getId())).thenReturn(Optional.of(testBusiness));
         BusinessResponse response = businessService.getBusinessBySlug(TEST_SLUG);
 
         // Then
@@ -371,7 +431,8 @@ class BusinessServiceTest {
     void mapToResponse_NullCategory() {
         // Given
         testBusiness.setCategory(null);
-        when(businessRepository.findBySlug(TEST_SLUG)).thenReturn(Optional.of(testBusiness));
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(businessRepository.findById(testBusiness.getId())).thenReturn(Optional.of(testBusiness));
 
         // When
         BusinessResponse response = businessService.getBusinessBySlug(TEST_SLUG);
@@ -0,0 +1,117 @@
+package com.booking.api.service;
+
+import com.booking.api.model.Appointment;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DayOccupancy
+ * Tests bit ranges across word boundaries, opening hours and appointment folding
+ */
+class DayOccupancyTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 6, 3);
+
+    @Test
+    void emptyDay_IsFreeEverywhere() {
+        DayOccupancy occupancy = new DayOccupancy();
+
+        assertTrue(occupancy.isFree(0, DayOccupancy.MINUTES_PER_DAY));
+        assertFalse(occupancy.isOccupied(0));
+        assertFalse(occupancy.isOccupied(DayOccupancy.MINUTES_PER_DAY - 1));
+    }
+
+    @Test
+    void occupy_RangeInsideOneWord() {
+        DayOccupancy occupancy = new DayOccupancy();
+        occupancy.occupy(10, 20);
+
+        assertTrue(occupancy.isFree(0, 10));
+        assertFalse(occupancy.isFree(9, 11));
+        assertFalse(occupancy.isFree(19, 30));
+        assertTrue(occupancy.isFree(20, 64));
+        assertTrue(occupancy.isOccupied(10));
+        assertTrue(occupancy.isOccupied(19));
+        assertFalse(occupancy.isOccupied(20));
+    }
+
+    @Test
+    void occupy_RangeSpanningSeveralWords() {
+        DayOccupancy occupancy = new DayOccupancy();
+        occupancy.occupy(60, 200);
+
+        assertTrue(occupancy.isFree(0, 60));
+        assertTrue(occupancy.isFree(200, 400));
+        assertFalse(occupancy.isFree(0, 61));
+        assertFalse(occupancy.isFree(127, 129));
+        assertFalse(occupancy.isFree(199, 400));
+        assertFalse(occupancy.isFree(0, DayOccupancy.MINUTES_PER_DAY));
+    }
+
+    @Test
+    void occupy_WordBoundaries() {
+        DayOccupancy occupancy = new DayOccupancy();
+        occupancy.occupy(63, 65);
+
+        assertTrue(occupancy.isFree(0, 63));
+        assertTrue(occupancy.isOccupied(63));
+        assertTrue(occupancy.isOccupied(64));
+        assertTrue(occupancy.isFree(65, 128));
+        assertFalse(occupancy.isFree(60, 64));
+    }
+
+    @Test
+    void occupy_ClampsToTheDay() {
+        DayOccupancy occupancy = new DayOccupancy();
+        occupancy.occupy(1430, 1500);
+        occupancy.occupy(-30, 5);
+
+        assertTrue(occupancy.isOccupied(DayOccupancy.MINUTES_PER_DAY - 1));
+        assertTrue(occupancy.isOccupied(0));
+        assertTrue(occupancy.isFree(5, 1430));
+        assertFalse(occupancy.isFree(1420, 1500));
+    }
+
+    @Test
+    void forOpeningHours_ClosesOutsideWindow() {
+        DayOccupancy occupancy = DayOccupancy.forOpeningHours(LocalTime.of(9, 0), LocalTime.of(17, 0));
+
+        assertTrue(occupancy.isFree(9 * 60, 17 * 60));
+        assertFalse(occupancy.isFree(8 * 60 + 59, 9 * 60 + 30));
+        assertFalse(occupancy.isFree(16 * 60 + 30, 17 * 60 + 1));
+    }
+
+    @Test
+    void occupyAll_IgnoresCancelledAppointments() {
+        DayOccupancy occupancy = new DayOccupancy();
+        occupancy.occupyAll(Arrays.asList(
+                appointment(LocalTime.of(10, 0), 60, Appointment.AppointmentStatus.CONFIRMED),
+                appointment(LocalTime.of(14, 0), 30, Appointment.AppointmentStatus.CANCELLED)));
+
+        assertFalse(occupancy.isFree(10 * 60 + 30, 11 * 60 + 30));
+        assertTrue(occupancy.isFree(11 * 60, 12 * 60));
+        assertTrue(occupancy.isFree(14 * 60, 14 * 60 + 30));
+    }
+
+    @Test
+    void clear_ReopensTheWholeDay() {
+        DayOccupancy occupancy = DayOccupancy.forOpeningHours(LocalTime.of(9, 0), LocalTime.of(12, 0));
+        occupancy.clear();
+
+        assertTrue(occupancy.isFree(0, DayOccupancy.MINUTES_PER_DAY));
+    }
+
+    private Appointment appointment(LocalTime start, int duration, Appointment.AppointmentStatus status) {
+        return Appointment.builder()
+                .appointmentDatetime(LocalDateTime.of(DATE, start))
+                .durationMinutes(duration)
+                .status(status)
+                .build();
+    }
+}
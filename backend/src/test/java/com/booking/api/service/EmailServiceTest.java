@@ -1,5 +1,6 @@
 package com.booking.api.service;
 
+import com.booking.api.metrics.BookingMetrics;
 import com.booking.api.model.*;
 import com.booking.api.repository.NotificationRepository;
 import jakarta.mail.internet.MimeMessage;
@@ -14,10 +15,13 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -36,6 +40,9 @@ class EmailServiceTest {
     @Mock
     private MimeMessage mimeMessage;
 
+    @Mock
+    private BookingMetrics bookingMetrics;
+
     @InjectMocks
     private EmailService emailService;
 
@@ -116,6 +123,7 @@ class EmailServiceTest {
         // Then
         verify(mailSender, times(1)).createMimeMessage();
         verify(mailSender, times(1)).send(any(MimeMessage.class));
+        verify(bookingMetrics).recordEmail(eq("confirmation"), eq(true), anyLong());
 
         // Verify notification was saved
         ArgumentCaptor<Notification> notificationCaptor = ArgumentCaptor.forClass(Notification.class);
@@ -134,16 +142,64 @@ class EmailServiceTest {
         // Given
         doThrow(new RuntimeException("SMTP error")).when(mailSender).send(any(MimeMessage.class));
 
-        // When
-        emailService.sendBookingConfirmation(testAppointment);
+        // When - rethrown so the outbox dispatcher retries the event
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+                () -> emailService.sendBookingConfirmation(testAppointment));
 
         // Then
+        assertEquals("SMTP error", thrown.getMessage());
         ArgumentCaptor<Notification> notificationCaptor = ArgumentCaptor.forClass(Notification.class);
         verify(notificationRepository, times(1)).save(notificationCaptor.capture());
 
         Notification savedNotification = notificationCaptor.getValue();
         assertEquals(Notification.NotificationStatus.FAILED, savedNotification.getStatus());
         assertNull(savedNotification.getSentAt());
+        verify(bookingMetrics).recordEmail(eq("confirmation"), eq(false), anyLong());
+    }
+
+    @Test
+    void sendGroupBookingConfirmation_SendsOneEmailForTheWholeVisit() {
+        // Given
+        Service colour = Service.builder()
+                .id(UUID.randomUUID())
+                .business(testBusiness)
+                .name("Colour Service")
+                .price(java.math.BigDecimal.valueOf(30.0))
+                .durationMinutes(45)
+                .build();
+        Appointment second = Appointment.builder()
+                .id(UUID.randomUUID())
+                .business(testBusiness)
+                .service(colour)
+                .customer(testCustomer)
+                .appointmentDatetime(testAppointment.getAppointmentDatetime().plusMinutes(60))
+                .durationMinutes(45)
+                .price(java.math.BigDecimal.valueOf(30.0))
+                .status(Appointment.AppointmentStatus.PENDING)
+                .cancellationToken("test-token-456")
+                .build();
+
+        // When
+        emailService.sendGroupBookingConfirmation(List.of(testAppointment, second));
+
+        // Then
+        verify(mailSender, times(1)).send(any(MimeMessage.class));
+        verify(bookingMetrics).recordEmail(eq("confirmation"), eq(true), anyLong());
+
+        ArgumentCaptor<Notification> notificationCaptor = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationRepository, times(2)).save(notificationCaptor.capture());
+        List<Notification> saved = notificationCaptor.getAllValues();
+        assertEquals(testAppointment, saved.get(0).getAppointment());
+        assertEquals(second, saved.get(1).getAppointment());
+        assertEquals(Notification.NotificationType.CONFIRMATION, saved.get(1).getType());
+        assertEquals(Notification.NotificationStatus.SENT, saved.get(1).getStatus());
+
+        String content = saved.get(0).getContent();
+        assertTrue(content.contains("Test Service"));
+        assertTrue(content.contains("Colour Service"));
+        assertTrue(content.contains("/booking/cancel/test-token-123"));
+        assertTrue(content.contains("/booking/cancel/test-token-456"));
+        assertTrue(content.contains(String.format("%.2f €", java.math.BigDecimal.valueOf(80.0))));
     }
 
     @Test
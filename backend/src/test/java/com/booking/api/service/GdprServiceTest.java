@@ -3,6 +3,8 @@ package com.booking.api.service;
 import com.booking.api.dto.gdpr.AccountDeletionRequest;
 import com.booking.api.dto.gdpr.AccountDeletionResponse;
 import com.booking.api.dto.gdpr.DataExportResponse;
+import com.booking.api.event.AvailabilityChangedEvent;
+import com.booking.api.event.BusinessChangedEvent;
 import com.booking.api.model.*;
 import com.booking.api.repository.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +14,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
@@ -49,6 +52,9 @@ class GdprServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private GdprService gdprService;
 
@@ -248,6 +254,9 @@ class GdprServiceTest {
 
         // Verify appointments were cancelled
         verify(appointmentRepository, times(testAppointments.size())).save(any(Appointment.class));
+        verify(eventPublisher).publishEvent(AvailabilityChangedEvent.forBusiness(testBusiness.getId()));
+        verify(eventPublisher).publishEvent(
+                new BusinessChangedEvent(testBusiness.getId(), testBusiness.getSlug()));
     }
 
     @Test
@@ -302,6 +311,10 @@ class GdprServiceTest {
         Customer savedCustomer = customerCaptor.getValue();
         assertNotNull(savedCustomer.getDeletedAt());
         assertTrue(savedCustomer.getEmail().contains(".deleted."));
+
+        // Verify each freed slot invalidates cached availability
+        verify(eventPublisher, times(testAppointments.size()))
+                .publishEvent(any(AvailabilityChangedEvent.class));
     }
 
     @Test
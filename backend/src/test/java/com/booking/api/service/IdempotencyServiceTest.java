@@ -0,0 +1,193 @@
+package com.booking.api.service;
+
+import com.booking.api.dto.request.AppointmentRequest;
+import com.booking.api.dto.request.CustomerRequest;
+import com.booking.api.dto.response.AppointmentResponse;
+import com.booking.api.exception.BadRequestException;
+import com.booking.api.exception.ConflictException;
+import com.booking.api.model.Appointment;
+import com.booking.api.model.IdempotencyKey;
+import com.booking.api.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for IdempotencyService
+ * Tests replay lookup, request fingerprint checks and recording in the booking transaction
+ */
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private ObjectMapper objectMapper;
+
+    private IdempotencyService idempotencyService;
+
+    private final UUID businessId = UUID.randomUUID();
+    private AppointmentRequest request;
+    private AppointmentResponse response;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        idempotencyService = new IdempotencyService(
+                idempotencyKeyRepository, objectMapper, 100, Duration.ofHours(24), new SimpleMeterRegistry());
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 7, 10, 0);
+        request = AppointmentRequest.builder()
+                .serviceId(UUID.randomUUID())
+                .appointmentDatetime(start)
+                .customer(CustomerRequest.builder().firstName("Jane").email("jane@test.com").build())
+                .build();
+        response = AppointmentResponse.builder()
+                .id(UUID.randomUUID())
+                .appointmentDatetime(start)
+                .durationMinutes(30)
+                .price(BigDecimal.valueOf(30))
+                .status(Appointment.AppointmentStatus.PENDING)
+                .cancellationToken("cancel-token")
+                .build();
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void findReplay_UnknownKey() {
+        // Given
+        when(idempotencyKeyRepository.findByBusinessIdAndIdempotencyKey(businessId, "new-key"))
+                .thenReturn(Optional.empty());
+
+        // When & Then
+        assertTrue(idempotencyService.findReplay(businessId, "new-key", request).isEmpty());
+    }
+
+    @Test
+    void findReplay_StoredKeyIsReplayedAndCached() {
+        // Given
+        IdempotencyKey stored = recorded("retry-key");
+        when(idempotencyKeyRepository.findByBusinessIdAndIdempotencyKey(businessId, "retry-key"))
+                .thenReturn(Optional.of(stored));
+
+        // When
+        Optional<AppointmentResponse> first = idempotencyService.findReplay(businessId, "retry-key", request);
+        Optional<AppointmentResponse> second = idempotencyService.findReplay(businessId, "retry-key", request);
+
+        // Then
+        assertEquals(Optional.of(response), first);
+        assertEquals(Optional.of(response), second);
+        verify(idempotencyKeyRepository, times(1)).findByBusinessIdAndIdempotencyKey(businessId, "retry-key");
+    }
+
+    @Test
+    void findReplay_KeyReusedForAnotherRequest() {
+        // Given
+        IdempotencyKey stored = recorded("retry-key");
+        when(idempotencyKeyRepository.findByBusinessIdAndIdempotencyKey(businessId, "retry-key"))
+                .thenReturn(Optional.of(stored));
+        request.setAppointmentDatetime(request.getAppointmentDatetime().plusHours(1));
+
+        // When & Then
+        assertThrows(BadRequestException.class,
+                () -> idempotencyService.findReplay(businessId, "retry-key", request));
+    }
+
+    @Test
+    void findReplay_KeyTooLong() {
+        // When & Then
+        assertThrows(BadRequestException.class,
+                () -> idempotencyService.findReplay(businessId, "k".repeat(256), request));
+        verifyNoInteractions(idempotencyKeyRepository);
+    }
+
+    @Test
+    void record_CachesResponseOnlyAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        idempotencyService.record(businessId, "first-key", request, response);
+
+        // Then: stored with the appointment id, not cached before commit
+        ArgumentCaptor<IdempotencyKey> saved = ArgumentCaptor.forClass(IdempotencyKey.class);
+        verify(idempotencyKeyRepository).saveAndFlush(saved.capture());
+        assertEquals(response.getId(), saved.getValue().getAppointmentId());
+        assertEquals(64, saved.getValue().getRequestHash().length());
+
+        when(idempotencyKeyRepository.findByBusinessIdAndIdempotencyKey(businessId, "first-key"))
+                .thenReturn(Optional.empty());
+        assertTrue(idempotencyService.findReplay(businessId, "first-key", request).isEmpty());
+
+        // When the transaction commits
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Then
+        assertEquals(Optional.of(response), idempotencyService.findReplay(businessId, "first-key", request));
+        verify(idempotencyKeyRepository, times(1)).findByBusinessIdAndIdempotencyKey(businessId, "first-key");
+    }
+
+    @Test
+    void record_ConcurrentDuplicateKey() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        when(idempotencyKeyRepository.saveAndFlush(any(IdempotencyKey.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_idempotency_keys_business_key"));
+
+        // When & Then
+        assertThrows(ConflictException.class,
+                () -> idempotencyService.record(businessId, "first-key", request, response));
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+
+    @Test
+    void purgeExpiredKeys_DeletesOlderThanRetention() {
+        // Given
+        when(idempotencyKeyRepository.deleteCreatedBefore(any())).thenReturn(3);
+
+        // When
+        idempotencyService.purgeExpiredKeys();
+
+        // Then
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(idempotencyKeyRepository).deleteCreatedBefore(cutoff.capture());
+        assertTrue(cutoff.getValue().isBefore(LocalDateTime.now().minusHours(23)));
+    }
+
+    private IdempotencyKey recorded(String key) {
+        TransactionSynchronizationManager.initSynchronization();
+        idempotencyService.record(businessId, key, request, response);
+        ArgumentCaptor<IdempotencyKey> saved = ArgumentCaptor.forClass(IdempotencyKey.class);
+        verify(idempotencyKeyRepository).saveAndFlush(saved.capture());
+        TransactionSynchronizationManager.clearSynchronization();
+        return saved.getValue();
+    }
+}
@@ -0,0 +1,324 @@
+package com.booking.api.service;
+
+import com.booking.api.metrics.BookingMetrics;
+import com.booking.api.model.*;
+import com.booking.api.repository.AppointmentRepository;
+import com.booking.api.repository.NotificationRepository;
+import com.booking.api.repository.OutboxEventRepository;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OutboxDispatcher
+ * Tests event handling, retry backoff and batch draining
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private BookingMetrics bookingMetrics;
+
+    private OutboxDispatcher outboxDispatcher;
+
+    private Appointment appointment;
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        outboxDispatcher = new OutboxDispatcher(outboxEventRepository, appointmentRepository, emailService,
+                new TransactionTemplate(transactionManager), bookingMetrics);
+        ReflectionTestUtils.setField(outboxDispatcher, "batchSize", 2);
+        ReflectionTestUtils.setField(outboxDispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(outboxDispatcher, "retryBackoff", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(outboxDispatcher, "lease", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(outboxDispatcher, "retention", Duration.ofDays(7));
+
+        customer = Customer.builder()
+                .id(UUID.randomUUID())
+                .firstName("Jane")
+                .email("jane@test.com")
+                .totalAppointments(2)
+                .build();
+        appointment = Appointment.builder()
+                .id(UUID.randomUUID())
+                .customer(customer)
+                .appointmentDatetime(LocalDateTime.now().plusDays(1))
+                .build();
+    }
+
+    @Test
+    void bookingCreated_UpdatesCustomerStatsAndSendsConfirmation() {
+        // Given
+        OutboxEvent event = event(OutboxEvent.EventType.BOOKING_CREATED);
+        when(outboxEventRepository.lockNextBatch(any(), eq(2))).thenReturn(List.of(event));
+        when(appointmentRepository.findByIdWithDetails(appointment.getId())).thenReturn(Optional.of(appointment));
+
+        // When
+        outboxDispatcher.dispatchPending();
+
+        // Then
+        verify(emailService).sendBookingConfirmation(appointment);
+        assertEquals(3, customer.getTotalAppointments());
+        assertEquals(event.getCreatedAt(), customer.getLastAppointmentAt());
+        assertEquals(OutboxEvent.OutboxStatus.PROCESSED, event.getStatus());
+        assertNotNull(event.getProcessedAt());
+        verify(bookingMetrics).recordOutboxEvent(eq("processed"), any());
+        verify(outboxEventRepository).save(event);
+    }
+
+    @Test
+    void claimedEvents_AreLeasedAndCommittedBeforeSending() {
+        // Given
+        OutboxEvent event = event(OutboxEvent.EventType.APPOINTMENT_CANCELLED);
+        when(outboxEventRepository.lockNextBatch(any(), eq(2))).thenReturn(List.of(event));
+        when(appointmentRepository.findByIdWithDetails(appointment.getId())).thenReturn(Optional.of(appointment));
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        outboxDispatcher.dispatchPending();
+
+        // Then - the claim transaction commits the lease, then the send gets its own transaction
+        InOrder inOrder = inOrder(outboxEventRepository, transactionManager, emailService);
+        inOrder.verify(outboxEventRepository).lockNextBatch(any(), eq(2));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(emailService).sendCancellationEmail(appointment);
+        inOrder.verify(transactionManager).commit(any());
+        assertFalse(event.getAvailableAt().isBefore(before.plusMinutes(5)));
+    }
+
+    @Test
+    void eventWhoseTransactionRollsBack_IsRetriedAlone() {
+        // Given - the first event's notification cannot be stored, the second one is fine
+        OutboxEvent first = event(OutboxEvent.EventType.APPOINTMENT_CANCELLED);
+        OutboxEvent second = event(OutboxEvent.EventType.APPOINTMENT_CANCELLED);
+        OutboxEvent stored = event(OutboxEvent.EventType.APPOINTMENT_CANCELLED);
+        stored.setId(first.getId());
+        when(outboxEventRepository.lockNextBatch(any(), eq(2))).thenReturn(List.of(first, second), List.of());
+        when(appointmentRepository.findByIdWithDetails(appointment.getId())).thenReturn(Optional.of(appointment));
+        when(outboxEventRepository.findById(first.getId())).thenReturn(Optional.of(stored));
+        // Commits: claim, first event (rollback-only), its failure, second event, next claim
+        doNothing()
+                .doThrow(new UnexpectedRollbackException("Transaction marked as rollback-only"))
+                .doNothing()
+                .when(transactionManager).commit(any());
+
+        // When
+        LocalDateTime before = LocalDateTime.now();
+        outboxDispatcher.dispatchPending();
+
+        // Then - only the first is retried, counted on the stored row
+        assertEquals(OutboxEvent.OutboxStatus.PENDING, stored.getStatus());
+        assertEquals(1, stored.getAttempts());
+        assertFalse(stored.getAvailableAt().isBefore(before.plusSeconds(30)));
+        assertEquals(OutboxEvent.OutboxStatus.PROCESSED, second.getStatus());
+        verify(emailService, times(2)).sendCancellationEmail(appointment);
+        verify(bookingMetrics).recordOutboxEvent(eq("retried"), any());
+        verify(bookingMetrics).recordOutboxEvent(eq("processed"), any());
+    }
+
+    @Test
+    void appointmentCancelled_SendsCancellationEmail() {
+        // Given
+        OutboxEvent event = event(OutboxEvent.EventType.APPOINTMENT_CANCELLED);
+        when(outboxEventRepository.lockNextBatch(any(), eq(2))).thenReturn(List.of(event));
+        when(appointmentRepository.findByIdWithDetails(appointment.getId())).thenReturn(Optional.of(appointment));
+
+        // When
+        outboxDispatcher.dispatchPending();
+
+        // Then
+        verify(emailService).sendCancellationEmail(appointment);
+        verify(emailService, never()).sendBookingConfirmation(any());
+        assertEquals(2, customer.getTotalAppointments());
+        assertEquals(OutboxEvent.OutboxStatus.PROCESSED, event.getStatus());
+    }
+
+    @Test
+    void bookingGroupCreated_CountsEveryAppointmentAndSendsOneConfirmation() {
+        // Given
+        UUID bookingGroupId = UUID.randomUUID();
+        Appointment second = Appointment.builder()
+                .id(UUID.randomUUID())
+                .customer(customer)
+                .appointmentDatetime(appointment.getAppointmentDatetime().plusMinutes(30))
+                .build();
+        OutboxEvent event = event(OutboxEvent.EventType.BOOKING_GROUP_CREATED);
+        event.setAggregateId(bookingGroupId);
+        when(outboxEventRepository.lockNextBatch(any(), eq(2))).thenReturn(List.of(event));
+        when(appointmentRepository.findByBookingGroupIdWithDetails(bookingGroupId))
+                .thenReturn(List.of(appointment, second));
+
+        // When
+        outboxDispatcher.dispatchPending();
+
+        // Then
+        verify(emailService).sendGroupBookingConfirmation(List.of(appointment, second));
+        verify(emailService, never()).sendBookingConfirmation(any());
+        verify(appointmentRepository, never()).findByIdWithDetails(any());
+        assertEquals(4, customer.getTotalAppointments());
+        assertEquals(event.getCreatedAt(), customer.getLastAppointmentAt());
+        assertEquals(OutboxEvent.OutboxStatus.PROCESSED, event.getStatus());
+    }
+
+    @Test
+    void deletedAppointment_IsSkipped() {
+        // Given
+        OutboxEvent event = event(OutboxEvent.EventType.BOOKING_CREATED);
+        when(outboxEventRepository.lockNextBatch(any(), eq(2))).thenReturn(List.of(event));
+        when(appointmentRepository.findByIdWithDetails(appointment.getId())).thenReturn(Optional.empty());
+
+        // When
+        outboxDispatcher.dispatchPending();
+
+        // Then
+        verifyNoInteractions(emailService);
+        assertEquals(OutboxEvent.OutboxStatus.PROCESSED, event.getStatus());
+    }
+
+    @Test
+    void failingEvent_IsRetriedWithBackoffThenFailed() {
+        // Given
+        OutboxEvent event = event(OutboxEvent.EventType.BOOKING_CREATED);
+        event.setAttempts(1);
+        when(outboxEventRepository.lockNextBatch(any(), eq(2))).thenReturn(List.of(event));
+        when(appointmentRepository.findByIdWithDetails(appointment.getId()))
+                .thenThrow(new IllegalStateException("connection reset"));
+
+        // When: second attempt
+        LocalDateTime before = LocalDateTime.now();
+        outboxDispatcher.dispatchPending();
+
+        // Then: pending again, 2 x 30s later
+        assertEquals(OutboxEvent.OutboxStatus.PENDING, event.getStatus());
+        assertEquals(2, event.getAttempts());
+        assertEquals("connection reset", event.getLastError());
+        assertFalse(event.getAvailableAt().isBefore(before.plusSeconds(60)));
+        verify(bookingMetrics).recordOutboxEvent(eq("retried"), any());
+
+        // When: third and last attempt
+        outboxDispatcher.dispatchPending();
+
+        // Then
+        assertEquals(OutboxEvent.OutboxStatus.FAILED, event.getStatus());
+        assertEquals(3, event.getAttempts());
+        verify(bookingMetrics).recordOutboxEvent(eq("failed"), any());
+    }
+
+    @Test
+    void confirmationRejectedByMailServer_StaysPendingForRetry() {
+        // Given - the real email service in front of a failing SMTP server
+        JavaMailSender mailSender = mock(JavaMailSender.class);
+        NotificationRepository notificationRepository = mock(NotificationRepository.class);
+        EmailService failingEmailService = new EmailService(mailSender, notificationRepository, bookingMetrics);
+        ReflectionTestUtils.setField(failingEmailService, "fromEmail", "noreply@booking-platform.com");
+        ReflectionTestUtils.setField(failingEmailService, "fromName", "Booking Platform");
+        outboxDispatcher = new OutboxDispatcher(outboxEventRepository, appointmentRepository, failingEmailService,
+                new TransactionTemplate(transactionManager), bookingMetrics);
+        ReflectionTestUtils.setField(outboxDispatcher, "batchSize", 2);
+        ReflectionTestUtils.setField(outboxDispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(outboxDispatcher, "retryBackoff", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(outboxDispatcher, "lease", Duration.ofMinutes(5));
+
+        appointment.setBusiness(Business.builder().businessName("Salon").address("1 rue de Paris")
+                .postalCode("75001").city("Paris").build());
+        appointment.setService(Service.builder().name("Coupe").build());
+        appointment.setDurationMinutes(30);
+        appointment.setPrice(BigDecimal.valueOf(25));
+        OutboxEvent event = event(OutboxEvent.EventType.BOOKING_CREATED);
+        when(outboxEventRepository.lockNextBatch(any(), eq(2))).thenReturn(List.of(event));
+        when(appointmentRepository.findByIdWithDetails(appointment.getId())).thenReturn(Optional.of(appointment));
+        when(mailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
+        doThrow(new MailSendException("421 Service not available")).when(mailSender).send(any(MimeMessage.class));
+
+        // When
+        LocalDateTime before = LocalDateTime.now();
+        outboxDispatcher.dispatchPending();
+
+        // Then - retried in 30s, customer stats left for the successful attempt
+        assertEquals(OutboxEvent.OutboxStatus.PENDING, event.getStatus());
+        assertEquals(1, event.getAttempts());
+        assertEquals("421 Service not available", event.getLastError());
+        assertFalse(event.getAvailableAt().isBefore(before.plusSeconds(30)));
+        assertEquals(2, customer.getTotalAppointments());
+        verify(notificationRepository).save(argThat(notification ->
+                notification.getStatus() == Notification.NotificationStatus.FAILED));
+        verify(bookingMetrics).recordOutboxEvent(eq("retried"), any());
+    }
+
+    @Test
+    void fullBatch_IsFollowedByAnotherPoll() {
+        // Given
+        OutboxEvent first = event(OutboxEvent.EventType.APPOINTMENT_CANCELLED);
+        OutboxEvent second = event(OutboxEvent.EventType.APPOINTMENT_CANCELLED);
+        OutboxEvent third = event(OutboxEvent.EventType.APPOINTMENT_CANCELLED);
+        when(outboxEventRepository.lockNextBatch(any(), eq(2)))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third));
+        when(appointmentRepository.findByIdWithDetails(appointment.getId())).thenReturn(Optional.of(appointment));
+
+        // When
+        outboxDispatcher.dispatchPending();
+
+        // Then: one transaction per claim and one per event
+        verify(outboxEventRepository, times(2)).lockNextBatch(any(), anyInt());
+        verify(emailService, times(3)).sendCancellationEmail(appointment);
+        verify(transactionManager, times(5)).commit(any());
+    }
+
+    @Test
+    void purgeProcessedEvents_UsesRetention() {
+        // Given
+        when(outboxEventRepository.deleteProcessedBefore(any())).thenReturn(4);
+
+        // When
+        outboxDispatcher.purgeProcessedEvents();
+
+        // Then
+        verify(outboxEventRepository).deleteProcessedBefore(argThat(cutoff ->
+                cutoff.isBefore(LocalDateTime.now().minusDays(6))));
+    }
+
+    private OutboxEvent event(OutboxEvent.EventType type) {
+        OutboxEvent event = OutboxEvent.of(type, appointment.getId());
+        event.setId(UUID.randomUUID());
+        event.setCreatedAt(LocalDateTime.now().minusSeconds(5));
+        return event;
+    }
+}
@@ -0,0 +1,195 @@
+package com.booking.api.service;
+
+import com.booking.api.cluster.ClusterMembership;
+import com.booking.api.event.AppointmentChangedEvent;
+import com.booking.api.metrics.BookingMetrics;
+import com.booking.api.model.Appointment;
+import com.booking.api.repository.AppointmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReminderSchedulerTest {
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private ReminderService reminderService;
+
+    @Mock
+    private ClusterMembership clusterMembership;
+
+    @Mock
+    private BookingMetrics bookingMetrics;
+
+    @InjectMocks
+    private ReminderScheduler reminderScheduler;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reminderScheduler, "lookahead", Duration.ofHours(1));
+        ReflectionTestUtils.setField(reminderScheduler, "ratePerSecond", 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reminderScheduler.stop();
+    }
+
+    @Test
+    void dueReminder_IsClaimedAndSent() {
+        // Given - appointment in 23h30, reminder due 30 minutes ago
+        Appointment appointment = appointment(LocalDateTime.now().plusMinutes(23 * 60 + 30));
+        givenClaimedAndSent(appointment);
+        reminderScheduler.schedule(appointment.getId(), appointment.getAppointmentDatetime());
+
+        // When
+        reminderScheduler.start();
+
+        // Then
+        verify(bookingMetrics, timeout(2000)).recordReminders("queued", 1);
+        verify(reminderService).sendClaimedReminder(appointment);
+        assertEquals(0, reminderScheduler.pendingCount());
+    }
+
+    @Test
+    void cancelledReminder_IsNotClaimed() {
+        // Given
+        UUID cancelled = UUID.randomUUID();
+        reminderScheduler.schedule(cancelled, LocalDateTime.now().plusMinutes(23 * 60 + 10));
+        reminderScheduler.cancel(cancelled);
+        Appointment next = appointment(LocalDateTime.now().plusMinutes(23 * 60 + 20));
+        givenClaimedAndSent(next);
+        reminderScheduler.schedule(next.getId(), next.getAppointmentDatetime());
+
+        // When
+        reminderScheduler.start();
+
+        // Then - the later reminder went out, the cancelled one was skipped
+        verify(bookingMetrics, timeout(2000)).recordReminders("queued", 1);
+        verify(appointmentRepository, never()).claimReminder(eq(cancelled), any(), any(), any(), any());
+    }
+
+    @Test
+    void reminderClaimedElsewhere_IsNotSent() {
+        // Given
+        Appointment claimedElsewhere = appointment(LocalDateTime.now().plusMinutes(23 * 60 + 10));
+        when(appointmentRepository.claimReminder(eq(claimedElsewhere.getId()), any(), any(), any(),
+                eq(ReminderService.ACTIVE_STATUSES))).thenReturn(0);
+        reminderScheduler.schedule(claimedElsewhere.getId(), claimedElsewhere.getAppointmentDatetime());
+        Appointment next = appointment(LocalDateTime.now().plusMinutes(23 * 60 + 20));
+        givenClaimedAndSent(next);
+        reminderScheduler.schedule(next.getId(), next.getAppointmentDatetime());
+
+        // When
+        reminderScheduler.start();
+
+        // Then
+        verify(bookingMetrics, timeout(2000)).recordReminders("queued", 1);
+        verify(appointmentRepository, never()).findByIdWithDetails(claimedElsewhere.getId());
+        verify(reminderService, never()).sendClaimedReminder(claimedElsewhere);
+    }
+
+    @Test
+    void schedule_OnlyQueuesRemindersDueWithinLookahead() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+
+        // When
+        reminderScheduler.schedule(UUID.randomUUID(), now.plusHours(22));  // too late for a reminder
+        reminderScheduler.schedule(UUID.randomUUID(), now.plusHours(26));  // due in 2h, left to the refill
+        reminderScheduler.schedule(UUID.randomUUID(), now.plusMinutes(24 * 60 + 30));
+
+        // Then
+        assertEquals(1, reminderScheduler.pendingCount());
+    }
+
+    @Test
+    void onAppointmentChanged_ReschedulesAndCancels() {
+        // Given
+        UUID appointmentId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+
+        // When - booked, moved, then cancelled
+        reminderScheduler.onAppointmentChanged(new AppointmentChangedEvent(
+                appointmentId, now.plusMinutes(24 * 60 + 10), Appointment.AppointmentStatus.PENDING));
+        reminderScheduler.onAppointmentChanged(new AppointmentChangedEvent(
+                appointmentId, now.plusMinutes(24 * 60 + 40), Appointment.AppointmentStatus.CONFIRMED));
+        int afterMove = reminderScheduler.pendingCount();
+        reminderScheduler.onAppointmentChanged(new AppointmentChangedEvent(
+                appointmentId, now.plusMinutes(24 * 60 + 40), Appointment.AppointmentStatus.CANCELLED));
+
+        // Then
+        assertEquals(1, afterMove);
+        assertEquals(0, reminderScheduler.pendingCount());
+    }
+
+    @Test
+    void refill_LoadsRemindersOfOwnPartition() {
+        // Given - second of three live instances
+        when(clusterMembership.currentPartition()).thenReturn(new ClusterMembership.Partition(1, 3));
+        LocalDateTime now = LocalDateTime.now();
+        when(appointmentRepository.findRemindersDue(any(), any(), eq(1), eq(3))).thenReturn(List.of(
+                due(now.plusMinutes(23 * 60 + 30)),   // overdue, not claimed yet
+                due(now.plusMinutes(24 * 60 + 30))));
+
+        // When
+        reminderScheduler.refill();
+
+        // Then - from 23h out to the end of the lookahead
+        ArgumentCaptor<LocalDateTime> start = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> end = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(appointmentRepository).findRemindersDue(start.capture(), end.capture(), eq(1), eq(3));
+        assertEquals(Duration.ofHours(2), Duration.between(start.getValue(), end.getValue()));
+        assertEquals(2, reminderScheduler.pendingCount());
+    }
+
+    private void givenClaimedAndSent(Appointment appointment) {
+        when(appointmentRepository.claimReminder(eq(appointment.getId()), any(), any(), any(),
+                eq(ReminderService.ACTIVE_STATUSES))).thenReturn(1);
+        when(appointmentRepository.findByIdWithDetails(appointment.getId())).thenReturn(Optional.of(appointment));
+        when(reminderService.sendClaimedReminder(appointment)).thenReturn("queued");
+    }
+
+    private static Appointment appointment(LocalDateTime datetime) {
+        return Appointment.builder()
+                .id(UUID.randomUUID())
+                .appointmentDatetime(datetime)
+                .status(Appointment.AppointmentStatus.CONFIRMED)
+                .build();
+    }
+
+    private static AppointmentRepository.ReminderDue due(LocalDateTime datetime) {
+        UUID id = UUID.randomUUID();
+        return new AppointmentRepository.ReminderDue() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getAppointmentDatetime() {
+                return datetime;
+            }
+        };
+    }
+}
@@ -1,23 +1,35 @@
 package com.booking.api.service;
 
+import com.booking.api.cluster.ClusterMembership;
+import com.booking.api.metrics.BookingMetrics;
 import com.booking.api.model.Appointment;
 import com.booking.api.model.Business;
 import com.booking.api.model.Customer;
+import com.booking.api.model.Notification;
 import com.booking.api.repository.AppointmentRepository;
+import com.booking.api.repository.NotificationRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 /**
@@ -33,6 +45,15 @@ class ReminderServiceTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private BookingMetrics bookingMetrics;
+
+    @Mock
+    private ClusterMembership clusterMembership;
+
     @InjectMocks
     private ReminderService reminderService;
 
@@ -42,6 +63,9 @@ class ReminderServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(reminderService, "batchSize", 500);
+        lenient().when(clusterMembership.currentPartition()).thenReturn(ClusterMembership.Partition.ALL);
+
         testBusiness = Business.builder()
                 .id(UUID.randomUUID())
                 .businessName("Test Salon")
@@ -82,9 +106,7 @@ class ReminderServiceTest {
                 .status(Appointment.AppointmentStatus.PENDING)
                 .build();
 
-        when(appointmentRepository.findByBusinessIdAndAppointmentDatetimeBetweenOrderByAppointmentDatetimeAsc(
-                any(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Arrays.asList(pendingAppointment));
+        givenClaimed(pendingAppointment);
 
         // When
         reminderService.sendAppointmentReminders();
@@ -109,9 +131,7 @@ class ReminderServiceTest {
                 .status(Appointment.AppointmentStatus.CONFIRMED)
                 .build();
 
-        when(appointmentRepository.findByBusinessIdAndAppointmentDatetimeBetweenOrderByAppointmentDatetimeAsc(
-                any(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Arrays.asList(confirmedAppointment));
+        givenClaimed(confirmedAppointment);
 
         // When
         reminderService.sendAppointmentReminders();
@@ -120,60 +140,6 @@ class ReminderServiceTest {
         verify(emailService, times(1)).sendAppointmentReminder(confirmedAppointment);
     }
 
-    @Test
-    void sendAppointmentReminders_CancelledAppointmentsIgnored() {
-        // Given
-        LocalDateTime reminderTime = LocalDateTime.now().plusHours(24);
-
-        Appointment cancelledAppointment = Appointment.builder()
-                .id(UUID.randomUUID())
-                .business(testBusiness)
-                .service(testService)
-                .customer(testCustomer)
-                .appointmentDatetime(reminderTime)
-                .durationMinutes(60)
-                .price(BigDecimal.valueOf(30.0))
-                .status(Appointment.AppointmentStatus.CANCELLED)
-                .build();
-
-        when(appointmentRepository.findByBusinessIdAndAppointmentDatetimeBetweenOrderByAppointmentDatetimeAsc(
-                any(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Arrays.asList(cancelledAppointment));
-
-        // When
-        reminderService.sendAppointmentReminders();
-
-        // Then
-        verify(emailService, never()).sendAppointmentReminder(any());
-    }
-
-    @Test
-    void sendAppointmentReminders_CompletedAppointmentsIgnored() {
-        // Given
-        LocalDateTime reminderTime = LocalDateTime.now().plusHours(24);
-
-        Appointment completedAppointment = Appointment.builder()
-                .id(UUID.randomUUID())
-                .business(testBusiness)
-                .service(testService)
-                .customer(testCustomer)
-                .appointmentDatetime(reminderTime)
-                .durationMinutes(60)
-                .price(BigDecimal.valueOf(30.0))
-                .status(Appointment.AppointmentStatus.COMPLETED)
-                .build();
-
-        when(appointmentRepository.findByBusinessIdAndAppointmentDatetimeBetweenOrderByAppointmentDatetimeAsc(
-                any(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Arrays.asList(completedAppointment));
-
-        // When
-        reminderService.sendAppointmentReminders();
-
-        // Then
-        verify(emailService, never()).sendAppointmentReminder(any());
-    }
-
     @Test
     void sendAppointmentReminders_MultipleAppointments() {
         // Given
@@ -200,15 +166,13 @@ class ReminderServiceTest {
         Appointment appointment3 = Appointment.builder()
                 .id(UUID.randomUUID())
                 .appointmentDatetime(reminderTime.plusHours(1))
-                .status(Appointment.AppointmentStatus.CANCELLED)
+                .status(Appointment.AppointmentStatus.PENDING)
                 .business(testBusiness)
                 .service(testService)
                 .customer(testCustomer)
                 .build();
 
-        when(appointmentRepository.findByBusinessIdAndAppointmentDatetimeBetweenOrderByAppointmentDatetimeAsc(
-                any(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Arrays.asList(appointment1, appointment2, appointment3));
+        givenClaimed(appointment1, appointment2, appointment3);
 
         // When
         reminderService.sendAppointmentReminders();
@@ -216,16 +180,14 @@ class ReminderServiceTest {
         // Then
         verify(emailService, times(1)).sendAppointmentReminder(appointment1);
         verify(emailService, times(1)).sendAppointmentReminder(appointment2);
-        verify(emailService, never()).sendAppointmentReminder(appointment3); // Cancelled - no reminder
-        verify(emailService, times(2)).sendAppointmentReminder(any());
+        verify(emailService, times(1)).sendAppointmentReminder(appointment3);
+        verify(emailService, times(3)).sendAppointmentReminder(any());
     }
 
     @Test
     void sendAppointmentReminders_NoAppointments() {
         // Given
-        when(appointmentRepository.findByBusinessIdAndAppointmentDatetimeBetweenOrderByAppointmentDatetimeAsc(
-                any(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Collections.emptyList());
+        givenClaimed();
 
         // When
         reminderService.sendAppointmentReminders();
@@ -248,9 +210,7 @@ class ReminderServiceTest {
                 .status(Appointment.AppointmentStatus.CONFIRMED)
                 .build();
 
-        when(appointmentRepository.findByBusinessIdAndAppointmentDatetimeBetweenOrderByAppointmentDatetimeAsc(
-                any(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Arrays.asList(appointment));
+        givenClaimed(appointment);
 
         doThrow(new RuntimeException("Email service unavailable"))
                 .when(emailService).sendAppointmentReminder(appointment);
@@ -260,6 +220,7 @@ class ReminderServiceTest {
 
         // Then - Email sending was attempted but failed gracefully
         verify(emailService, times(1)).sendAppointmentReminder(appointment);
+        verify(appointmentRepository).releaseReminderClaim(appointment.getId());
     }
 
     @Test
@@ -285,9 +246,7 @@ class ReminderServiceTest {
                 .customer(testCustomer)
                 .build();
 
-        when(appointmentRepository.findByBusinessIdAndAppointmentDatetimeBetweenOrderByAppointmentDatetimeAsc(
-                any(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Arrays.asList(successAppointment, failAppointment));
+        givenClaimed(successAppointment, failAppointment);
 
         // First call succeeds, second fails
         doNothing().when(emailService).sendAppointmentReminder(successAppointment);
@@ -300,58 +259,247 @@ class ReminderServiceTest {
         // Then - Both attempts were made
         verify(emailService, times(1)).sendAppointmentReminder(successAppointment);
         verify(emailService, times(1)).sendAppointmentReminder(failAppointment);
+        verify(bookingMetrics).recordReminders("queued", 1);
+        verify(bookingMetrics).recordReminders("failed", 1);
     }
 
     @Test
     void sendAppointmentReminders_VerifyTimeWindow() {
         // Given
-        when(appointmentRepository.findByBusinessIdAndAppointmentDatetimeBetweenOrderByAppointmentDatetimeAsc(
-                any(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Collections.emptyList());
+        givenClaimed();
+        when(clusterMembership.currentPartition()).thenReturn(new ClusterMembership.Partition(1, 3));
+        LocalDateTime before = LocalDateTime.now();
 
         // When
         reminderService.sendAppointmentReminders();
 
-        // Then - Verify the time window is 23-25 hours from now
-        verify(appointmentRepository).findByBusinessIdAndAppointmentDatetimeBetweenOrderByAppointmentDatetimeAsc(
-                eq(null), // All businesses
-                any(LocalDateTime.class), // 23 hours from now
-                any(LocalDateTime.class)  // 25 hours from now
-        );
+        // Then - Verify the sweep covers reminders already due: 23-24 hours from now, own partition only
+        ArgumentCaptor<LocalDateTime> start = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> end = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(appointmentRepository).claimReminders(
+                start.capture(), end.capture(), any(LocalDateTime.class), eq(1), eq(3), eq(500));
+        assertFalse(start.getValue().isBefore(before.plusHours(23)));
+        assertFalse(end.getValue().isBefore(before.plusHours(24)));
+        assertEquals(Duration.ofHours(1), Duration.between(start.getValue(), end.getValue()));
+        verify(appointmentRepository, never()).findAllWithDetailsByIdIn(any());
     }
 
     @Test
-    void sendAppointmentReminders_OnlyActiveStatuses() {
+    void sendAppointmentReminders_ClaimsBatchesUntilShortBatch() {
         // Given
+        ReflectionTestUtils.setField(reminderService, "batchSize", 2);
         LocalDateTime reminderTime = LocalDateTime.now().plusHours(24);
+        Appointment first = appointment(Appointment.AppointmentStatus.CONFIRMED, reminderTime);
+        Appointment second = appointment(Appointment.AppointmentStatus.PENDING, reminderTime.plusMinutes(15));
+        Appointment third = appointment(Appointment.AppointmentStatus.CONFIRMED, reminderTime.plusMinutes(30));
+
+        when(appointmentRepository.claimReminders(any(), any(), any(), eq(0), eq(1), eq(2)))
+                .thenReturn(List.of(first.getId(), second.getId()), List.of(third.getId()));
+        when(appointmentRepository.findAllWithDetailsByIdIn(List.of(first.getId(), second.getId())))
+                .thenReturn(List.of(first, second));
+        when(appointmentRepository.findAllWithDetailsByIdIn(List.of(third.getId())))
+                .thenReturn(List.of(third));
+
+        // When
+        reminderService.sendAppointmentReminders();
+
+        // Then - a short batch means nothing is left to claim
+        verify(appointmentRepository, times(2)).claimReminders(any(), any(), any(), eq(0), eq(1), eq(2));
+        verify(emailService).sendAppointmentReminder(first);
+        verify(emailService).sendAppointmentReminder(second);
+        verify(emailService).sendAppointmentReminder(third);
+        verify(bookingMetrics).recordReminders("queued", 3);
+        verify(appointmentRepository, never()).releaseReminderClaim(any());
+    }
+
+    @Test
+    void sendAppointmentReminders_ExecutorSaturated_DefersReminder() {
+        // Given
+        Appointment queued = appointment(Appointment.AppointmentStatus.CONFIRMED, LocalDateTime.now().plusHours(24));
+        Appointment rejected = appointment(Appointment.AppointmentStatus.PENDING, LocalDateTime.now().plusHours(24));
+
+        givenClaimed(queued, rejected);
+        doNothing().when(emailService).sendAppointmentReminder(queued);
+        doThrow(new TaskRejectedException("queue full"))
+                .when(emailService).sendAppointmentReminder(rejected);
+
+        // When
+        reminderService.sendAppointmentReminders();
+
+        // Then - the rejected reminder is parked as a PENDING notification
+        ArgumentCaptor<Notification> saved = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationRepository).save(saved.capture());
+        assertEquals(rejected, saved.getValue().getAppointment());
+        assertEquals(Notification.NotificationType.REMINDER, saved.getValue().getType());
+        assertEquals(Notification.NotificationStatus.PENDING, saved.getValue().getStatus());
+        assertEquals("jane@test.com", saved.getValue().getRecipient());
+        verify(bookingMetrics).recordReminders("queued", 1);
+        verify(bookingMetrics).recordReminders("failed", 0);
+        verify(bookingMetrics).recordReminders("deferred", 1);
+        verify(appointmentRepository, never()).releaseReminderClaim(any());
+    }
+
+    @Test
+    void retryDeferredReminders_ClaimsAndRequeuesPendingNotifications() {
+        // Given
+        ReflectionTestUtils.setField(reminderService, "retryBatchSize", 50);
+        Notification first = deferred(appointment(Appointment.AppointmentStatus.CONFIRMED, LocalDateTime.now().plusHours(20)));
+        Notification second = deferred(appointment(Appointment.AppointmentStatus.PENDING, LocalDateTime.now().plusHours(21)));
+        when(notificationRepository.findWithAppointmentByTypeAndStatus(
+                eq(Notification.NotificationType.REMINDER), eq(Notification.NotificationStatus.PENDING), any(Pageable.class)))
+                .thenReturn(List.of(first, second));
+        givenUnclaimed(first, second);
+
+        // When
+        reminderService.retryDeferredReminders();
+
+        // Then
+        verify(emailService).sendAppointmentReminder(first.getAppointment());
+        verify(emailService).sendAppointmentReminder(second.getAppointment());
+        verify(bookingMetrics).recordReminders("requeued", 2);
+    }
+
+    @Test
+    void retryDeferredReminders_SkipsRemindersClaimedByAnotherInstance() {
+        // Given
+        ReflectionTestUtils.setField(reminderService, "retryBatchSize", 50);
+        Notification claimedElsewhere = deferred(appointment(Appointment.AppointmentStatus.CONFIRMED, LocalDateTime.now().plusHours(20)));
+        Notification next = deferred(appointment(Appointment.AppointmentStatus.CONFIRMED, LocalDateTime.now().plusHours(21)));
+        when(notificationRepository.findWithAppointmentByTypeAndStatus(any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(claimedElsewhere, next));
+        when(notificationRepository.deleteByIdAndStatus(claimedElsewhere.getId(), Notification.NotificationStatus.PENDING))
+                .thenReturn(0);
+        givenUnclaimed(next);
+
+        // When
+        reminderService.retryDeferredReminders();
+
+        // Then
+        verify(emailService, never()).sendAppointmentReminder(claimedElsewhere.getAppointment());
+        verify(emailService).sendAppointmentReminder(next.getAppointment());
+        verify(bookingMetrics).recordReminders("requeued", 1);
+    }
+
+    @Test
+    void retryDeferredReminders_StopsWhenExecutorStillSaturated() {
+        // Given
+        ReflectionTestUtils.setField(reminderService, "retryBatchSize", 50);
+        Notification first = deferred(appointment(Appointment.AppointmentStatus.CONFIRMED, LocalDateTime.now().plusHours(20)));
+        Notification second = deferred(appointment(Appointment.AppointmentStatus.CONFIRMED, LocalDateTime.now().plusHours(21)));
+        when(notificationRepository.findWithAppointmentByTypeAndStatus(any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(first, second));
+        givenUnclaimed(first);
+        doThrow(new TaskRejectedException("queue full"))
+                .when(emailService).sendAppointmentReminder(first.getAppointment());
+
+        // When
+        reminderService.retryDeferredReminders();
+
+        // Then - the first is deferred again, the second left PENDING for the next run
+        ArgumentCaptor<Notification> saved = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationRepository).save(saved.capture());
+        assertEquals(first.getAppointment(), saved.getValue().getAppointment());
+        assertEquals(Notification.NotificationStatus.PENDING, saved.getValue().getStatus());
+        verify(notificationRepository, never()).deleteByIdAndStatus(eq(second.getId()), any());
+        verify(emailService, never()).sendAppointmentReminder(second.getAppointment());
+        verify(bookingMetrics, never()).recordReminders(eq("requeued"), anyInt());
+    }
+
+    @Test
+    void retryDeferredReminders_DeferFails_ReleasesClaim() {
+        // Given
+        ReflectionTestUtils.setField(reminderService, "retryBatchSize", 50);
+        Notification first = deferred(appointment(Appointment.AppointmentStatus.CONFIRMED, LocalDateTime.now().plusHours(20)));
+        when(notificationRepository.findWithAppointmentByTypeAndStatus(any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(first));
+        givenUnclaimed(first);
+        doThrow(new TaskRejectedException("queue full"))
+                .when(emailService).sendAppointmentReminder(first.getAppointment());
+        when(notificationRepository.save(any(Notification.class))).thenThrow(new RuntimeException("DB down"));
+
+        // When
+        reminderService.retryDeferredReminders();
+
+        // Then - the sweep can claim it again
+        verify(appointmentRepository).releaseReminderClaim(first.getAppointment().getId());
+    }
+
+    @Test
+    void retryDeferredReminders_SendFails_ReleasesClaimAndContinues() {
+        // Given
+        ReflectionTestUtils.setField(reminderService, "retryBatchSize", 50);
+        Notification failing = deferred(appointment(Appointment.AppointmentStatus.CONFIRMED, LocalDateTime.now().plusHours(20)));
+        Notification next = deferred(appointment(Appointment.AppointmentStatus.CONFIRMED, LocalDateTime.now().plusHours(21)));
+        when(notificationRepository.findWithAppointmentByTypeAndStatus(any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(failing, next));
+        givenUnclaimed(failing, next);
+        doThrow(new RuntimeException("Template error"))
+                .when(emailService).sendAppointmentReminder(failing.getAppointment());
+
+        // When
+        reminderService.retryDeferredReminders();
+
+        // Then
+        verify(appointmentRepository).releaseReminderClaim(failing.getAppointment().getId());
+        verify(emailService).sendAppointmentReminder(next.getAppointment());
+        verify(bookingMetrics).recordReminders("requeued", 1);
+    }
+
+    @Test
+    void retryDeferredReminders_DropsCancelledAndPastAppointments() {
+        // Given
+        ReflectionTestUtils.setField(reminderService, "retryBatchSize", 50);
+        Notification cancelled = deferred(appointment(Appointment.AppointmentStatus.CANCELLED, LocalDateTime.now().plusHours(20)));
+        Notification past = deferred(appointment(Appointment.AppointmentStatus.CONFIRMED, LocalDateTime.now().minusHours(1)));
+        when(notificationRepository.findWithAppointmentByTypeAndStatus(any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(cancelled, past));
+        givenUnclaimed(cancelled, past);
 
-        Appointment.AppointmentStatus[] allStatuses = Appointment.AppointmentStatus.values();
-
-        for (Appointment.AppointmentStatus status : allStatuses) {
-            Appointment appointment = Appointment.builder()
-                    .id(UUID.randomUUID())
-                    .appointmentDatetime(reminderTime)
-                    .status(status)
-                    .business(testBusiness)
-                    .service(testService)
-                    .customer(testCustomer)
-                    .build();
-
-            when(appointmentRepository.findByBusinessIdAndAppointmentDatetimeBetweenOrderByAppointmentDatetimeAsc(
-                    any(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                    .thenReturn(Arrays.asList(appointment));
-
-            // When
-            reminderService.sendAppointmentReminders();
-
-            // Then - Only PENDING and CONFIRMED should get reminders
-            if (status == Appointment.AppointmentStatus.PENDING ||
-                status == Appointment.AppointmentStatus.CONFIRMED) {
-                verify(emailService, atLeastOnce()).sendAppointmentReminder(appointment);
-            }
-
-            // Reset mocks for next iteration
-            reset(emailService);
+        // When
+        reminderService.retryDeferredReminders();
+
+        // Then - deleted without a reminder
+        verify(emailService, never()).sendAppointmentReminder(any());
+        verify(notificationRepository).deleteByIdAndStatus(cancelled.getId(), Notification.NotificationStatus.PENDING);
+        verify(notificationRepository).deleteByIdAndStatus(past.getId(), Notification.NotificationStatus.PENDING);
+    }
+
+    private void givenUnclaimed(Notification... notifications) {
+        for (Notification notification : notifications) {
+            when(notificationRepository.deleteByIdAndStatus(notification.getId(), Notification.NotificationStatus.PENDING))
+                    .thenReturn(1);
+        }
+    }
+
+    private void givenClaimed(Appointment... appointments) {
+        List<UUID> ids = Arrays.stream(appointments).map(Appointment::getId).toList();
+        when(appointmentRepository.claimReminders(any(), any(), any(), anyInt(), anyInt(), anyInt()))
+                .thenReturn(ids);
+        if (appointments.length > 0) {
+            when(appointmentRepository.findAllWithDetailsByIdIn(ids)).thenReturn(List.of(appointments));
         }
     }
+
+    private Appointment appointment(Appointment.AppointmentStatus status, LocalDateTime datetime) {
+        return Appointment.builder()
+                .id(UUID.randomUUID())
+                .business(testBusiness)
+                .service(testService)
+                .customer(testCustomer)
+                .appointmentDatetime(datetime)
+                .status(status)
+                .build();
+    }
+
+    private Notification deferred(Appointment appointment) {
+        return Notification.builder()
+                .id(UUID.randomUUID())
+                .appointment(appointment)
+                .type(Notification.NotificationType.REMINDER)
+                .channel(Notification.NotificationChannel.EMAIL)
+                .recipient(testCustomer.getEmail())
+                .content("")
+                .status(Notification.NotificationStatus.PENDING)
+                .build();
+    }
 }
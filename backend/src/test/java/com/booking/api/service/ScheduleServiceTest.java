@@ -1,7 +1,11 @@
 package com.booking.api.service;
 
+import com.booking.api.cache.BusinessDirectory;
+import com.booking.api.cache.BusinessSnapshot;
 import com.booking.api.dto.request.ScheduleRequest;
 import com.booking.api.dto.response.ScheduleResponse;
+import com.booking.api.event.AvailabilityChangedEvent;
+import com.booking.api.event.ScheduleChangedEvent;
 import com.booking.api.model.Business;
 import com.booking.api.model.Schedule;
 import com.booking.api.model.User;
@@ -15,6 +19,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -44,9 +49,15 @@ class ScheduleServiceTest {
     @Mock
     private BusinessRepository businessRepository;
 
+    @Mock
+    private BusinessDirectory businessDirectory;
+
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -160,7 +171,7 @@ class ScheduleServiceTest {
         String slug = "test-salon";
         List<Schedule> schedules = Arrays.asList(testSchedule);
 
-        when(businessRepository.findBySlug(slug)).thenReturn(Optional.of(testBusiness));
+        when(businessDirectory.findBySlug(slug)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
         when(scheduleRepository.findByBusinessIdAndIsActiveTrue(testBusiness.getId())).thenReturn(schedules);
 
         // When
@@ -178,7 +189,7 @@ class ScheduleServiceTest {
         // Given
         String invalidSlug = "nonexistent";
 
-        when(businessRepository.findBySlug(invalidSlug)).thenReturn(Optional.empty());
+        when(businessDirectory.findBySlug(invalidSlug)).thenReturn(Optional.empty());
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class,
@@ -195,7 +206,7 @@ class ScheduleServiceTest {
 
         List<Schedule> activeSchedules = Arrays.asList(testSchedule); // Only active
 
-        when(businessRepository.findBySlug(slug)).thenReturn(Optional.of(testBusiness));
+        when(businessDirectory.findBySlug(slug)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
         when(scheduleRepository.findByBusinessIdAndIsActiveTrue(testBusiness.getId())).thenReturn(activeSchedules);
 
         // When
@@ -243,6 +254,7 @@ class ScheduleServiceTest {
         Schedule saved = scheduleCaptor.getValue();
         assertEquals(testBusiness, saved.getBusiness());
         assertEquals(DayOfWeek.WEDNESDAY, saved.getDayOfWeek());
+        verify(eventPublisher).publishEvent(AvailabilityChangedEvent.forBusiness(testBusiness.getId()));
     }
 
     @Test
@@ -372,6 +384,7 @@ class ScheduleServiceTest {
         assertEquals(45, testSchedule.getSlotDurationMinutes());
         assertFalse(testSchedule.getIsActive());
         verify(scheduleRepository).save(testSchedule);
+        verify(eventPublisher).publishEvent(AvailabilityChangedEvent.forBusiness(testBusiness.getId()));
     }
 
     @Test
@@ -479,6 +492,8 @@ class ScheduleServiceTest {
         // Then
         assertFalse(testSchedule.getIsActive()); // Soft-deleted
         verify(scheduleRepository).save(testSchedule);
+        verify(eventPublisher).publishEvent(new ScheduleChangedEvent(testBusiness.getId()));
+        verify(eventPublisher).publishEvent(AvailabilityChangedEvent.forBusiness(testBusiness.getId()));
     }
 
     @Test
@@ -2,6 +2,8 @@ package com.booking.api.service;
 
 import com.booking.api.dto.request.ServiceRequest;
 import com.booking.api.dto.response.ServiceResponse;
+import com.booking.api.event.AvailabilityChangedEvent;
+import com.booking.api.event.BusinessChangedEvent;
 import com.booking.api.model.Business;
 import com.booking.api.model.Service;
 import com.booking.api.model.User;
@@ -15,6 +17,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -45,6 +48,9 @@ class ServiceServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -438,6 +444,9 @@ class ServiceServiceTest {
         // Then
         assertFalse(testService.getIsActive()); // Should be soft-deleted (deactivated)
         verify(serviceRepository).save(testService);
+        verify(eventPublisher).publishEvent(
+                new BusinessChangedEvent(testBusiness.getId(), testBusiness.getSlug()));
+        verify(eventPublisher).publishEvent(AvailabilityChangedEvent.forBusiness(testBusiness.getId()));
     }
 
     @Test
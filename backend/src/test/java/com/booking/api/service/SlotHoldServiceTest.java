@@ -0,0 +1,336 @@
+package com.booking.api.service;
+
+import com.booking.api.cache.BusinessDirectory;
+import com.booking.api.cache.BusinessSnapshot;
+import com.booking.api.cache.WeeklyTemplateCache;
+import com.booking.api.dto.request.SlotHoldRequest;
+import com.booking.api.dto.response.SlotHoldResponse;
+import com.booking.api.exception.BadRequestException;
+import com.booking.api.exception.ConflictException;
+import com.booking.api.exception.NotFoundException;
+import com.booking.api.exception.ServiceUnavailableException;
+import com.booking.api.exception.TooManyRequestsException;
+import com.booking.api.hold.HoldResult;
+import com.booking.api.hold.InMemorySlotHoldStore;
+import com.booking.api.hold.SlotHold;
+import com.booking.api.hold.SlotHoldStore;
+import com.booking.api.metrics.BookingMetrics;
+import com.booking.api.model.*;
+import com.booking.api.repository.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SlotHoldService
+ * Tests hold creation, conflicts with appointments and other holds, and booking conversion
+ */
+@ExtendWith(MockitoExtension.class)
+class SlotHoldServiceTest {
+
+    @Mock
+    private BusinessDirectory businessDirectory;
+
+    @Mock
+    private ServiceRepository serviceRepository;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private ScheduleRepository scheduleRepository;
+
+    @Mock
+    private ScheduleExceptionRepository scheduleExceptionRepository;
+
+    @Mock
+    private BookingMetrics bookingMetrics;
+
+    private InMemorySlotHoldStore slotHoldStore;
+
+    private SlotHoldService slotHoldService;
+
+    private Business testBusiness;
+    private com.booking.api.model.Service testService;
+    private LocalDate monday;
+    private static final String TEST_SLUG = "test-salon";
+    private static final String CLIENT = "203.0.113.7";
+
+    @BeforeEach
+    void setUp() {
+        slotHoldStore = new InMemorySlotHoldStore();
+        WeeklyTemplateCache weeklyTemplateCache = new WeeklyTemplateCache(
+                scheduleRepository, scheduleExceptionRepository, 100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        slotHoldService = new SlotHoldService(businessDirectory, serviceRepository, appointmentRepository,
+                weeklyTemplateCache, slotHoldStore, bookingMetrics);
+        ReflectionTestUtils.setField(slotHoldService, "holdTtl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(slotHoldService, "maxHoldsPerBusiness", 3);
+        ReflectionTestUtils.setField(slotHoldService, "maxHoldsPerClient", 2);
+
+        testBusiness = Business.builder()
+                .id(UUID.randomUUID())
+                .businessName("Test Salon")
+                .slug(TEST_SLUG)
+                .isActive(true)
+                .build();
+
+        testService = com.booking.api.model.Service.builder()
+                .id(UUID.randomUUID())
+                .business(testBusiness)
+                .name("Haircut")
+                .durationMinutes(60)
+                .price(BigDecimal.valueOf(30.0))
+                .isActive(true)
+                .build();
+
+        monday = LocalDate.now().plusDays(7).with(DayOfWeek.MONDAY);
+    }
+
+    private void givenOpenMonday() {
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdAndBusinessId(testService.getId(), testBusiness.getId()))
+                .thenReturn(Optional.of(testService));
+        when(scheduleRepository.findByBusinessId(testBusiness.getId())).thenReturn(List.of(Schedule.builder()
+                .business(testBusiness)
+                .dayOfWeek(DayOfWeek.MONDAY)
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(17, 0))
+                .slotDurationMinutes(30)
+                .isActive(true)
+                .build()));
+    }
+
+    private SlotHoldRequest request(LocalDateTime start) {
+        return SlotHoldRequest.builder()
+                .serviceId(testService.getId())
+                .appointmentDatetime(start)
+                .build();
+    }
+
+    @Test
+    void holdSlot_Success() {
+        // Given
+        givenOpenMonday();
+        when(appointmentRepository.findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any()))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        SlotHoldResponse response = slotHoldService.holdSlot(TEST_SLUG, request(monday.atTime(10, 0)), CLIENT);
+
+        // Then
+        assertNotNull(response.getHoldToken());
+        assertEquals(60, response.getDurationMinutes());
+        assertTrue(response.getExpiresAt().isAfter(LocalDateTime.now()));
+        assertTrue(slotHoldStore.find(testBusiness.getId(), response.getHoldToken()).isPresent());
+        verify(bookingMetrics).recordSlotHolds("created", 1);
+    }
+
+    @Test
+    void holdSlot_OverlappingHoldIsRejected() {
+        // Given
+        givenOpenMonday();
+        when(appointmentRepository.findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any()))
+                .thenReturn(Collections.emptyList());
+        slotHoldService.holdSlot(TEST_SLUG, request(monday.atTime(10, 0)), CLIENT);
+
+        // When & Then: 10:30 overlaps the 10:00-11:00 hold, 11:00 does not
+        assertThrows(ConflictException.class,
+                () -> slotHoldService.holdSlot(TEST_SLUG, request(monday.atTime(10, 30)), CLIENT));
+        assertNotNull(slotHoldService.holdSlot(TEST_SLUG, request(monday.atTime(11, 0)), CLIENT).getHoldToken());
+        verify(bookingMetrics).recordSlotHolds("rejected", 1);
+    }
+
+    @Test
+    void holdSlot_CappedPerClientThenPerBusiness() {
+        // Given: the client already holds two slots
+        givenOpenMonday();
+        when(appointmentRepository.findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any()))
+                .thenReturn(Collections.emptyList());
+        slotHoldService.holdSlot(TEST_SLUG, request(monday.atTime(9, 0)), CLIENT);
+        slotHoldService.holdSlot(TEST_SLUG, request(monday.atTime(10, 0)), CLIENT);
+
+        // When & Then: a third is refused, another client takes the last one of the business
+        assertThrows(TooManyRequestsException.class,
+                () -> slotHoldService.holdSlot(TEST_SLUG, request(monday.atTime(11, 0)), CLIENT));
+        slotHoldService.holdSlot(TEST_SLUG, request(monday.atTime(11, 0)), "198.51.100.1");
+        assertThrows(TooManyRequestsException.class,
+                () -> slotHoldService.holdSlot(TEST_SLUG, request(monday.atTime(12, 0)), "198.51.100.2"));
+        assertEquals(3, slotHoldStore.findActive(testBusiness.getId()).size());
+        verify(bookingMetrics, times(2)).recordSlotHolds("limited", 1);
+    }
+
+    @Test
+    void holdSlot_StoreUnavailable() {
+        // Given
+        SlotHoldStore unavailable = mock(SlotHoldStore.class);
+        when(unavailable.tryHold(any(), anyInt(), anyInt())).thenReturn(HoldResult.UNAVAILABLE);
+        slotHoldService = new SlotHoldService(businessDirectory, serviceRepository, appointmentRepository,
+                new WeeklyTemplateCache(scheduleRepository, scheduleExceptionRepository, 100,
+                        Duration.ofMinutes(1), new SimpleMeterRegistry()),
+                unavailable, bookingMetrics);
+        ReflectionTestUtils.setField(slotHoldService, "holdTtl", Duration.ofMinutes(5));
+        givenOpenMonday();
+        when(appointmentRepository.findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any()))
+                .thenReturn(Collections.emptyList());
+
+        // When & Then
+        assertThrows(ServiceUnavailableException.class,
+                () -> slotHoldService.holdSlot(TEST_SLUG, request(monday.atTime(10, 0)), CLIENT));
+    }
+
+    @Test
+    void holdSlot_BookedSlotIsRejected() {
+        // Given
+        givenOpenMonday();
+        Appointment booked = Appointment.builder()
+                .appointmentDatetime(monday.atTime(10, 0))
+                .durationMinutes(30)
+                .status(Appointment.AppointmentStatus.CONFIRMED)
+                .build();
+        when(appointmentRepository.findByBusinessIdAndDateRange(eq(testBusiness.getId()), any(), any()))
+                .thenReturn(List.of(booked));
+
+        // When & Then
+        assertThrows(ConflictException.class,
+                () -> slotHoldService.holdSlot(TEST_SLUG, request(monday.atTime(9, 30)), CLIENT));
+        assertTrue(slotHoldStore.findActive(testBusiness.getId()).isEmpty());
+    }
+
+    @Test
+    void holdSlot_OutsideOpeningHours() {
+        // Given
+        givenOpenMonday();
+
+        // When & Then: the 60 min service would end after closing
+        assertThrows(BadRequestException.class,
+                () -> slotHoldService.holdSlot(TEST_SLUG, request(monday.atTime(16, 30)), CLIENT));
+        assertThrows(BadRequestException.class,
+                () -> slotHoldService.holdSlot(TEST_SLUG, request(monday.plusDays(1).atTime(10, 0)), CLIENT));
+        verify(appointmentRepository, never()).findByBusinessIdAndDateRange(any(), any(), any());
+    }
+
+    @Test
+    void holdSlot_InPast() {
+        // Given
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+        when(serviceRepository.findByIdAndBusinessId(testService.getId(), testBusiness.getId()))
+                .thenReturn(Optional.of(testService));
+
+        // When & Then
+        assertThrows(BadRequestException.class,
+                () -> slotHoldService.holdSlot(TEST_SLUG, request(LocalDateTime.now().minusHours(1)), CLIENT));
+    }
+
+    @Test
+    void releaseHold_UnknownToken() {
+        // Given
+        when(businessDirectory.findBySlug(TEST_SLUG)).thenReturn(Optional.of(BusinessSnapshot.of(testBusiness)));
+
+        // When & Then
+        assertThrows(NotFoundException.class, () -> slotHoldService.releaseHold(TEST_SLUG, "unknown"));
+    }
+
+    @Test
+    void claim_ReturnsOwnHoldAndIgnoresIt() {
+        // Given
+        SlotHold own = hold(monday.atTime(10, 0), Instant.now().plusSeconds(300));
+        slotHoldStore.tryHold(own);
+
+        // When
+        Optional<SlotHold> claimed = slotHoldService.claim(
+                testBusiness.getId(), testService.getId(), own.start(), 60, own.token());
+
+        // Then
+        assertEquals(Optional.of(own), claimed);
+    }
+
+    @Test
+    void claim_SlotHeldByAnotherCustomer() {
+        // Given
+        slotHoldStore.tryHold(hold(monday.atTime(10, 0), Instant.now().plusSeconds(300)));
+
+        // When & Then
+        assertThrows(ConflictException.class, () -> slotHoldService.claim(
+                testBusiness.getId(), testService.getId(), monday.atTime(10, 30), 60, null));
+    }
+
+    @Test
+    void claim_HoldForAnotherTime() {
+        // Given
+        SlotHold own = hold(monday.atTime(10, 0), Instant.now().plusSeconds(300));
+        slotHoldStore.tryHold(own);
+
+        // When & Then
+        assertThrows(BadRequestException.class, () -> slotHoldService.claim(
+                testBusiness.getId(), testService.getId(), monday.atTime(14, 0), 60, own.token()));
+    }
+
+    @Test
+    void claim_ExpiredHoldBooksLikeNoHold() {
+        // Given
+        SlotHold expired = hold(monday.atTime(10, 0), Instant.now().minusSeconds(1));
+        slotHoldStore.tryHold(expired);
+
+        // When
+        Optional<SlotHold> claimed = slotHoldService.claim(
+                testBusiness.getId(), testService.getId(), expired.start(), 60, expired.token());
+
+        // Then
+        assertTrue(claimed.isEmpty());
+    }
+
+    @Test
+    void consume_ReleasesHold() {
+        // Given
+        SlotHold own = hold(monday.atTime(10, 0), Instant.now().plusSeconds(300));
+        slotHoldStore.tryHold(own);
+
+        // When
+        slotHoldService.consume(own);
+
+        // Then
+        assertTrue(slotHoldStore.findActive(testBusiness.getId()).isEmpty());
+        verify(bookingMetrics).recordSlotHolds("converted", 1);
+    }
+
+    @Test
+    void sweepExpiredHolds_PurgesOnlyExpired() {
+        // Given
+        slotHoldStore.tryHold(hold(monday.atTime(14, 0), Instant.now().plusSeconds(300)));
+        slotHoldStore.tryHold(hold(monday.atTime(10, 0), Instant.now().minusSeconds(1)));
+
+        // When
+        slotHoldService.sweepExpiredHolds();
+
+        // Then
+        assertEquals(1, slotHoldStore.findActive(testBusiness.getId()).size());
+        verify(bookingMetrics).recordSlotHolds("expired", 1);
+    }
+
+    private SlotHold hold(LocalDateTime start, Instant expiresAt) {
+        return new SlotHold(UUID.randomUUID().toString(), testBusiness.getId(), testService.getId(),
+                start, 60, expiresAt);
+    }
+}
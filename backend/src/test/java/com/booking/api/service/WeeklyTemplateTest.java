@@ -0,0 +1,114 @@
+package com.booking.api.service;
+
+import com.booking.api.model.Schedule;
+import com.booking.api.model.ScheduleException;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeeklyTemplateTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    private static Schedule schedule(DayOfWeek day, LocalTime start, LocalTime end, Integer slot, boolean active) {
+        return Schedule.builder()
+                .dayOfWeek(day)
+                .startTime(start)
+                .endTime(end)
+                .slotDurationMinutes(slot)
+                .isActive(active)
+                .build();
+    }
+
+    @Test
+    void regularHoursComeFromActiveSchedules() {
+        // Given
+        WeeklyTemplate template = WeeklyTemplate.build(List.of(
+                schedule(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(17, 30), 15, true),
+                schedule(DayOfWeek.TUESDAY, LocalTime.of(9, 0), LocalTime.of(17, 0), 30, false)), List.of());
+
+        // Then
+        assertTrue(template.isOpen(MONDAY));
+        assertEquals(9 * 60, template.openMinute(MONDAY));
+        assertEquals(17 * 60 + 30, template.closeMinute(MONDAY));
+        assertEquals(15, template.slotDurationMinutes(MONDAY));
+        assertTrue(template.isOpen(MONDAY.plusWeeks(1)));
+        assertFalse(template.isOpen(MONDAY.plusDays(1)));
+        assertFalse(template.isOpen(MONDAY.plusDays(2)));
+    }
+
+    @Test
+    void missingSlotDurationDefaultsToThirtyMinutes() {
+        // Given
+        WeeklyTemplate template = WeeklyTemplate.build(List.of(
+                schedule(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(12, 0), null, true)), List.of());
+
+        // Then
+        assertEquals(30, template.slotDurationMinutes(MONDAY));
+    }
+
+    @Test
+    void closedExceptionClosesOnlyThatDate() {
+        // Given
+        WeeklyTemplate template = WeeklyTemplate.build(
+                List.of(schedule(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(17, 0), 30, true)),
+                List.of(ScheduleException.builder().exceptionDate(MONDAY).isClosed(true).build()));
+
+        // Then
+        assertFalse(template.isOpen(MONDAY));
+        assertTrue(template.isOpen(MONDAY.plusWeeks(1)));
+    }
+
+    @Test
+    void partialExceptionReplacesHoursAndKeepsSlotDuration() {
+        // Given
+        WeeklyTemplate template = WeeklyTemplate.build(
+                List.of(schedule(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(17, 0), 20, true)),
+                List.of(ScheduleException.builder()
+                        .exceptionDate(MONDAY)
+                        .isClosed(false)
+                        .startTime(LocalTime.of(13, 0))
+                        .endTime(LocalTime.of(15, 0))
+                        .build()));
+
+        // Then
+        assertTrue(template.isOpen(MONDAY));
+        assertEquals(13 * 60, template.openMinute(MONDAY));
+        assertEquals(15 * 60, template.closeMinute(MONDAY));
+        assertEquals(20, template.slotDurationMinutes(MONDAY));
+        assertEquals(9 * 60, template.openMinute(MONDAY.plusWeeks(1)));
+    }
+
+    @Test
+    void partialExceptionCanOpenARegularlyClosedDay() {
+        // Given: no Sunday schedule, special opening on one Sunday
+        LocalDate sunday = MONDAY.minusDays(1);
+        WeeklyTemplate template = WeeklyTemplate.build(List.of(), List.of(ScheduleException.builder()
+                .exceptionDate(sunday)
+                .isClosed(false)
+                .startTime(LocalTime.of(10, 0))
+                .endTime(LocalTime.of(12, 0))
+                .build()));
+
+        // Then
+        assertTrue(template.isOpen(sunday));
+        assertFalse(template.isOpen(sunday.plusWeeks(1)));
+    }
+
+    @Test
+    void exceptionWithoutHoursKeepsRegularSchedule() {
+        // Given
+        WeeklyTemplate template = WeeklyTemplate.build(
+                List.of(schedule(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(17, 0), 30, true)),
+                List.of(ScheduleException.builder().exceptionDate(MONDAY).isClosed(false).build()));
+
+        // Then
+        assertTrue(template.isOpen(MONDAY));
+        assertEquals(9 * 60, template.openMinute(MONDAY));
+    }
+}
@@ -0,0 +1,119 @@
+package com.booking.api.trace;
+
+import com.booking.api.repository.AppointmentRepository;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class RequestTracerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void sampledRequest_RecordsEachRepositoryCall() {
+        // Given
+        RequestTracer tracer = new RequestTracer(1.0, meterRegistry);
+
+        // When
+        RequestTrace trace = tracer.begin("availability.day");
+        tracer.recordCall("AppointmentRepository.findByBusinessIdAndDateRange", 2_000_000);
+        tracer.recordCall("AppointmentRepository.findByBusinessIdAndDateRange", 1_000_000);
+        tracer.recordCall("ServiceRepository.findByIdAndBusinessId", 500_000);
+        String line = trace.format(5_000_000);
+        tracer.end(trace);
+
+        // Then
+        assertFalse(tracer.isActive());
+        assertEquals("trace op=availability.day total=5.00ms calls=3"
+                + " AppointmentRepository.findByBusinessIdAndDateRange=2x3.00ms"
+                + " ServiceRepository.findByIdAndBusinessId=1x0.50ms", line);
+        assertEquals(1, meterRegistry.get(RequestTracer.REQUEST_TIMER)
+                .tag("operation", "availability.day").timer().count());
+        Timer repositoryTimer = meterRegistry.get(RequestTracer.REPOSITORY_TIMER)
+                .tag("call", "AppointmentRepository.findByBusinessIdAndDateRange").timer();
+        assertEquals(2, repositoryTimer.count());
+    }
+
+    @Test
+    void zeroSampleRate_NeverTraces() {
+        // Given
+        RequestTracer tracer = new RequestTracer(0.0, meterRegistry);
+
+        // When
+        RequestTrace trace = tracer.begin("booking.create");
+        tracer.recordCall("AppointmentRepository.save", 1_000);
+
+        // Then
+        assertNull(trace);
+        assertFalse(tracer.isActive());
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+
+    @Test
+    void nestedRequest_JoinsOuterTrace() {
+        // Given
+        RequestTracer tracer = new RequestTracer(1.0, meterRegistry);
+        RequestTrace outer = tracer.begin("booking.create");
+
+        // When
+        RequestTrace nested = tracer.begin("availability.day");
+        tracer.end(outer);
+
+        // Then
+        assertNull(nested);
+        assertEquals(1, meterRegistry.get(RequestTracer.REQUEST_TIMER).timers().size());
+    }
+
+    @Test
+    void aspect_TimesRepositoryCallsOnlyInsideTracedMethod() {
+        // Given
+        RequestTracer tracer = new RequestTracer(1.0, meterRegistry);
+        RequestTraceAspect aspect = new RequestTraceAspect(tracer);
+
+        AspectJProxyFactory repositoryFactory = new AspectJProxyFactory(mock(AppointmentRepository.class));
+        repositoryFactory.addAspect(aspect);
+        AppointmentRepository repository = repositoryFactory.getProxy();
+
+        AspectJProxyFactory serviceFactory = new AspectJProxyFactory(new TracedLookup(repository));
+        serviceFactory.setProxyTargetClass(true);
+        serviceFactory.addAspect(aspect);
+        TracedLookup lookup = serviceFactory.getProxy();
+
+        // When
+        repository.findById(UUID.randomUUID());
+        lookup.lookup(UUID.randomUUID());
+
+        // Then: only the call made inside the traced method is recorded
+        assertEquals(1, meterRegistry.get(RequestTracer.REPOSITORY_TIMER)
+                .tag("operation", "lookup")
+                .tag("call", "AppointmentRepository.findById")
+                .timer().count());
+    }
+
+    static class TracedLookup {
+
+        private final AppointmentRepository repository;
+
+        TracedLookup(AppointmentRepository repository) {
+            this.repository = repository;
+        }
+
+        @Traced("lookup")
+        public Optional<?> lookup(UUID id) {
+            return repository.findById(id);
+        }
+    }
+}